@@ -0,0 +1,84 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.event.EventPublisher;
+import com.easternedgerobotics.rov.value.MotionValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rx.Observable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one control tick's thrust allocation, alone and as part of building a thruster frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class ThrustAllocatorBenchmark {
+    private final ThrustAllocator allocator = ThrustAllocator.sixThrusters();
+
+    private final float[] motion = {0.8f, -0.3f, 0.5f, 0.2f, 0, 0.6f};
+
+    private final float[] outputs = new float[allocator.thrusters()];
+
+    private SixThrusterConfig config;
+
+    @Setup
+    public final void setup() {
+        config = new SixThrusterConfig(new MotionPublisher());
+    }
+
+    @Benchmark
+    public final float[] allocate() {
+        allocator.allocate(motion, outputs);
+        return outputs;
+    }
+
+    @Benchmark
+    public final ThrusterFrameValue update() {
+        return config.update();
+    }
+
+    /**
+     * Publishes one motion and nothing else, and drops every emitted value.
+     */
+    private static final class MotionPublisher implements EventPublisher {
+        @Override
+        public void emit(final Object value) {
+            // ???
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Observable<T> valuesOfType(final Class<T> clazz) {
+            if (clazz == MotionValue.class) {
+                return Observable.just((T) new MotionValue(0.5f, -0.3f, 0.8f, 0.2f, 0.6f, 0));
+            }
+            return Observable.never();
+        }
+
+        @Override
+        public void stop() {
+            // ???
+        }
+
+        @Override
+        public void await() {
+            // ???
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.easternedgerobotics.rov.event;
+
+import com.easternedgerobotics.rov.value.MotionValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rx.subjects.PublishSubject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the cost of delivering one value as the number of subscribers grows. One subscriber listens for the
+ * dispatched {@link MotionValue}; the rest listen for the other value types, as the topside controllers do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class EventDispatcherBenchmark {
+    @Param({"10", "50", "100", "250", "500"})
+    private int subscribers;
+
+    private final PublishSubject<Object> filtered = PublishSubject.create();
+
+    private final EventDispatcher dispatcher = new EventDispatcher();
+
+    private final MotionValue value = new MotionValue();
+
+    @Setup
+    public final void setup(final Blackhole blackhole) {
+        final List<Class<?>> others = Arrays.stream(ValueTypes.CLASSES)
+            .filter(clazz -> clazz != MotionValue.class)
+            .collect(Collectors.toList());
+
+        filtered.filter(MotionValue.class::isInstance).cast(MotionValue.class).subscribe(blackhole::consume);
+        dispatcher.valuesOfType(MotionValue.class).subscribe(blackhole::consume);
+        for (int i = 1; i < subscribers; i++) {
+            final Class<?> clazz = others.get(i % others.size());
+            filtered.filter(clazz::isInstance).cast(clazz).subscribe(blackhole::consume);
+            dispatcher.valuesOfType(clazz).subscribe(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public final void filterPerSubscriber() {
+        filtered.onNext(value);
+    }
+
+    @Benchmark
+    public final void typeIndexedDispatch() {
+        dispatcher.dispatch(value);
+    }
+}
@@ -0,0 +1,99 @@
+package com.easternedgerobotics.rov.event;
+
+import com.easternedgerobotics.rov.value.CameraCalibrationValue;
+import com.easternedgerobotics.rov.value.MotionValue;
+import com.easternedgerobotics.rov.value.RasprimeCpuValue;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary value codec with the Kryo serialization the broadcast uses for values it sends itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class ValueCodecBenchmark {
+    @Param({"MotionValue", "RasprimeCpuValue", "CameraCalibrationValue"})
+    private String valueType;
+
+    private final BinaryValueCodec codec = new BinaryValueCodec();
+
+    private final Kryo kryo = new Kryo();
+
+    private final Output output = new Output(1024);
+
+    private List<Object> values;
+
+    private byte[] binaryPacket;
+
+    private byte[] kryoPacket;
+
+    @Setup
+    public final void setup() {
+        kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        values = Collections.singletonList(value(valueType));
+        binaryPacket = codec.encode(values);
+        kryoPacket = kryoEncode();
+    }
+
+    @Benchmark
+    public final byte[] binaryEncode() {
+        return codec.encode(values);
+    }
+
+    @Benchmark
+    public final List<Object> binaryDecode() {
+        return codec.decode(binaryPacket);
+    }
+
+    @Benchmark
+    public final byte[] kryoEncode() {
+        output.clear();
+        kryo.writeClassAndObject(output, values.get(0));
+        return output.toBytes();
+    }
+
+    @Benchmark
+    public final Object kryoDecode() {
+        return kryo.readClassAndObject(new Input(kryoPacket));
+    }
+
+    private static Object value(final String name) {
+        switch (name) {
+            case "MotionValue":
+                return new MotionValue(0.1f, -0.2f, 0.3f, -0.4f, 0.5f, -0.6f);
+            case "RasprimeCpuValue":
+                return new RasprimeCpuValue(1200000000L, 52.5f, 1.2f);
+            case "CameraCalibrationValue":
+                return new CameraCalibrationValue(
+                    new ArrayList<>(Arrays.asList("calibration-0.png", "calibration-1.png")),
+                    0.25, 640, 480, 500, 500, 320, 240, 0.1, 0.01, 0.001, 0.001, 0.0001);
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+}
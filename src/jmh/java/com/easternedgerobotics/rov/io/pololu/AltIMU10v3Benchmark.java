@@ -0,0 +1,74 @@
+package com.easternedgerobotics.rov.io.pololu;
+
+import com.easternedgerobotics.rov.io.devices.I2C;
+import com.easternedgerobotics.rov.io.devices.MockI2C;
+import com.easternedgerobotics.rov.io.devices.MockI2CBus;
+import com.easternedgerobotics.rov.value.AccelerationValue;
+import com.easternedgerobotics.rov.value.AngularVelocityValue;
+import com.easternedgerobotics.rov.value.PressureValue;
+import com.easternedgerobotics.rov.value.TemperatureValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures register reads and AltIMU polls against {@link MockI2C}. Run with {@code -prof gc}: reading into a
+ * buffer allocates nothing, and each poll allocates only the value it returns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class AltIMU10v3Benchmark {
+    private final I2C device = new MockI2C();
+
+    private final byte[] buffer = new byte[L3GD20H.READ_SIZE];
+
+    private final List<I2C> bus = new MockI2CBus();
+
+    private final AltIMU10v3 imu = new AltIMU10v3(bus, false);
+
+    @Benchmark
+    public final byte[] readNewArray() {
+        return device.read(L3GD20H.OUT_X_L, L3GD20H.READ_SIZE);
+    }
+
+    @Benchmark
+    public final byte[] readIntoBuffer() {
+        device.read(L3GD20H.OUT_X_L, buffer, 0, L3GD20H.READ_SIZE);
+        return buffer;
+    }
+
+    @Benchmark
+    public final AngularVelocityValue pollAngularVelocity() {
+        return imu.angularVelocity();
+    }
+
+    @Benchmark
+    public final AccelerationValue pollAcceleration() {
+        return imu.acceleration();
+    }
+
+    @Benchmark
+    public final PressureValue pollPressure() {
+        return imu.pressure();
+    }
+
+    @Benchmark
+    public final TemperatureValue pollTemperature() {
+        return imu.temperature();
+    }
+}
@@ -0,0 +1,50 @@
+package com.easternedgerobotics.rov.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one {@link MadgwickAhrs} gyroscope update with and without a magnetic field. Run with {@code -prof gc}:
+ * updates allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class MadgwickAhrsBenchmark {
+    private final MadgwickAhrs imu = new MadgwickAhrs(0.1f);
+
+    private final MadgwickAhrs marg = new MadgwickAhrs(0.1f);
+
+    @Setup
+    public final void setUp() {
+        imu.setAcceleration(120, -340, 16000);
+        marg.setAcceleration(120, -340, 16000);
+        marg.setMagneticField(1800, -600, -3900);
+    }
+
+    @Benchmark
+    public final MadgwickAhrs updateImu() {
+        imu.update(0.01f, -0.02f, 0.3f, 0.00125f);
+        return imu;
+    }
+
+    @Benchmark
+    public final MadgwickAhrs updateMarg() {
+        marg.update(0.01f, -0.02f, 0.3f, 0.00125f);
+        return marg;
+    }
+}
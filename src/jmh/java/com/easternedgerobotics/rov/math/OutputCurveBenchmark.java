@@ -0,0 +1,71 @@
+package com.easternedgerobotics.rov.math;
+
+import com.easternedgerobotics.rov.config.Config;
+import com.easternedgerobotics.rov.config.RovConfig;
+import com.easternedgerobotics.rov.io.Thruster;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleFunction;
+
+/**
+ * Compares the boxed {@link Range#map} with an {@link OutputCurve} lookup for one PWM write. Run with
+ * {@code -prof gc} to see the allocation per write; the curve lookups allocate nothing. The thruster curve is read
+ * from the default config, so run from the project directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class OutputCurveBenchmark {
+    private final DoubleFunction<Double> rangeMap =
+        Range.map(new Range(-1, 1), new Range(Thruster.MAX_REV, Thruster.MAX_FWD));
+
+    private final OutputCurve linear = OutputCurve.linear(new Range(Thruster.MAX_REV, Thruster.MAX_FWD));
+
+    private OutputCurve t200;
+
+    private float speed = -1;
+
+    @Setup
+    public final void setup() {
+        final Config config = new Config("playbooks/files/defaultConfig.yml", "");
+        t200 = new OutputCurve(config.getConfig("rov", RovConfig.class).thrusterOutputCurve());
+    }
+
+    @Benchmark
+    public final short rangeMap() {
+        return (short) Math.round(rangeMap.apply(next()));
+    }
+
+    @Benchmark
+    public final short linearCurve() {
+        return (short) Math.round(linear.map(next()));
+    }
+
+    @Benchmark
+    public final short t200Curve() {
+        return (short) Math.round(t200.map(next()));
+    }
+
+    private float next() {
+        speed += 0.01f;
+        if (speed > 1) {
+            speed = -1;
+        }
+        return speed;
+    }
+}
@@ -0,0 +1,101 @@
+package com.easternedgerobotics.rov.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one sample through the {@link RingBuffer} stream median and average that the transformers used to run with
+ * {@link SlidingMedian}, {@link WindowStatistics} and {@link Ewma}. Run with {@code -prof gc}: the primitive windows
+ * allocate nothing per sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class SlidingWindowBenchmark {
+    @Param({"12", "32", "64", "1024"})
+    private int window;
+
+    private final double[] samples = new double[4096];
+
+    private int index;
+
+    private RingBuffer buffer;
+
+    private SlidingMedian median;
+
+    private WindowStatistics statistics;
+
+    private Ewma ewma;
+
+    @Setup
+    public final void setUp() {
+        final Random random = new Random(1);
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 100 + random.nextGaussian();
+        }
+        buffer = new RingBuffer(window);
+        median = new SlidingMedian(window);
+        statistics = new WindowStatistics(window);
+        ewma = new Ewma(Ewma.alphaForWindow(window));
+        for (int i = 0; i < window; i++) {
+            buffer.add(next());
+            median.add(next());
+            statistics.add(next());
+        }
+    }
+
+    @Benchmark
+    public final double ringBufferMedian() {
+        buffer.add(next());
+        return buffer.apply(s -> {
+            final double[] values = s.sorted().toArray();
+            if (values.length % 2 == 0) {
+                return (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+            }
+            return values[values.length / 2];
+        });
+    }
+
+    @Benchmark
+    public final double slidingMedian() {
+        return median.add(next());
+    }
+
+    @Benchmark
+    public final double ringBufferAverage() {
+        buffer.add(next());
+        return buffer.apply(s -> s.summaryStatistics().getAverage());
+    }
+
+    @Benchmark
+    public final double windowStatistics() {
+        statistics.add(next());
+        return statistics.mean() + statistics.variance() + statistics.min() + statistics.max();
+    }
+
+    @Benchmark
+    public final double ewma() {
+        return ewma.add(next());
+    }
+
+    private double next() {
+        index = (index + 1) & (samples.length - 1);
+        return samples[index];
+    }
+}
@@ -0,0 +1,52 @@
+package com.easternedgerobotics.rov.video;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning one decoded 1080p frame into a JavaFX image, through a {@code BufferedImage} and
+ * {@code SwingFXUtils} as the decoder used to, and straight into a pooled image with {@link FrameImagePool}. Run with
+ * {@code -prof gc} to see the allocation per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class FrameConversionBenchmark {
+    private final Frame bgrFrame = new Frame(1920, 1080, Frame.DEPTH_UBYTE, 3);
+
+    private final Frame bgraFrame = new Frame(1920, 1080, Frame.DEPTH_UBYTE, 4);
+
+    private final Java2DFrameConverter converter = new Java2DFrameConverter();
+
+    private final FrameImagePool pool = new FrameImagePool(3);
+
+    @Benchmark
+    public final Image bufferedImage() {
+        return SwingFXUtils.toFXImage(converter.convert(bgrFrame), null);
+    }
+
+    @Benchmark
+    public final Image pooled() {
+        final WritableImage image = pool.convert(bgraFrame);
+        pool.release(image);
+        return image;
+    }
+}
@@ -2,6 +2,7 @@ package com.easternedgerobotics.rov;
 
 import com.easternedgerobotics.rov.config.Config;
 import com.easternedgerobotics.rov.config.LaunchConfig;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.io.rpi.RaspberryCpuInformation;
@@ -99,7 +100,7 @@ final class PicameraB {
             final int broadcastPort = launchConfig.defaultBroadcastPort();
             final DatagramSocket socket = new DatagramSocket(broadcastPort);
             final EventPublisher eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-                socket, broadcastAddress, broadcastPort, new BasicOrder<>()));
+                socket, broadcastAddress, broadcastPort, new BasicOrder<>()), new BinaryValueCodec());
             PicameraVideo.addShutdownHook();
             initCameraB(eventPublisher, launchConfig.heartbeatRate(), launchConfig.fileReceiverPort());
             Logger.info("Started");
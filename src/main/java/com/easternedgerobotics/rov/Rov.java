@@ -3,46 +3,53 @@ package com.easternedgerobotics.rov;
 import com.easternedgerobotics.rov.config.Config;
 import com.easternedgerobotics.rov.config.LaunchConfig;
 import com.easternedgerobotics.rov.config.RovConfig;
+import com.easternedgerobotics.rov.control.ControlLoop;
+import com.easternedgerobotics.rov.control.DepthHold;
+import com.easternedgerobotics.rov.control.HeadingHold;
+import com.easternedgerobotics.rov.control.PidController;
 import com.easternedgerobotics.rov.control.SixThrusterConfig;
+import com.easternedgerobotics.rov.control.ThrustAllocator;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.io.Bar30PressureSensor;
 import com.easternedgerobotics.rov.io.BluetoothReader;
 import com.easternedgerobotics.rov.io.Light;
 import com.easternedgerobotics.rov.io.Motor;
+import com.easternedgerobotics.rov.io.SensorPollScheduler;
 import com.easternedgerobotics.rov.io.Thruster;
+import com.easternedgerobotics.rov.io.ThrusterFrameSlot;
 import com.easternedgerobotics.rov.io.devices.ADC;
 import com.easternedgerobotics.rov.io.devices.Accelerometer;
 import com.easternedgerobotics.rov.io.devices.Barometer;
 import com.easternedgerobotics.rov.io.devices.Bluetooth;
+import com.easternedgerobotics.rov.io.devices.CountingBarometer;
 import com.easternedgerobotics.rov.io.devices.Gyroscope;
 import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.io.devices.Magnetometer;
 import com.easternedgerobotics.rov.io.devices.PWM;
+import com.easternedgerobotics.rov.io.devices.PWMFrameWriter;
 import com.easternedgerobotics.rov.io.devices.Thermometer;
 import com.easternedgerobotics.rov.io.pololu.AltIMU10v3;
 import com.easternedgerobotics.rov.io.pololu.Maestro;
 import com.easternedgerobotics.rov.io.rpi.RaspberryCpuInformation;
 import com.easternedgerobotics.rov.io.rpi.RaspberryI2CBus;
-import com.easternedgerobotics.rov.math.Range;
-import com.easternedgerobotics.rov.value.CameraSpeedValueA;
-import com.easternedgerobotics.rov.value.CameraSpeedValueB;
+import com.easternedgerobotics.rov.math.DepthKalmanFilter;
+import com.easternedgerobotics.rov.math.MadgwickAhrs;
+import com.easternedgerobotics.rov.math.OutputCurve;
+import com.easternedgerobotics.rov.measure.Depth;
+import com.easternedgerobotics.rov.value.AccelerationBatchValue;
+import com.easternedgerobotics.rov.value.AccelerationValue;
+import com.easternedgerobotics.rov.value.AngularVelocityBatchValue;
+import com.easternedgerobotics.rov.value.AngularVelocityValue;
+import com.easternedgerobotics.rov.value.ControlLoopStatsValue;
 import com.easternedgerobotics.rov.value.HeartbeatValue;
-import com.easternedgerobotics.rov.value.LightASpeedValue;
-import com.easternedgerobotics.rov.value.LightBSpeedValue;
-import com.easternedgerobotics.rov.value.PortAftSpeedValue;
-import com.easternedgerobotics.rov.value.PortForeSpeedValue;
+import com.easternedgerobotics.rov.value.PressureValue;
 import com.easternedgerobotics.rov.value.RasprimeCpuValue;
 import com.easternedgerobotics.rov.value.RasprimeHeartbeatValue;
-import com.easternedgerobotics.rov.value.SpeedValue;
-import com.easternedgerobotics.rov.value.StarboardAftSpeedValue;
-import com.easternedgerobotics.rov.value.StarboardForeSpeedValue;
-import com.easternedgerobotics.rov.value.ToolingASpeedValue;
-import com.easternedgerobotics.rov.value.ToolingBSpeedValue;
-import com.easternedgerobotics.rov.value.ToolingCSpeedValue;
+import com.easternedgerobotics.rov.value.RotationValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 import com.easternedgerobotics.rov.value.TopsideHeartbeatValue;
-import com.easternedgerobotics.rov.value.VertAftSpeedValue;
-import com.easternedgerobotics.rov.value.VertForeSpeedValue;
 
 import com.pi4j.io.serial.Serial;
 import com.pi4j.io.serial.SerialFactory;
@@ -65,13 +72,21 @@ import rx.subjects.Subject;
 import java.io.IOException;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 final class Rov {
+    private static final float MICROS_PER_SECOND = TimeUnit.SECONDS.toMicros(1);
+
+    private static final float STANDARD_GRAVITY = 9.80665f;
+
+    private static final float MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+
     private final RovConfig config;
 
     private final SixThrusterConfig thrusterConfig;
@@ -82,13 +97,15 @@ final class Rov {
 
     private final List<Light> lights;
 
+    private final PWMFrameWriter outputs;
+
     private final Accelerometer accelerometer;
 
     private final Barometer internalBarometer;
 
     private final Thermometer internalThermometer;
 
-    private final Barometer externalBarometer;
+    private final CountingBarometer externalBarometer;
 
     private final Thermometer externalThermometer;
 
@@ -96,6 +113,15 @@ final class Rov {
 
     private final Magnetometer magnetometer;
 
+    private final MadgwickAhrs ahrs;
+
+    private final DepthKalmanFilter depthFilter;
+
+    /**
+     * The external pressure reading the depth filter was last corrected with.
+     */
+    private long depthFilterReadings;
+
     private final Bluetooth bluetooth;
 
     private final EventPublisher eventPublisher;
@@ -104,11 +130,14 @@ final class Rov {
 
     private final Subject<Void, Void> killSwitch = PublishSubject.create();
 
+    private ControlLoop controlLoop;
+
     <AltIMU extends Accelerometer & Barometer & Thermometer & Gyroscope & Magnetometer,
-            PressureSensor extends Barometer & Thermometer,
-            MaestroChannel extends ADC & PWM> Rov(
+            PressureSensor extends CountingBarometer & Thermometer,
+            MaestroChannel extends ADC & PWM,
+            Channels extends List<MaestroChannel> & PWMFrameWriter> Rov(
         final EventPublisher eventPublisher,
-        final List<MaestroChannel> channels,
+        final Channels channels,
         final AltIMU imu,
         final PressureSensor externalPressure,
         final Bluetooth bluetooth,
@@ -116,121 +145,96 @@ final class Rov {
     ) {
         this.eventPublisher = eventPublisher;
         this.config = rovConfig;
-
-        final PortAftSpeedValue portAft = new PortAftSpeedValue();
-        final StarboardAftSpeedValue starboardAft = new StarboardAftSpeedValue();
-        final PortForeSpeedValue portFore = new PortForeSpeedValue();
-        final StarboardForeSpeedValue starboardFore = new StarboardForeSpeedValue();
-        final VertAftSpeedValue vertAft = new VertAftSpeedValue();
-        final VertForeSpeedValue vertFore = new VertForeSpeedValue();
-
-        this.thrusterConfig = new SixThrusterConfig(eventPublisher);
+        this.outputs = channels;
+
+        final float controlPeriod = rovConfig.sleepDuration() / MILLIS_PER_SECOND;
+        this.ahrs = new MadgwickAhrs(rovConfig.ahrsGain());
+        this.depthFilter = new DepthKalmanFilter(
+            rovConfig.depthFilterAccelerationNoise(), rovConfig.depthFilterDepthNoise());
+        this.thrusterConfig = new SixThrusterConfig(
+            eventPublisher,
+            new ThrustAllocator(rovConfig.thrusterGeometry(), rovConfig.thrusterCompensated()),
+            new DepthHold(
+                eventPublisher,
+                depthFilter,
+                new PidController(rovConfig.depthHoldGains(), 1),
+                controlPeriod,
+                rovConfig.holdOverrideDeadband()),
+            new HeadingHold(
+                eventPublisher,
+                ahrs,
+                new PidController(rovConfig.headingHoldGains(), 1),
+                controlPeriod,
+                rovConfig.holdOverrideDeadband()));
 
         this.motors = Collections.unmodifiableList(Arrays.asList(
             new Motor(
-                eventPublisher
-                    .valuesOfType(CameraSpeedValueA.class)
-                    .startWith(new CameraSpeedValueA())
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.CAMERA_A,
                 channels.get(config.cameraAMotorChannel())
-                    .setOutputRange(new Range(Motor.MAX_REV, Motor.MAX_FWD))),
+                    .setOutputCurve(Motor.OUTPUT_CURVE)),
             new Motor(
-                eventPublisher
-                    .valuesOfType(CameraSpeedValueB.class)
-                    .startWith(new CameraSpeedValueB())
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.CAMERA_B,
                 channels.get(config.cameraBMotorChannel())
-                    .setOutputRange(new Range(Motor.MAX_REV, Motor.MAX_FWD))),
+                    .setOutputCurve(Motor.OUTPUT_CURVE)),
             new Motor(
-                eventPublisher
-                    .valuesOfType(ToolingASpeedValue.class)
-                    .startWith(new ToolingASpeedValue())
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.TOOLING_A,
                 channels.get(config.toolingAMotorChannel())
-                    .setOutputRange(new Range(Motor.MAX_REV, Motor.MAX_FWD))),
+                    .setOutputCurve(Motor.OUTPUT_CURVE)),
             new Motor(
-                eventPublisher
-                    .valuesOfType(ToolingBSpeedValue.class)
-                    .startWith(new ToolingBSpeedValue())
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.TOOLING_B,
                 channels.get(config.toolingBMotorChannel())
-                    .setOutputRange(new Range(Motor.MAX_REV, Motor.MAX_FWD))),
+                    .setOutputCurve(Motor.OUTPUT_CURVE)),
             new Motor(
-                eventPublisher
-                    .valuesOfType(ToolingCSpeedValue.class)
-                    .startWith(new ToolingCSpeedValue())
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.TOOLING_C,
                 channels.get(config.toolingCMotorChannel())
-                    .setOutputRange(new Range(Motor.MAX_REV, Motor.MAX_FWD)))
+                    .setOutputCurve(Motor.OUTPUT_CURVE))
         ));
 
+        // Interpolated linearly from 1500 μs, so speeds close to zero stay inside the ESC deadband
+        final OutputCurve thrusterCurve = new OutputCurve(config.thrusterOutputCurve());
         this.thrusters = Collections.unmodifiableList(Arrays.asList(
             new Thruster(
-                eventPublisher
-                    .valuesOfType(PortAftSpeedValue.class)
-                    .startWith(portAft)
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.PORT_AFT,
                 channels.get(config.portAftChannel())
-                    .setOutputRange(new Range(Thruster.MAX_REV, Thruster.MAX_FWD))),
+                    .setOutputCurve(thrusterCurve)),
             new Thruster(
-                eventPublisher
-                    .valuesOfType(StarboardAftSpeedValue.class)
-                    .startWith(starboardAft)
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.STARBOARD_AFT,
                 channels.get(config.starboardAftChannel())
-                    .setOutputRange(new Range(Thruster.MAX_FWD, Thruster.MAX_REV))),
+                    .setOutputCurve(thrusterCurve.reversed())),
             new Thruster(
-                eventPublisher
-                    .valuesOfType(PortForeSpeedValue.class)
-                    .startWith(portFore)
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.PORT_FORE,
                 channels.get(config.portForeChannel())
-                    .setOutputRange(new Range(Thruster.MAX_REV, Thruster.MAX_FWD))),
+                    .setOutputCurve(thrusterCurve)),
             new Thruster(
-                eventPublisher
-                    .valuesOfType(StarboardForeSpeedValue.class)
-                    .startWith(starboardFore)
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.STARBOARD_FORE,
                 channels.get(config.starboardForeChannel())
-                    .setOutputRange(new Range(Thruster.MAX_FWD, Thruster.MAX_REV))),
+                    .setOutputCurve(thrusterCurve.reversed())),
             new Thruster(
-                eventPublisher
-                    .valuesOfType(VertAftSpeedValue.class)
-                    .startWith(vertAft)
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.VERT_AFT,
                 channels.get(config.vertAftChannel())
-                    .setOutputRange(new Range(Thruster.MAX_FWD, Thruster.MAX_REV))),
+                    .setOutputCurve(thrusterCurve.reversed())),
             new Thruster(
-                eventPublisher
-                    .valuesOfType(VertForeSpeedValue.class)
-                    .startWith(vertFore)
-                    .cast(SpeedValue.class),
+                ThrusterFrameSlot.VERT_FORE,
                 channels.get(config.vertForeChannel())
-                    .setOutputRange(new Range(Thruster.MAX_REV, Thruster.MAX_FWD)))
+                    .setOutputCurve(thrusterCurve))
         ));
 
         this.lights = Collections.unmodifiableList(Arrays.asList(
             new Light(
-                eventPublisher
-                    .valuesOfType(LightASpeedValue.class)
-                    .startWith(new LightASpeedValue())
-                    .cast(SpeedValue.class),
-                channels.get(config.lightAChannel()).setOutputRange(new Range(Light.MAX_REV, Light.MAX_FWD))),
+                ThrusterFrameSlot.LIGHT_A,
+                channels.get(config.lightAChannel()).setOutputCurve(Light.OUTPUT_CURVE)),
             new Light(
-                eventPublisher
-                    .valuesOfType(LightBSpeedValue.class)
-                    .startWith(new LightBSpeedValue())
-                    .cast(SpeedValue.class),
-                channels.get(config.lightBChannel()).setOutputRange(new Range(Light.MAX_REV, Light.MAX_FWD)))
+                ThrusterFrameSlot.LIGHT_B,
+                channels.get(config.lightBChannel()).setOutputCurve(Light.OUTPUT_CURVE))
         ));
 
         internalBarometer = () -> imu.pressure();
         magnetometer = () -> imu.rotation();
-        accelerometer = () -> imu.acceleration();
-        gyroscope = () -> imu.angularVelocity();
+        accelerometer = imu;
+        gyroscope = imu;
         internalThermometer = () -> imu.temperature();
 
-        externalBarometer = () -> externalPressure.pressure();
+        externalBarometer = externalPressure;
         externalThermometer = () -> externalPressure.temperature();
 
         this.bluetooth = bluetooth;
@@ -250,19 +254,29 @@ final class Rov {
         motors.forEach(Motor::writeZero);
         lights.forEach(Light::writeZero);
         thrusters.forEach(Thruster::writeZero);
+        if (controlLoop != null) {
+            final ControlLoopStatsValue stats = controlLoop.totalStats();
+            Logger.info(
+                "Control loop ran {} ticks, missed {} deadlines, jitter mean {} us max {} us, "
+                    + "compute mean {} us max {} us",
+                stats.getTicks(), stats.getMissed(), stats.getMeanJitter(), stats.getMaxJitter(),
+                stats.getMeanCompute(), stats.getMaxCompute());
+        }
         bluetooth.stop();
         eventPublisher.emit(new RasprimeHeartbeatValue(false));
+        eventPublisher.stop();
     }
 
     /**
      * Initialises the ROV, attaching the hardware updates to their event source. The ROV will "timeout"
      * if communication with the topside is lost or the received heartbeat value indicates a non-operational
      * status and will shutdown.
-     * @param io the scheduler to use for device I/O
-     * @param sensorRead the scheduler to use for sensor I/O
+     * @param loop the loop which runs thruster updates and their device I/O
+     * @param sensors the poll scheduler which reads the sensors on the I2C bus
      * @param clock the scheduler to use for timing
      */
-    void init(final Scheduler io, final Scheduler sensorRead, final Scheduler clock) {
+    void init(final ControlLoop loop, final SensorPollScheduler sensors, final Scheduler clock) {
+        controlLoop = loop;
         Logger.debug("Wiring up heartbeat, timeout, and thruster updates");
         final RaspberryCpuInformation cpuInformation = new RaspberryCpuInformation(
             RasprimeCpuValue::new, config.cpuPollInterval(), TimeUnit.SECONDS);
@@ -276,13 +290,11 @@ final class Rov {
             .doOnNext(heartbeat -> Logger.warn("Timeout while waiting for heartbeat"))
             .concatWith(Observable.never());
 
-        final Observable<HeartbeatValue> controlHeartbeats = Observable
-            .interval(config.sleepDuration(), TimeUnit.MILLISECONDS, clock)
+        final Observable<HeartbeatValue> controlHeartbeats = loop.ticks()
             .withLatestFrom(
                 topsideHeartbeats.mergeWith(timeout.takeUntil(topsideHeartbeats).repeat()),
                 (tick, heartbeat) -> heartbeat)
-            .cast(HeartbeatValue.class)
-            .observeOn(io);
+            .cast(HeartbeatValue.class);
 
         controlHeartbeats.takeUntil(killSwitch)
             .doOnSubscribe(this::doOnSubscribe)
@@ -290,26 +302,139 @@ final class Rov {
 
         thrusters.forEach(Thruster::writeZero);
 
-        final Observable<Long> sensorInterval = Observable.interval(
-                config.sensorPollInterval(),
-                TimeUnit.MILLISECONDS,
-                sensorRead);
-        sensorInterval.subscribe(tick -> {
-            eventPublisher.emit(internalBarometer.pressure());
-            eventPublisher.emit(accelerometer.acceleration());
-            eventPublisher.emit(gyroscope.angularVelocity());
-            eventPublisher.emit(magnetometer.rotation());
-            eventPublisher.emit(internalThermometer.temperature());
-            eventPublisher.emit(externalBarometer.pressure());
-            eventPublisher.emit(externalThermometer.temperature());
-        });
+        Observable.interval(config.cpuPollInterval(), TimeUnit.SECONDS, clock)
+            .map(tick -> loop.stats())
+            .subscribe(eventPublisher::emit, Logger::error);
+
+        final float gyroscopePeriod = 1 / config.gyroscopePollRate();
+        final float accelerometerPeriod = 1 / config.accelerometerPollRate();
+        if (config.imuFifoEnabled()) {
+            sensors
+                .add("accelerometer", config.accelerometerPollRate(), () -> {
+                    final AccelerationBatchValue batch = accelerometer.accelerationBatch(clock.now());
+                    final float period = batch.getSamplePeriod() / MICROS_PER_SECOND;
+                    for (final AccelerationValue sample : batch.getSamples()) {
+                        predictDepth(sample, period);
+                    }
+                    if (!batch.getSamples().isEmpty()) {
+                        updateAhrs(batch.getSamples().get(batch.getSamples().size() - 1));
+                    }
+                    return imuValues(batch, batch.getSamples());
+                })
+                .add("gyroscope", config.gyroscopePollRate(), () -> {
+                    final AngularVelocityBatchValue batch = gyroscope.angularVelocityBatch(clock.now());
+                    final float period = batch.getSamplePeriod() / MICROS_PER_SECOND;
+                    for (final AngularVelocityValue sample : batch.getSamples()) {
+                        updateAhrs(sample, period);
+                    }
+                    return imuValues(batch, batch.getSamples());
+                });
+        } else {
+            sensors
+                .add("accelerometer", config.accelerometerPollRate(), () -> {
+                    final AccelerationValue value = accelerometer.acceleration();
+                    updateAhrs(value);
+                    predictDepth(value, accelerometerPeriod);
+                    return imuValue(value);
+                })
+                .add("gyroscope", config.gyroscopePollRate(), () -> {
+                    final AngularVelocityValue value = gyroscope.angularVelocity();
+                    updateAhrs(value, gyroscopePeriod);
+                    return imuValue(value);
+                });
+        }
+        sensors
+            .add("internalBarometer", config.internalBarometerPollRate(), internalBarometer::pressure)
+            .add("magnetometer", config.magnetometerPollRate(), () -> {
+                final RotationValue value = magnetometer.rotation();
+                ahrs.setMagneticField(value.getX(), value.getY(), value.getZ());
+                return imuValue(value);
+            })
+            .add("internalThermometer", config.internalThermometerPollRate(), internalThermometer::temperature)
+            .add("externalBarometer", config.externalBarometerPollRate(), () -> {
+                // Counted before reading so the value is at least as new as the count
+                final long readings = externalBarometer.pressureReadings();
+                final PressureValue value = externalBarometer.pressure();
+                if (readings == 0) {
+                    return value;
+                }
+                if (readings != depthFilterReadings) {
+                    depthFilterReadings = readings;
+                    depthFilter.correct(Depth.fromPressure(value.getPressure()));
+                }
+                return Arrays.asList(value, depthFilter.state());
+            })
+            .add("externalThermometer", config.externalThermometerPollRate(), externalThermometer::temperature);
+        sensors.readings().subscribe(values -> {
+            values.forEach(eventPublisher::emit);
+            eventPublisher.flush();
+        }, Logger::error);
+
+        Observable.interval(config.orientationPublishInterval(), TimeUnit.MILLISECONDS, clock)
+            .map(tick -> ahrs.orientation())
+            .subscribe(eventPublisher::emit, Logger::error);
+
+        Observable.interval(config.cpuPollInterval(), TimeUnit.SECONDS, clock)
+            .subscribe(tick -> {
+                sensors.stats().forEach(eventPublisher::emit);
+                eventPublisher.emit(sensors.busStats());
+            }, Logger::error);
 
         bluetooth.start(eventPublisher);
     }
 
+    private void updateAhrs(final AccelerationValue value) {
+        ahrs.setAcceleration(value.getX(), value.getY(), value.getZ());
+    }
+
+    private void updateAhrs(final AngularVelocityValue value, final float period) {
+        ahrs.update(
+            value.getX() * AltIMU10v3.ANGULAR_VELOCITY_SCALE,
+            value.getY() * AltIMU10v3.ANGULAR_VELOCITY_SCALE,
+            value.getZ() * AltIMU10v3.ANGULAR_VELOCITY_SCALE,
+            period);
+    }
+
+    /**
+     * Advance the depth estimate by one acceleration sample. At rest the accelerometer reads 1 g upwards, so that is
+     * taken off the vertical component to leave the acceleration of the ROV, which is then flipped to positive down.
+     */
+    private void predictDepth(final AccelerationValue value, final float period) {
+        final float up = ahrs.vertical(value.getX(), value.getY(), value.getZ()) * AltIMU10v3.ACCELERATION_SCALE;
+        depthFilter.predict(STANDARD_GRAVITY - up, period);
+    }
+
+    /**
+     * Returns the raw IMU value for publishing, or nothing when only the estimated orientation is published.
+     */
+    private Object imuValue(final Object value) {
+        if (config.imuRawPublished()) {
+            return value;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the batch followed by its newest sample, if any, for subscribers that only want the latest value,
+     * or nothing when only the estimated orientation is published.
+     */
+    private List<Object> imuValues(final Object batch, final List<?> samples) {
+        if (!config.imuRawPublished()) {
+            return Collections.emptyList();
+        }
+        final List<Object> values = new ArrayList<>(2);
+        values.add(batch);
+        if (!samples.isEmpty()) {
+            values.add(samples.get(samples.size() - 1));
+        }
+        return values;
+    }
+
     private void thrustersUpdate() {
-        thrusterConfig.update();
-        thrusters.forEach(Thruster::write);
+        final ThrusterFrameValue frame = thrusterConfig.update();
+        thrusters.forEach(thruster -> thruster.write(frame));
+        lights.forEach(light -> light.write(frame));
+        motors.forEach(motor -> motor.write(frame));
     }
 
     private void softShutdown() {
@@ -322,17 +447,20 @@ final class Rov {
     }
 
     private void onNext(final HeartbeatValue heartbeat) {
-        if (heartbeat.getOperational()) {
-            thrustersUpdate();
-            lights.forEach(Light::write);
-            motors.forEach(Motor::write);
-            eventPublisher.emit(new RasprimeHeartbeatValue(true));
-        } else {
-            softShutdown();
-            lights.forEach(Light::flash);
-            motors.forEach(Motor::writeZero);
-            eventPublisher.emit(new RasprimeHeartbeatValue(false));
+        outputs.beginFrame();
+        try {
+            if (heartbeat.getOperational()) {
+                thrustersUpdate();
+            } else {
+                softShutdown();
+                lights.forEach(Light::flash);
+                motors.forEach(Motor::writeZero);
+            }
+        } finally {
+            outputs.endFrame();
         }
+        eventPublisher.emit(new RasprimeHeartbeatValue(heartbeat.getOperational()));
+        eventPublisher.flush();
     }
 
     private void onError(final Throwable e) {
@@ -379,26 +507,46 @@ final class Rov {
             final InetAddress broadcastAddress = InetAddress.getByName(launchConfig.broadcast());
             final int broadcastPort = launchConfig.defaultBroadcastPort();
             final DatagramSocket socket = new DatagramSocket(broadcastPort);
-            final EventPublisher eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-                socket, broadcastAddress, broadcastPort, new BasicOrder<>()));
+            final EventPublisher eventPublisher = new BroadcastEventPublisher(
+                new UdpBroadcast<>(socket, broadcastAddress, broadcastPort, new BasicOrder<>()),
+                new BinaryValueCodec(),
+                launchConfig.emitQueueCapacity(),
+                launchConfig.emitBatchSize(),
+                launchConfig.emitFlushInterval(),
+                TimeUnit.MILLISECONDS);
 
             final Serial serial = SerialFactory.createInstance();
             final List<I2C> i2cBus = new RaspberryI2CBus(rovConfig.i2cBus());
 
-            final Scheduler sensorRead = Schedulers.newThread();
+            final Scheduler i2cRead = Schedulers.from(Executors.newSingleThreadExecutor());
+
+            final Maestro<?> maestro = new Maestro<>(
+                serial,
+                rovConfig.maestroDeviceNumber(),
+                rovConfig.maestroKeepAliveInterval(),
+                TimeUnit.MILLISECONDS,
+                Schedulers.io());
+            Observable.interval(rovConfig.cpuPollInterval(), TimeUnit.SECONDS)
+                .flatMapIterable(tick -> maestro.stats())
+                .subscribe(eventPublisher::emit, Logger::error);
+
+            final Bar30PressureSensor externalPressure = new Bar30PressureSensor(
+                i2cBus.get(Bar30PressureSensor.ADDRESS),
+                i2cRead,
+                Bar30PressureSensor.Oversampling.of(rovConfig.pressureSensorOversampling()),
+                rovConfig.pressureSensorTemperatureInterval());
+            Observable.interval(rovConfig.cpuPollInterval(), TimeUnit.SECONDS)
+                .map(tick -> externalPressure.stats())
+                .subscribe(eventPublisher::emit, Logger::error);
 
             final Rov rov = new Rov(
                 eventPublisher,
-                new Maestro<>(
-                    serial,
-                    rovConfig.maestroDeviceNumber()),
+                maestro,
                 new AltIMU10v3(
                     i2cBus,
-                    rovConfig.altImuSa0High()),
-                new Bar30PressureSensor(
-                    i2cBus.get(Bar30PressureSensor.ADDRESS),
-                    sensorRead,
-                    rovConfig.pressureSensorConvertTime()),
+                    rovConfig.altImuSa0High(),
+                    rovConfig.imuFifoEnabled()),
+                externalPressure,
                 new BluetoothReader(
                     rovConfig.bluetoothComPortName(),
                     rovConfig.bluetoothComPort(),
@@ -409,7 +557,19 @@ final class Rov {
             Runtime.getRuntime().addShutdownHook(new Thread(rov::shutdown));
 
             serial.open(launchConfig.serialPort(), launchConfig.baudRate());
-            rov.init(Schedulers.io(), sensorRead, Schedulers.computation());
+            rov.init(
+                new ControlLoop(
+                    rovConfig.sleepDuration(),
+                    TimeUnit.MILLISECONDS,
+                    Schedulers.newThread(),
+                    System::nanoTime,
+                    rovConfig.controlLoopPriority()),
+                new SensorPollScheduler(
+                    rovConfig.sensorPollInterval(),
+                    TimeUnit.MILLISECONDS,
+                    i2cRead,
+                    System::nanoTime),
+                Schedulers.computation());
 
             Logger.info("Started");
             eventPublisher.await();
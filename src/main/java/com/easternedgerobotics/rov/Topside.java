@@ -11,6 +11,7 @@ import com.easternedgerobotics.rov.config.VideoDecoderConfig;
 import com.easternedgerobotics.rov.control.ExponentialMotionScale;
 import com.easternedgerobotics.rov.control.MotionReverser;
 import com.easternedgerobotics.rov.control.SpeedRegulator;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.fx.MainView;
@@ -79,8 +80,13 @@ public final class Topside extends Application {
         final InetAddress broadcastAddress = InetAddress.getByName(launchConfig.broadcast());
         final int broadcastPort = launchConfig.defaultBroadcastPort();
         final DatagramSocket socket = new DatagramSocket(broadcastPort);
-        eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-            socket, broadcastAddress, broadcastPort, new BasicOrder<>()));
+        eventPublisher = new BroadcastEventPublisher(
+            new UdpBroadcast<>(socket, broadcastAddress, broadcastPort, new BasicOrder<>()),
+            new BinaryValueCodec(),
+            launchConfig.emitQueueCapacity(),
+            launchConfig.emitBatchSize(),
+            launchConfig.emitFlushInterval(),
+            TimeUnit.MILLISECONDS);
 
         arduino = new Arduino(
             new ArduinoPort(
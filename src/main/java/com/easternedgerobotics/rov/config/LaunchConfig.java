@@ -14,4 +14,10 @@ public interface LaunchConfig {
     int fileReceiverPort();
 
     int fileReceiverSocketBacklog();
+
+    int emitQueueCapacity();
+
+    int emitBatchSize();
+
+    long emitFlushInterval();
 }
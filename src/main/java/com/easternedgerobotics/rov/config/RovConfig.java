@@ -7,10 +7,34 @@ public interface RovConfig {
 
     long sensorPollInterval();
 
+    float accelerometerPollRate();
+
+    float gyroscopePollRate();
+
+    float magnetometerPollRate();
+
+    float internalBarometerPollRate();
+
+    float internalThermometerPollRate();
+
+    float externalBarometerPollRate();
+
+    float externalThermometerPollRate();
+
     long sleepDuration();
 
+    int controlLoopPriority();
+
     byte maestroDeviceNumber();
 
+    long maestroKeepAliveInterval();
+
+    float[] thrusterGeometry();
+
+    boolean[] thrusterCompensated();
+
+    float[] thrusterOutputCurve();
+
     byte portAftChannel();
 
     byte starboardAftChannel();
@@ -39,6 +63,20 @@ public interface RovConfig {
 
     boolean altImuSa0High();
 
+    boolean imuFifoEnabled();
+
+    boolean imuRawPublished();
+
+    float ahrsGain();
+
+    long orientationPublishInterval();
+
+    float[] depthHoldGains();
+
+    float[] headingHoldGains();
+
+    float holdOverrideDeadband();
+
     int i2cBus();
 
     long shutdownTimeout();
@@ -51,5 +89,11 @@ public interface RovConfig {
 
     int bluetoothBaudRate();
 
-    int pressureSensorConvertTime();
+    int pressureSensorOversampling();
+
+    int pressureSensorTemperatureInterval();
+
+    float depthFilterAccelerationNoise();
+
+    float depthFilterDepthNoise();
 }
@@ -30,4 +30,12 @@ public interface TopsidesConfig {
     int motionPowerSaveFlashDuration();
 
     int heartbeatLostInterval();
+
+    int temperatureMedianSampleSize();
+
+    int temperatureAverageSampleSize();
+
+    int sensorMedianSampleSize();
+
+    int sensorAverageSampleSize();
 }
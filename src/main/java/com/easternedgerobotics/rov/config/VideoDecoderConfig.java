@@ -20,4 +20,22 @@ public interface VideoDecoderConfig {
     int numBuffers();
 
     String introVideoLocation();
+
+    int probeSize();
+
+    int analyzeDuration();
+
+    boolean lowDelay();
+
+    int decoderThreads();
+
+    long statsInterval();
+
+    int streamTimeout();
+
+    String recordingDirectory();
+
+    long recordingSegmentDuration();
+
+    int recordingBufferSize();
 }
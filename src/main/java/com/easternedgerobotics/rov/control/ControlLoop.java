@@ -0,0 +1,193 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.value.ControlLoopStatsValue;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A fixed-rate loop on one scheduler worker. Each tick is scheduled for an absolute deadline, so lateness never
+ * accumulates, and a tick that overruns skips the deadlines it missed instead of running them back to back.
+ */
+public final class ControlLoop {
+    /**
+     * Leaves the priority of the loop thread unchanged.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final long period;
+
+    private final Scheduler scheduler;
+
+    private final LongSupplier clock;
+
+    private final int priority;
+
+    /**
+     * Timing since the last call to {@link #stats()}.
+     */
+    private final Timing window = new Timing();
+
+    /**
+     * Timing since the loop started.
+     */
+    private final Timing total = new Timing();
+
+    /**
+     * Create a loop timed by the clock of its scheduler.
+     *
+     * @param period the time between ticks
+     * @param timeUnit the period time unit
+     * @param scheduler the scheduler to run ticks on
+     */
+    public ControlLoop(final long period, final TimeUnit timeUnit, final Scheduler scheduler) {
+        this(period, timeUnit, scheduler, () -> TimeUnit.MILLISECONDS.toNanos(scheduler.now()), DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Create a loop timed by the given clock.
+     *
+     * @param period the time between ticks
+     * @param timeUnit the period time unit
+     * @param scheduler the scheduler to run ticks on, ideally with a thread of its own
+     * @param clock the current time in nanoseconds, such as {@code System::nanoTime}
+     * @param priority the priority given to the loop thread, or {@link #DEFAULT_PRIORITY}
+     */
+    public ControlLoop(
+        final long period,
+        final TimeUnit timeUnit,
+        final Scheduler scheduler,
+        final LongSupplier clock,
+        final int priority
+    ) {
+        this.period = timeUnit.toNanos(period);
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.priority = priority;
+    }
+
+    /**
+     * Returns an observable that emits the tick count on the loop worker once per period until unsubscribed.
+     * Subscribers run within the tick, so their work counts towards its compute time.
+     *
+     * @return the ticks of the loop
+     */
+    public final Observable<Long> ticks() {
+        return Observable.unsafeCreate(subscriber -> {
+            final Scheduler.Worker worker = scheduler.createWorker();
+            subscriber.add(worker);
+            final long first = clock.getAsLong() + period;
+            worker.schedule(() -> {
+                if (priority != DEFAULT_PRIORITY) {
+                    Thread.currentThread().setPriority(priority);
+                }
+                tick(worker, subscriber, first, 0);
+            }, period, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * Returns the timing since the last call and starts a new reporting window.
+     *
+     * @return the control loop timing since the last call
+     */
+    public final ControlLoopStatsValue stats() {
+        synchronized (window) {
+            final ControlLoopStatsValue stats = window.toValue();
+            window.reset();
+            return stats;
+        }
+    }
+
+    /**
+     * Returns the timing since the loop started.
+     *
+     * @return the control loop timing since the start
+     */
+    public final ControlLoopStatsValue totalStats() {
+        synchronized (total) {
+            return total.toValue();
+        }
+    }
+
+    private void tick(
+        final Scheduler.Worker worker,
+        final Subscriber<? super Long> subscriber,
+        final long deadline,
+        final long count
+    ) {
+        if (subscriber.isUnsubscribed()) {
+            return;
+        }
+        final long start = clock.getAsLong();
+        subscriber.onNext(count);
+        final long end = clock.getAsLong();
+
+        long next = deadline + period;
+        long missed = 0;
+        if (end > next) {
+            missed = (end - deadline) / period;
+            next = deadline + (missed + 1) * period;
+        }
+        final long jitter = Math.max(0, start - deadline);
+        record(window, jitter, end - start, missed);
+        record(total, jitter, end - start, missed);
+
+        final long nextDeadline = next;
+        worker.schedule(
+            () -> tick(worker, subscriber, nextDeadline, count + 1),
+            nextDeadline - clock.getAsLong(),
+            TimeUnit.NANOSECONDS);
+    }
+
+    private static void record(final Timing timing, final long jitter, final long compute, final long missed) {
+        synchronized (timing) {
+            timing.ticks++;
+            timing.missed += missed;
+            timing.jitter += jitter;
+            timing.maxJitter = Math.max(timing.maxJitter, jitter);
+            timing.compute += compute;
+            timing.maxCompute = Math.max(timing.maxCompute, compute);
+        }
+    }
+
+    private static final class Timing {
+        private long ticks;
+
+        private long missed;
+
+        private long jitter;
+
+        private long maxJitter;
+
+        private long compute;
+
+        private long maxCompute;
+
+        private void reset() {
+            ticks = 0;
+            missed = 0;
+            jitter = 0;
+            maxJitter = 0;
+            compute = 0;
+            maxCompute = 0;
+        }
+
+        private ControlLoopStatsValue toValue() {
+            final long divisor = Math.max(1, ticks) * NANOS_PER_MICRO;
+            return new ControlLoopStatsValue(
+                ticks,
+                missed,
+                jitter / divisor,
+                maxJitter / NANOS_PER_MICRO,
+                compute / divisor,
+                maxCompute / NANOS_PER_MICRO);
+        }
+    }
+}
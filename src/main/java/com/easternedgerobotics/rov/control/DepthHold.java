@@ -0,0 +1,77 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.event.EventPublisher;
+import com.easternedgerobotics.rov.math.DepthKalmanFilter;
+import com.easternedgerobotics.rov.value.DepthHoldValue;
+
+/**
+ * Holds the depth of the ROV while engaged by a {@link DepthHoldValue}. The depth and the vertical velocity that damps
+ * the hold come from the onboard depth estimate. The target is the depth when the hold was engaged, or when the pilot
+ * last let go of the heave stick: while the stick is deflected the pilot is in control and the target follows the ROV.
+ */
+public final class DepthHold implements MotionAssist {
+    private final DepthKalmanFilter depthFilter;
+
+    private final PidController pid;
+
+    /**
+     * The control loop period in seconds.
+     */
+    private final float period;
+
+    /**
+     * The pilot heave below which the stick is treated as centred.
+     */
+    private final float deadband;
+
+    private volatile boolean engaged;
+
+    /**
+     * True once a target has been set, until the pilot takes over or the hold is released.
+     */
+    private boolean holding;
+
+    /**
+     * The depth to hold in metres.
+     */
+    private float target;
+
+    /**
+     * Create a depth hold engaged by {@link DepthHoldValue} events.
+     *
+     * @param eventPublisher the event publisher to read engagement from
+     * @param depthFilter the depth estimate
+     * @param pid the controller turning depth error into heave
+     * @param period the control loop period in seconds
+     * @param deadband the pilot heave below which the stick is treated as centred
+     */
+    public DepthHold(
+        final EventPublisher eventPublisher,
+        final DepthKalmanFilter depthFilter,
+        final PidController pid,
+        final float period,
+        final float deadband
+    ) {
+        this.depthFilter = depthFilter;
+        this.pid = pid;
+        this.period = period;
+        this.deadband = deadband;
+        eventPublisher.valuesOfType(DepthHoldValue.class).subscribe(value -> engaged = value.getEngaged());
+    }
+
+    @Override
+    public final void assist(final float[] motion) {
+        if (!engaged || !depthFilter.initialised() || Math.abs(motion[ThrustAllocator.HEAVE]) > deadband) {
+            holding = false;
+            return;
+        }
+        final float depth = depthFilter.depth();
+        if (!holding) {
+            target = depth;
+            pid.reset();
+            holding = true;
+        }
+        // Heave is positive up while depth is positive down
+        motion[ThrustAllocator.HEAVE] = pid.update(depth - target, -depthFilter.velocity(), period);
+    }
+}
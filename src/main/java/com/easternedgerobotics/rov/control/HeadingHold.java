@@ -0,0 +1,93 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.event.EventPublisher;
+import com.easternedgerobotics.rov.math.MadgwickAhrs;
+import com.easternedgerobotics.rov.value.HeadingHoldValue;
+
+/**
+ * Holds the heading of the ROV while engaged by a {@link HeadingHoldValue}. The heading comes from the onboard
+ * orientation estimate, which is updated at the gyroscope rate, and the gyroscope yaw rate damps the turn. While the
+ * pilot deflects the yaw stick the pilot is in control, and the heading on release becomes the new target.
+ */
+public final class HeadingHold implements MotionAssist {
+    private static final float HALF_TURN = 180;
+
+    private static final float FULL_TURN = 360;
+
+    private final MadgwickAhrs ahrs;
+
+    private final PidController pid;
+
+    /**
+     * The control loop period in seconds.
+     */
+    private final float period;
+
+    /**
+     * The pilot yaw below which the stick is treated as centred.
+     */
+    private final float deadband;
+
+    private volatile boolean engaged;
+
+    /**
+     * True once a target has been set, until the pilot takes over or the hold is released.
+     */
+    private boolean holding;
+
+    /**
+     * The heading to hold in degrees.
+     */
+    private float target;
+
+    /**
+     * Create a heading hold engaged by {@link HeadingHoldValue} events.
+     *
+     * @param eventPublisher the event publisher to read engagement from
+     * @param ahrs the orientation estimate
+     * @param pid the controller turning heading error in degrees into yaw
+     * @param period the control loop period in seconds
+     * @param deadband the pilot yaw below which the stick is treated as centred
+     */
+    public HeadingHold(
+        final EventPublisher eventPublisher,
+        final MadgwickAhrs ahrs,
+        final PidController pid,
+        final float period,
+        final float deadband
+    ) {
+        this.ahrs = ahrs;
+        this.pid = pid;
+        this.period = period;
+        this.deadband = deadband;
+        eventPublisher.valuesOfType(HeadingHoldValue.class).subscribe(value -> engaged = value.getEngaged());
+    }
+
+    @Override
+    public final void assist(final float[] motion) {
+        if (!engaged || Math.abs(motion[ThrustAllocator.YAW]) > deadband) {
+            holding = false;
+            return;
+        }
+        final float heading = ahrs.yaw();
+        if (!holding) {
+            target = heading;
+            pid.reset();
+            holding = true;
+        }
+        motion[ThrustAllocator.YAW] = pid.update(wrap(target - heading), ahrs.yawRate(), period);
+    }
+
+    /**
+     * Returns the given angle between -180 and 180 degrees, so the hold turns the short way round.
+     */
+    private static float wrap(final float degrees) {
+        float wrapped = degrees % FULL_TURN;
+        if (wrapped > HALF_TURN) {
+            wrapped -= FULL_TURN;
+        } else if (wrapped <= -HALF_TURN) {
+            wrapped += FULL_TURN;
+        }
+        return wrapped;
+    }
+}
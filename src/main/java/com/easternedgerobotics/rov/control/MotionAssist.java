@@ -0,0 +1,15 @@
+package com.easternedgerobotics.rov.control;
+
+/**
+ * Adjusts the motion requested by the pilot before it is allocated to the thrusters. Assists run on the control loop
+ * thread once per tick, in the order they were given to {@link SixThrusterConfig}.
+ */
+@FunctionalInterface
+public interface MotionAssist {
+    /**
+     * Adjust the requested motion in place.
+     *
+     * @param motion the requested motion, indexed by the {@link ThrustAllocator} degrees of freedom
+     */
+    void assist(float[] motion);
+}
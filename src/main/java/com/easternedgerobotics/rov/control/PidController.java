@@ -0,0 +1,82 @@
+package com.easternedgerobotics.rov.control;
+
+/**
+ * A PID controller for a loop with a fixed period. The derivative term acts on the measured rate rather than on the
+ * error, so changing the setpoint does not kick the output. The output is clamped to a limit, and the integral stops
+ * growing while the output is saturated in the direction of the error, so it does not wind up while the plant cannot
+ * keep up.
+ */
+public final class PidController {
+    private final float proportionalGain;
+
+    private final float integralGain;
+
+    private final float derivativeGain;
+
+    private final float limit;
+
+    /**
+     * The integral term, already multiplied by its gain.
+     */
+    private float integral;
+
+    /**
+     * Create a controller from its gains, given as proportional, integral and derivative.
+     *
+     * @param gains the proportional, integral and derivative gains
+     * @param limit the largest output magnitude
+     */
+    public PidController(final float[] gains, final float limit) {
+        this(gains[0], gains[1], gains[2], limit);
+    }
+
+    /**
+     * Create a controller.
+     *
+     * @param proportionalGain output per unit of error
+     * @param integralGain output per unit of error per second
+     * @param derivativeGain output per unit of measured rate, in the direction that damps it
+     * @param limit the largest output magnitude
+     */
+    public PidController(
+        final float proportionalGain,
+        final float integralGain,
+        final float derivativeGain,
+        final float limit
+    ) {
+        this.proportionalGain = proportionalGain;
+        this.integralGain = integralGain;
+        this.derivativeGain = derivativeGain;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the output for one period.
+     *
+     * @param error the setpoint minus the measurement
+     * @param rate the rate of change of the measurement, per second
+     * @param dt the time since the last update in seconds
+     * @return the output, between minus and plus the limit
+     */
+    public final float update(final float error, final float rate, final float dt) {
+        final float proportional = proportionalGain * error;
+        final float derivative = -derivativeGain * rate;
+        final float candidate = clamp(integral + integralGain * error * dt);
+        final float unsaturated = proportional + candidate + derivative;
+        if (Math.abs(unsaturated) <= limit || Math.signum(unsaturated) != Math.signum(error)) {
+            integral = candidate;
+        }
+        return clamp(proportional + integral + derivative);
+    }
+
+    /**
+     * Forget the integral, for when the controller is engaged again.
+     */
+    public final void reset() {
+        integral = 0;
+    }
+
+    private float clamp(final float value) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+}
@@ -2,26 +2,42 @@ package com.easternedgerobotics.rov.control;
 
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.value.AftPowerValue;
+import com.easternedgerobotics.rov.value.CameraSpeedValueA;
+import com.easternedgerobotics.rov.value.CameraSpeedValueB;
 import com.easternedgerobotics.rov.value.ForePowerValue;
 import com.easternedgerobotics.rov.value.GlobalPowerValue;
 import com.easternedgerobotics.rov.value.HeavePowerValue;
+import com.easternedgerobotics.rov.value.LightASpeedValue;
+import com.easternedgerobotics.rov.value.LightBSpeedValue;
 import com.easternedgerobotics.rov.value.MotionValue;
 import com.easternedgerobotics.rov.value.PitchPowerValue;
-import com.easternedgerobotics.rov.value.PortAftSpeedValue;
-import com.easternedgerobotics.rov.value.PortForeSpeedValue;
 import com.easternedgerobotics.rov.value.RollPowerValue;
-import com.easternedgerobotics.rov.value.StarboardAftSpeedValue;
-import com.easternedgerobotics.rov.value.StarboardForeSpeedValue;
 import com.easternedgerobotics.rov.value.SurgePowerValue;
 import com.easternedgerobotics.rov.value.SwayPowerValue;
-import com.easternedgerobotics.rov.value.VertAftSpeedValue;
-import com.easternedgerobotics.rov.value.VertForeSpeedValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
+import com.easternedgerobotics.rov.value.ToolingASpeedValue;
+import com.easternedgerobotics.rov.value.ToolingBSpeedValue;
+import com.easternedgerobotics.rov.value.ToolingCSpeedValue;
 import com.easternedgerobotics.rov.value.YawPowerValue;
 
-import java.util.Arrays;
-import java.util.Collections;
-
 public class SixThrusterConfig {
+    /**
+     * The order of the thrusters in the allocator geometry.
+     */
+    private static final int PORT_AFT = 0;
+
+    private static final int STARBOARD_AFT = 1;
+
+    private static final int PORT_FORE = 2;
+
+    private static final int STARBOARD_FORE = 3;
+
+    private static final int VERT_AFT = 4;
+
+    private static final int VERT_FORE = 5;
+
+    private static final int THRUSTERS = 6;
+
     private MotionValue motion = new MotionValue();
 
     private GlobalPowerValue globalPower = new GlobalPowerValue(0);
@@ -42,10 +58,64 @@ public class SixThrusterConfig {
 
     private ForePowerValue forePower = new ForePowerValue(1);
 
+    private CameraSpeedValueA cameraA = new CameraSpeedValueA();
+
+    private CameraSpeedValueB cameraB = new CameraSpeedValueB();
+
+    private ToolingASpeedValue toolingA = new ToolingASpeedValue();
+
+    private ToolingBSpeedValue toolingB = new ToolingBSpeedValue();
+
+    private ToolingCSpeedValue toolingC = new ToolingCSpeedValue();
+
+    private LightASpeedValue lightA = new LightASpeedValue();
+
+    private LightBSpeedValue lightB = new LightBSpeedValue();
+
+    /**
+     * The sequence number of the last frame, so receivers can tell frames apart and spot gaps.
+     */
+    private long sequence;
+
     private EventPublisher eventPublisher;
 
+    private final ThrustAllocator allocator;
+
+    private final MotionAssist[] assists;
+
+    /**
+     * The motion requested this tick, reused every tick.
+     */
+    private final float[] requested = new float[ThrustAllocator.DEGREES_OF_FREEDOM];
+
+    /**
+     * The thruster outputs of this tick, reused every tick.
+     */
+    private final float[] outputs = new float[THRUSTERS];
+
     public SixThrusterConfig(final EventPublisher eventPublisher) {
+        this(eventPublisher, ThrustAllocator.sixThrusters());
+    }
+
+    /**
+     * Create a thruster config for six thrusters with the given layout.
+     *
+     * @param eventPublisher the event publisher to read inputs from and emit frames to
+     * @param allocator the allocator for the thrusters, ordered port aft, starboard aft, port fore, starboard fore,
+     *                  vertical aft, vertical fore
+     * @param assists the assists that adjust the requested motion each tick, in order
+     */
+    public SixThrusterConfig(
+        final EventPublisher eventPublisher,
+        final ThrustAllocator allocator,
+        final MotionAssist... assists
+    ) {
+        if (allocator.thrusters() != THRUSTERS) {
+            throw new IllegalArgumentException("Expected six thrusters but got " + allocator.thrusters());
+        }
         this.eventPublisher = eventPublisher;
+        this.allocator = allocator;
+        this.assists = assists.clone();
         eventPublisher.valuesOfType(MotionValue.class).subscribe(m -> motion = m);
         eventPublisher.valuesOfType(GlobalPowerValue.class).subscribe(m -> globalPower = m);
         eventPublisher.valuesOfType(HeavePowerValue.class).subscribe(m -> heavePower = m);
@@ -56,114 +126,76 @@ public class SixThrusterConfig {
         eventPublisher.valuesOfType(RollPowerValue.class).subscribe(m -> rollPower = m);
         eventPublisher.valuesOfType(AftPowerValue.class).subscribe(m -> aftPower = m);
         eventPublisher.valuesOfType(ForePowerValue.class).subscribe(m -> forePower = m);
+        eventPublisher.valuesOfType(CameraSpeedValueA.class).subscribe(m -> cameraA = m);
+        eventPublisher.valuesOfType(CameraSpeedValueB.class).subscribe(m -> cameraB = m);
+        eventPublisher.valuesOfType(ToolingASpeedValue.class).subscribe(m -> toolingA = m);
+        eventPublisher.valuesOfType(ToolingBSpeedValue.class).subscribe(m -> toolingB = m);
+        eventPublisher.valuesOfType(ToolingCSpeedValue.class).subscribe(m -> toolingC = m);
+        eventPublisher.valuesOfType(LightASpeedValue.class).subscribe(m -> lightA = m);
+        eventPublisher.valuesOfType(LightBSpeedValue.class).subscribe(m -> lightB = m);
     }
 
-    public final void update() {
-        float starboardFore = 0;
-        float portFore = 0;
-        float starboardAft = 0;
-        float portAft = 0;
-        float vertFore = 0;
-        float vertAft = 0;
-
-        final float surge = motion.getSurge() * surgePower.getSpeed() * globalPower.getSpeed();
-        final float yaw = motion.getYaw() * yawPower.getSpeed() * globalPower.getSpeed();
-        final float sway = motion.getSway() * swayPower.getSpeed() * globalPower.getSpeed();
-
-        final float heave = motion.getHeave() * heavePower.getSpeed();
-        final float pitch = motion.getPitch() * pitchPower.getSpeed();
-
-        /**
-         * Assumes inputs use standard 3D cartesian coordinates
-         *
-         *    y
-         *    ^
-         *    |
-         *    |
-         *    O - - > x
-         *  z
-         *
-         * Surge is positive forward
-         * Sway is positive right
-         * Heave is positive up
-         * Yaw is positive counterclockwise about z-axis (i.e. left turn)
-         * Roll is positive counterclockwise about y-axis (i.e. roll left)
-         **/
-
-        // Ratio of T200 (max forward thrust)/(max reverse thrust)
-        final float forwardThrustRatio = 1.182f;
-
-        if (!(surge == 0 && sway == 0 && yaw == 0)) {
-            starboardFore = -surge + sway - yaw;
-            portFore = -surge - sway + yaw;
-            starboardAft = surge + sway + yaw;
-            portAft = surge - sway - yaw;
-
-            final float maxThrustHorizontal = Collections.max(Arrays.asList(
-                Math.abs(starboardFore),
-                Math.abs(starboardAft),
-                Math.abs(portFore),
-                Math.abs(portAft)
-            ));
-
-            final float maxInputMagHorizontal = Collections.max(Arrays.asList(
-                Math.abs(surge),
-                Math.abs(sway),
-                Math.abs(yaw)
-            ));
-
-            final float horizontalScalar = maxInputMagHorizontal / maxThrustHorizontal;
-            starboardFore *= horizontalScalar;
-            starboardAft *= horizontalScalar;
-            portFore *= horizontalScalar;
-            portAft *= horizontalScalar;
-        }
-
-        if (!(heave == 0 && pitch == 0)) {
-            vertFore = heave + pitch;
-            vertAft = heave - pitch;
-
-            final float maxThrustVertical = Collections.max(Arrays.asList(
-                Math.abs(vertFore),
-                Math.abs(vertAft)
-            ));
-
-            final float maxInputMagVertical = Collections.max(Arrays.asList(
-                Math.abs(heave),
-                Math.abs(pitch))
-            );
-
-            final float verticalScalar = maxInputMagVertical / maxThrustVertical;
-            vertFore *= verticalScalar;
-            vertAft *= verticalScalar;
-        }
-
-        // Positive thrust reduction.
-        // Corrects for T200's higher forward efficiency
-        // If only one vert is spinning positive, divide that thruster output by the thrust ratio
-        if ((vertFore > 0 && vertAft < 0) || (vertFore < 0 && vertAft > 0)) {
-            if (vertFore > 0) {
-                vertFore = vertFore / forwardThrustRatio;
-            } else if (vertAft > 0) {
-                vertAft = vertAft / forwardThrustRatio;
-            }
+    /**
+     * Compute the outputs for this control tick and emit them as one frame.
+     *
+     * @return the frame to write to the thrusters, motors and lights
+     */
+    public final ThrusterFrameValue update() {
+        requested[ThrustAllocator.SURGE] = motion.getSurge() * surgePower.getSpeed() * globalPower.getSpeed();
+        requested[ThrustAllocator.YAW] = motion.getYaw() * yawPower.getSpeed() * globalPower.getSpeed();
+        requested[ThrustAllocator.SWAY] = motion.getSway() * swayPower.getSpeed() * globalPower.getSpeed();
+        requested[ThrustAllocator.HEAVE] = motion.getHeave() * heavePower.getSpeed();
+        requested[ThrustAllocator.PITCH] = motion.getPitch() * pitchPower.getSpeed();
+        for (final MotionAssist assist : assists) {
+            assist.assist(requested);
         }
+        allocator.allocate(requested, outputs);
+
+        final float portAft = outputs[PORT_AFT];
+        final float starboardAft = outputs[STARBOARD_AFT];
+        final float portFore = outputs[PORT_FORE];
+        final float starboardFore = outputs[STARBOARD_FORE];
+        final float vertAft = outputs[VERT_AFT];
+        final float vertFore = outputs[VERT_FORE];
+
+        return emit(new ThrusterFrameValue(
+            ++sequence,
+            absIfZero(portAft) * aftPower.getSpeed(),
+            absIfZero(starboardAft) * aftPower.getSpeed(),
+            absIfZero(portFore) * forePower.getSpeed(),
+            absIfZero(starboardFore) * forePower.getSpeed(),
+            absIfZero(vertAft),
+            absIfZero(vertFore),
+            cameraA.getSpeed(),
+            cameraB.getSpeed(),
+            toolingA.getSpeed(),
+            toolingB.getSpeed(),
+            toolingC.getSpeed(),
+            lightA.getSpeed(),
+            lightB.getSpeed()));
+    }
 
-        eventPublisher.emit(new PortAftSpeedValue(absIfZero(portAft) * aftPower.getSpeed()));
-        eventPublisher.emit(new StarboardAftSpeedValue(absIfZero(starboardAft) * aftPower.getSpeed()));
-        eventPublisher.emit(new PortForeSpeedValue(absIfZero(portFore) * forePower.getSpeed()));
-        eventPublisher.emit(new StarboardForeSpeedValue(absIfZero(starboardFore) * forePower.getSpeed()));
-        eventPublisher.emit(new VertAftSpeedValue(absIfZero(vertAft)));
-        eventPublisher.emit(new VertForeSpeedValue(absIfZero(vertFore)));
+    /**
+     * Emit a frame with the thrusters stopped. Motor and light speeds are carried over unchanged.
+     *
+     * @return the frame with zero thruster outputs
+     */
+    public final ThrusterFrameValue updateZero() {
+        return emit(new ThrusterFrameValue(
+            ++sequence,
+            0, 0, 0, 0, 0, 0,
+            cameraA.getSpeed(),
+            cameraB.getSpeed(),
+            toolingA.getSpeed(),
+            toolingB.getSpeed(),
+            toolingC.getSpeed(),
+            lightA.getSpeed(),
+            lightB.getSpeed()));
     }
 
-    public final void updateZero() {
-        eventPublisher.emit(new PortAftSpeedValue(0));
-        eventPublisher.emit(new StarboardAftSpeedValue(0));
-        eventPublisher.emit(new PortForeSpeedValue(0));
-        eventPublisher.emit(new StarboardForeSpeedValue(0));
-        eventPublisher.emit(new VertAftSpeedValue(0));
-        eventPublisher.emit(new VertForeSpeedValue(0));
+    private ThrusterFrameValue emit(final ThrusterFrameValue frame) {
+        eventPublisher.emit(frame);
+        return frame;
     }
 
     @SuppressWarnings({"checkstyle:magicnumber"})
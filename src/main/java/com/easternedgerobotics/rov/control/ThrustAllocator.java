@@ -0,0 +1,372 @@
+package com.easternedgerobotics.rov.control;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Turns a requested motion into thruster outputs using the pseudo-inverse of the thruster geometry.
+ * <p>
+ * Each thruster is described by six numbers: its position (x, y, z) and the direction (x, y, z) it pushes when
+ * given a positive output. Axes use standard 3D cartesian coordinates:
+ * <pre>
+ *    y
+ *    ^
+ *    |
+ *    |
+ *    O - - &gt; x
+ *  z
+ * </pre>
+ * Surge is positive forward (y), sway is positive right (x) and heave is positive up (z). Pitch, roll and yaw are
+ * positive counterclockwise about the x, y and z axes respectively.
+ * <p>
+ * Thrusters that share a degree of freedom form a group. The outputs of a group are scaled so that the largest
+ * output matches the largest request among the group's degrees of freedom. When the compensated thrusters of a group
+ * spin in opposite directions, the forward ones are slowed by {@link #T200_FORWARD_THRUST_RATIO}.
+ * <p>
+ * The pseudo-inverse and groups are computed once, so {@link #allocate(float[], float[])} allocates nothing.
+ */
+public final class ThrustAllocator {
+    public static final int SURGE = 0;
+
+    public static final int SWAY = 1;
+
+    public static final int HEAVE = 2;
+
+    public static final int PITCH = 3;
+
+    public static final int ROLL = 4;
+
+    public static final int YAW = 5;
+
+    public static final int DEGREES_OF_FREEDOM = 6;
+
+    /**
+     * Ratio of T200 (max forward thrust)/(max reverse thrust).
+     */
+    public static final float T200_FORWARD_THRUST_RATIO = 1.182f;
+
+    /**
+     * The number of geometry values per thruster: a position and a direction.
+     */
+    private static final int GEOMETRY_SIZE = 6;
+
+    /**
+     * Pseudo-inverse entries smaller than this are treated as zero, so rounding error does not couple groups.
+     */
+    private static final double EPSILON = 1e-9;
+
+    private static final int MAX_SWEEPS = 100;
+
+    /**
+     * The vectored six thruster layout, ordered port aft, starboard aft, port fore, starboard fore, vertical aft,
+     * vertical fore. Lever arms are normalized so surge, sway and yaw (and heave and pitch) weigh the same.
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    private static final float[] SIX_THRUSTER_GEOMETRY = {
+        -0.5f, -0.5f, 0, -1, 1, 0,
+        0.5f, -0.5f, 0, 1, 1, 0,
+        -0.5f, 0.5f, 0, -1, -1, 0,
+        0.5f, 0.5f, 0, 1, -1, 0,
+        0, -1, 0, 0, 0, 1,
+        0, 1, 0, 0, 0, 1,
+    };
+
+    /**
+     * Only the vertical thrusters of the six thruster layout are compensated for forward thrust.
+     */
+    private static final boolean[] SIX_THRUSTER_COMPENSATED = {false, false, false, false, true, true};
+
+    /**
+     * The pseudo-inverse of the geometry, one row per thruster.
+     */
+    private final float[][] allocation;
+
+    private final boolean[] compensated;
+
+    private final int[][] groupThrusters;
+
+    private final int[][] groupDegrees;
+
+    /**
+     * Create an allocator for the given thruster layout.
+     *
+     * @param geometry the position (x, y, z) then direction (x, y, z) of each thruster
+     * @param compensated whether each thruster is compensated for its stronger forward thrust
+     */
+    public ThrustAllocator(final float[] geometry, final boolean[] compensated) {
+        if (geometry.length != compensated.length * GEOMETRY_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "Expected %d geometry values for %d thrusters but got %d",
+                compensated.length * GEOMETRY_SIZE, compensated.length, geometry.length));
+        }
+        this.compensated = compensated.clone();
+        this.allocation = pseudoInverse(wrenchMatrix(geometry, compensated.length));
+
+        final int[] group = groups(allocation);
+        final int groups = Arrays.stream(group).max().orElse(-1) + 1;
+        this.groupThrusters = new int[groups][];
+        this.groupDegrees = new int[groups][];
+        for (int g = 0; g < groups; g++) {
+            final int current = g;
+            groupThrusters[g] = IntStream.range(0, group.length)
+                .filter(i -> group[i] == current).toArray();
+            groupDegrees[g] = IntStream.range(0, DEGREES_OF_FREEDOM)
+                .filter(j -> Arrays.stream(groupThrusters[current]).anyMatch(i -> allocation[i][j] != 0))
+                .toArray();
+        }
+    }
+
+    /**
+     * Returns an allocator for the vectored six thruster layout.
+     *
+     * @return the six thruster allocator
+     */
+    public static ThrustAllocator sixThrusters() {
+        return new ThrustAllocator(SIX_THRUSTER_GEOMETRY, SIX_THRUSTER_COMPENSATED);
+    }
+
+    /**
+     * Returns the number of thrusters outputs are allocated to.
+     *
+     * @return the thruster count
+     */
+    public final int thrusters() {
+        return allocation.length;
+    }
+
+    /**
+     * Compute the thruster outputs for the requested motion.
+     *
+     * @param motion the requested motion, indexed by {@link #SURGE}, {@link #SWAY}, etc.
+     * @param outputs receives the output of each thruster
+     */
+    public final void allocate(final float[] motion, final float[] outputs) {
+        for (int i = 0; i < allocation.length; i++) {
+            float output = 0;
+            for (int j = 0; j < DEGREES_OF_FREEDOM; j++) {
+                output += allocation[i][j] * motion[j];
+            }
+            outputs[i] = output;
+        }
+
+        for (int g = 0; g < groupThrusters.length; g++) {
+            final int[] thrusters = groupThrusters[g];
+            float maxInput = 0;
+            for (final int j : groupDegrees[g]) {
+                maxInput = Math.max(maxInput, Math.abs(motion[j]));
+            }
+            float maxOutput = 0;
+            for (final int i : thrusters) {
+                maxOutput = Math.max(maxOutput, Math.abs(outputs[i]));
+            }
+            if (maxInput == 0 || maxOutput == 0) {
+                continue;
+            }
+
+            final float scale = maxInput / maxOutput;
+            boolean forward = false;
+            boolean reverse = false;
+            for (final int i : thrusters) {
+                outputs[i] *= scale;
+                if (compensated[i]) {
+                    forward |= outputs[i] > 0;
+                    reverse |= outputs[i] < 0;
+                }
+            }
+            if (forward && reverse) {
+                for (final int i : thrusters) {
+                    if (compensated[i] && outputs[i] > 0) {
+                        outputs[i] /= T200_FORWARD_THRUST_RATIO;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the matrix mapping thruster outputs to forces and torques on the vehicle, one row per degree of freedom.
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    private static double[][] wrenchMatrix(final float[] geometry, final int thrusters) {
+        final double[][] wrench = new double[DEGREES_OF_FREEDOM][thrusters];
+        for (int i = 0; i < thrusters; i++) {
+            final int o = i * GEOMETRY_SIZE;
+            final double px = geometry[o];
+            final double py = geometry[o + 1];
+            final double pz = geometry[o + 2];
+            final double length = Math.sqrt(
+                geometry[o + 3] * geometry[o + 3]
+                    + geometry[o + 4] * geometry[o + 4]
+                    + geometry[o + 5] * geometry[o + 5]);
+            if (length == 0) {
+                throw new IllegalArgumentException("Thruster " + i + " has no direction");
+            }
+            final double dx = geometry[o + 3] / length;
+            final double dy = geometry[o + 4] / length;
+            final double dz = geometry[o + 5] / length;
+            wrench[SURGE][i] = dy;
+            wrench[SWAY][i] = dx;
+            wrench[HEAVE][i] = dz;
+            wrench[PITCH][i] = py * dz - pz * dy;
+            wrench[ROLL][i] = pz * dx - px * dz;
+            wrench[YAW][i] = px * dy - py * dx;
+        }
+        return wrench;
+    }
+
+    /**
+     * Compute the Moore-Penrose pseudo-inverse of a matrix from the eigen decomposition of its Gram matrix, which
+     * copes with degrees of freedom no thruster can reach.
+     */
+    private static float[][] pseudoInverse(final double[][] matrix) {
+        final int rows = matrix.length;
+        final int columns = matrix[0].length;
+        final double[][] gram = new double[columns][columns];
+        for (int i = 0; i < columns; i++) {
+            for (int k = 0; k < columns; k++) {
+                for (int j = 0; j < rows; j++) {
+                    gram[i][k] += matrix[j][i] * matrix[j][k];
+                }
+            }
+        }
+
+        final double[][] vectors = eigenvectors(gram);
+        double maxEigenvalue = 0;
+        for (int k = 0; k < columns; k++) {
+            maxEigenvalue = Math.max(maxEigenvalue, Math.abs(gram[k][k]));
+        }
+
+        final double[][] gramInverse = new double[columns][columns];
+        for (int k = 0; k < columns; k++) {
+            final double eigenvalue = gram[k][k];
+            if (Math.abs(eigenvalue) <= EPSILON * maxEigenvalue) {
+                continue;
+            }
+            for (int i = 0; i < columns; i++) {
+                for (int l = 0; l < columns; l++) {
+                    gramInverse[i][l] += vectors[i][k] * vectors[l][k] / eigenvalue;
+                }
+            }
+        }
+
+        final float[][] inverse = new float[columns][rows];
+        for (int i = 0; i < columns; i++) {
+            for (int j = 0; j < rows; j++) {
+                double value = 0;
+                for (int l = 0; l < columns; l++) {
+                    value += gramInverse[i][l] * matrix[j][l];
+                }
+                if (Math.abs(value) > EPSILON) {
+                    inverse[i][j] = (float) value;
+                }
+            }
+        }
+        return inverse;
+    }
+
+    /**
+     * Diagonalize a symmetric matrix in place with cyclic Jacobi rotations, leaving the eigenvalues on its diagonal.
+     *
+     * @return the eigenvectors as columns
+     */
+    private static double[][] eigenvectors(final double[][] a) {
+        final int n = a.length;
+        final double[][] v = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            v[i][i] = 1;
+        }
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double off = 0;
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    off += a[p][q] * a[p][q];
+                }
+            }
+            if (off < EPSILON * EPSILON * EPSILON) {
+                break;
+            }
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (a[p][q] != 0) {
+                        rotate(a, v, p, q);
+                    }
+                }
+            }
+        }
+        return v;
+    }
+
+    private static void rotate(final double[][] a, final double[][] v, final int p, final int q) {
+        final double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+        double t = 1 / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+        if (theta < 0) {
+            t = -t;
+        }
+        final double c = 1 / Math.sqrt(t * t + 1);
+        final double s = t * c;
+        for (int k = 0; k < a.length; k++) {
+            final double kp = a[k][p];
+            final double kq = a[k][q];
+            a[k][p] = c * kp - s * kq;
+            a[k][q] = s * kp + c * kq;
+        }
+        for (int k = 0; k < a.length; k++) {
+            final double pk = a[p][k];
+            final double qk = a[q][k];
+            a[p][k] = c * pk - s * qk;
+            a[q][k] = s * pk + c * qk;
+        }
+        for (int k = 0; k < v.length; k++) {
+            final double kp = v[k][p];
+            final double kq = v[k][q];
+            v[k][p] = c * kp - s * kq;
+            v[k][q] = s * kp + c * kq;
+        }
+    }
+
+    /**
+     * Label each thruster with its group, joining thrusters that act on a common degree of freedom.
+     */
+    private static int[] groups(final float[][] allocation) {
+        final int[] group = new int[allocation.length];
+        Arrays.fill(group, -1);
+        int groups = 0;
+        for (int start = 0; start < allocation.length; start++) {
+            if (group[start] >= 0) {
+                continue;
+            }
+            group[start] = groups;
+            boolean grown = true;
+            while (grown) {
+                grown = false;
+                for (int i = 0; i < allocation.length; i++) {
+                    if (group[i] < 0 && sharesDegree(allocation, group, groups, i)) {
+                        group[i] = groups;
+                        grown = true;
+                    }
+                }
+            }
+            groups++;
+        }
+        return group;
+    }
+
+    private static boolean sharesDegree(
+        final float[][] allocation,
+        final int[] group,
+        final int current,
+        final int thruster
+    ) {
+        for (int i = 0; i < allocation.length; i++) {
+            if (group[i] != current) {
+                continue;
+            }
+            for (int j = 0; j < DEGREES_OF_FREEDOM; j++) {
+                if (allocation[i][j] != 0 && allocation[thruster][j] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,398 @@
+package com.easternedgerobotics.rov.event;
+
+import org.pmw.tinylog.Logger;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the value classes into a compact binary packet.
+ * <p>
+ * A packet starts with a marker byte followed by one frame per value. A frame is the 16 bit type ID of the value
+ * from the generated {@code ValueTypes} registry followed by its properties, little-endian, with no names or
+ * padding. Strings and lists are prefixed with their 16 bit length and nested values are written inline without a
+ * type ID. Only Kotlin data classes are supported, as their {@code componentN} methods give the order of the primary
+ * constructor parameters, which both ends agree on whatever order the JVM reports fields in. Other classes, and
+ * properties of any other type, are left to the broadcast's own serializer.
+ */
+public final class BinaryValueCodec implements ValueCodec {
+    /**
+     * The first byte of every packet.
+     */
+    private static final byte MAGIC = (byte) 0xEE;
+
+    /**
+     * The size of the first buffer tried when encoding a packet.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The length written in place of a null string.
+     */
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    /**
+     * The prefix of the methods Kotlin generates for each primary constructor property of a data class.
+     */
+    private static final String COMPONENT = "component";
+
+    /**
+     * The IDs of the registered classes.
+     */
+    private final Map<Class<?>, Integer> ids = new HashMap<>();
+
+    /**
+     * The layouts of the supported classes, or null for registered classes that cannot be encoded.
+     */
+    private final Map<Class<?>, Layout> layoutsByType = new HashMap<>();
+
+    /**
+     * The layouts of the supported classes by type ID.
+     */
+    private final Map<Integer, Layout> layoutsById = new HashMap<>();
+
+    /**
+     * Create a codec for every class in the generated value type registry.
+     */
+    public BinaryValueCodec() {
+        this(ValueTypes.CLASSES, ValueTypes.IDS);
+    }
+
+    /**
+     * Create a codec for the given classes.
+     *
+     * @param classes the classes to register
+     * @param typeIds the ID of each class
+     */
+    BinaryValueCodec(final Class<?>[] classes, final int[] typeIds) {
+        if (classes.length != typeIds.length) {
+            throw new IllegalArgumentException("Every registered value class needs exactly one type ID");
+        }
+        for (int i = 0; i < classes.length; i++) {
+            if (ids.containsValue(typeIds[i])) {
+                throw new IllegalArgumentException("Duplicate value type ID " + typeIds[i]);
+            }
+            ids.put(classes[i], typeIds[i]);
+        }
+        for (final Class<?> clazz : classes) {
+            final Layout layout = layoutOf(clazz);
+            if (layout != null) {
+                layoutsById.put(layout.id, layout);
+            }
+        }
+    }
+
+    /**
+     * Returns true if values of the given type can be encoded by this codec.
+     *
+     * @param clazz the value type
+     * @return whether the type is supported
+     */
+    @Override
+    public final boolean supports(final Class<?> clazz) {
+        return layoutsByType.get(clazz) != null;
+    }
+
+    /**
+     * Encodes the given values into a single packet.
+     *
+     * @param values the values to encode, each of a supported type
+     * @return the encoded packet
+     */
+    @Override
+    public final byte[] encode(final List<?> values) {
+        int capacity = INITIAL_CAPACITY;
+        while (true) {
+            final ByteBuffer buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                buffer.put(MAGIC);
+                for (final Object value : values) {
+                    final Layout layout = layoutsByType.get(value.getClass());
+                    if (layout == null) {
+                        throw new IllegalArgumentException("Cannot encode " + value.getClass().getName());
+                    }
+                    buffer.putShort((short) layout.id);
+                    layout.write(buffer, value);
+                }
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            } catch (final BufferOverflowException e) {
+                capacity *= 2;
+            }
+        }
+    }
+
+    /**
+     * Decodes the values in a packet produced by {@link #encode(List)}. A value that cannot be read, such as one
+     * truncated or written with another layout of its type, ends the packet and the values before it are returned.
+     *
+     * @param packet the encoded packet
+     * @return the decoded values, in the order they were encoded
+     */
+    @Override
+    public final List<Object> decode(final byte[] packet) {
+        final ByteBuffer buffer = ByteBuffer.wrap(packet).order(ByteOrder.LITTLE_ENDIAN);
+        if (!buffer.hasRemaining() || buffer.get() != MAGIC) {
+            Logger.warn("Ignoring packet without value codec marker");
+            return Collections.emptyList();
+        }
+
+        final List<Object> values = new ArrayList<>();
+        int id = -1;
+        try {
+            while (buffer.hasRemaining()) {
+                id = buffer.getShort() & NULL_LENGTH;
+                final Layout layout = layoutsById.get(id);
+                if (layout == null) {
+                    Logger.warn("Ignoring rest of packet after unknown value type ID {}", id);
+                    break;
+                }
+                values.add(layout.read(buffer));
+            }
+        } catch (final BufferUnderflowException e) {
+            Logger.warn("Ignoring truncated value in packet");
+        } catch (final RuntimeException e) {
+            Logger.warn("Ignoring rest of packet after value type ID {} could not be read: {}", id, e);
+        }
+        return values;
+    }
+
+    private Layout layoutOf(final Class<?> clazz) {
+        if (layoutsByType.containsKey(clazz)) {
+            return layoutsByType.get(clazz);
+        }
+        layoutsByType.put(clazz, null);
+
+        final List<Method> components = componentsOf(clazz);
+        if (components.isEmpty()) {
+            return null;
+        }
+
+        final Class<?>[] parameterTypes = components.stream().map(Method::getReturnType).toArray(Class<?>[]::new);
+        final Constructor<?> constructor;
+        try {
+            constructor = clazz.getConstructor(parameterTypes);
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+
+        final Writer[] writers = new Writer[components.size()];
+        final Reader[] readers = new Reader[components.size()];
+        for (int i = 0; i < components.size(); i++) {
+            if (!propertyCodec(components.get(i), writers, readers, i)) {
+                return null;
+            }
+        }
+
+        final Layout layout = new Layout(ids.get(clazz), constructor, writers, readers);
+        layoutsByType.put(clazz, layout);
+        return layout;
+    }
+
+    /**
+     * Returns the {@code componentN} methods of a data class in order, or an empty list for any other class.
+     */
+    private static List<Method> componentsOf(final Class<?> clazz) {
+        final List<Method> components = new ArrayList<>();
+        while (true) {
+            try {
+                components.add(clazz.getMethod(COMPONENT + (components.size() + 1)));
+            } catch (final NoSuchMethodException e) {
+                return components;
+            }
+        }
+    }
+
+    private boolean propertyCodec(
+        final Method property,
+        final Writer[] writers,
+        final Reader[] readers,
+        final int index
+    ) {
+        final Class<?> type = property.getReturnType();
+        if (type == float.class) {
+            writers[index] = (buffer, owner) -> buffer.putFloat((Float) property.invoke(owner));
+            readers[index] = ByteBuffer::getFloat;
+        } else if (type == double.class) {
+            writers[index] = (buffer, owner) -> buffer.putDouble((Double) property.invoke(owner));
+            readers[index] = ByteBuffer::getDouble;
+        } else if (type == int.class) {
+            writers[index] = (buffer, owner) -> buffer.putInt((Integer) property.invoke(owner));
+            readers[index] = ByteBuffer::getInt;
+        } else if (type == long.class) {
+            writers[index] = (buffer, owner) -> buffer.putLong((Long) property.invoke(owner));
+            readers[index] = ByteBuffer::getLong;
+        } else if (type == short.class) {
+            writers[index] = (buffer, owner) -> buffer.putShort((Short) property.invoke(owner));
+            readers[index] = ByteBuffer::getShort;
+        } else if (type == byte.class) {
+            writers[index] = (buffer, owner) -> buffer.put((Byte) property.invoke(owner));
+            readers[index] = ByteBuffer::get;
+        } else if (type == char.class) {
+            writers[index] = (buffer, owner) -> buffer.putChar((Character) property.invoke(owner));
+            readers[index] = ByteBuffer::getChar;
+        } else if (type == boolean.class) {
+            writers[index] = (buffer, owner) -> writeBoolean(buffer, (Boolean) property.invoke(owner));
+            readers[index] = buffer -> buffer.get() != 0;
+        } else {
+            final ObjectCodec codec = objectCodec(property.getGenericReturnType());
+            if (codec == null) {
+                return false;
+            }
+            writers[index] = (buffer, owner) -> codec.writer.write(buffer, property.invoke(owner));
+            readers[index] = codec.reader;
+        }
+        return true;
+    }
+
+    private ObjectCodec objectCodec(final Type type) {
+        if (type == String.class) {
+            return new ObjectCodec(BinaryValueCodec::writeString, BinaryValueCodec::readString);
+        }
+
+        if (type instanceof Class && ids.containsKey(type)) {
+            final Layout layout = layoutOf((Class<?>) type);
+            if (layout == null) {
+                return null;
+            }
+            return new ObjectCodec(layout::write, layout::read);
+        }
+
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == List.class) {
+            final ObjectCodec element = objectCodec(((ParameterizedType) type).getActualTypeArguments()[0]);
+            if (element == null) {
+                return null;
+            }
+            return new ObjectCodec(
+                (buffer, value) -> {
+                    final List<?> list = (List<?>) value;
+                    if (list.size() > NULL_LENGTH) {
+                        throw new IllegalArgumentException("List too long to encode: " + list.size() + " items");
+                    }
+                    buffer.putShort((short) list.size());
+                    for (final Object item : list) {
+                        element.writer.write(buffer, item);
+                    }
+                },
+                buffer -> {
+                    final int size = buffer.getShort() & NULL_LENGTH;
+                    final List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(element.reader.read(buffer));
+                    }
+                    return list;
+                });
+        }
+
+        return null;
+    }
+
+    private static void writeBoolean(final ByteBuffer buffer, final boolean value) {
+        if (value) {
+            buffer.put((byte) 1);
+        } else {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void writeString(final ByteBuffer buffer, final Object value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("String too long to encode: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static Object readString(final ByteBuffer buffer) {
+        final int length = buffer.getShort() & NULL_LENGTH;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final String value = new String(
+            buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private interface Writer {
+        void write(ByteBuffer buffer, Object owner) throws ReflectiveOperationException;
+    }
+
+    private interface Reader {
+        Object read(ByteBuffer buffer);
+    }
+
+    private interface ObjectWriter {
+        void write(ByteBuffer buffer, Object value) throws ReflectiveOperationException;
+    }
+
+    private static final class ObjectCodec {
+        private final ObjectWriter writer;
+
+        private final Reader reader;
+
+        ObjectCodec(final ObjectWriter writer, final Reader reader) {
+            this.writer = writer;
+            this.reader = reader;
+        }
+    }
+
+    private static final class Layout {
+        private final int id;
+
+        private final Constructor<?> constructor;
+
+        private final Writer[] writers;
+
+        private final Reader[] readers;
+
+        Layout(final int id, final Constructor<?> constructor, final Writer[] writers, final Reader[] readers) {
+            this.id = id;
+            this.constructor = constructor;
+            this.writers = writers;
+            this.readers = readers;
+        }
+
+        void write(final ByteBuffer buffer, final Object value) {
+            try {
+                for (final Writer writer : writers) {
+                    writer.write(buffer, value);
+                }
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Object read(final ByteBuffer buffer) {
+            final Object[] arguments = new Object[readers.length];
+            for (int i = 0; i < readers.length; i++) {
+                arguments[i] = readers[i].read(buffer);
+            }
+            try {
+                return constructor.newInstance(arguments);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.easternedgerobotics.rov.event;
 
+import com.easternedgerobotics.rov.value.EventBatchValue;
+
+import org.pmw.tinylog.Logger;
 import rx.Observable;
+import rx.Subscription;
 import rx.broadcast.Broadcast;
+import rx.schedulers.Schedulers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class BroadcastEventPublisher implements EventPublisher {
     /**
@@ -13,13 +24,108 @@ public final class BroadcastEventPublisher implements EventPublisher {
 
     private final CountDownLatch countDownLatch;
 
+    /**
+     * The codec for the values sent as encoded packets, or {@code null} if every value goes through the broadcast.
+     */
+    private final ValueCodec codec;
+
+    /**
+     * The queue of values waiting to be sent, or {@code null} if values are sent as they are emitted.
+     */
+    private final OutboundQueue outbound;
+
+    /**
+     * Routes received values to the subscribers of their type.
+     */
+    private final EventDispatcher dispatcher = new EventDispatcher();
+
+    /**
+     * Whether received values are being routed to the dispatcher.
+     */
+    private final AtomicBoolean receiving = new AtomicBoolean();
+
+    /**
+     * The subscription to the values received by the broadcast.
+     */
+    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+    /**
+     * Counts the conflated values replaced before being sent.
+     */
+    private final Conflation sendConflation = new Conflation();
+
+    /**
+     * Counts the conflated values replaced before being delivered to a subscriber.
+     */
+    private final Conflation receiveConflation = new Conflation();
+
     /**
      * Constructs a new {@code BroadcastEventPublisher} from the given {@link Broadcast} instance.
+     * Each call to {@link #emit(Object)} blocks until the value has been sent.
      * @param broadcast the broadcast to use for events
      */
     public BroadcastEventPublisher(final Broadcast broadcast) {
+        this(broadcast, null);
+    }
+
+    /**
+     * Constructs a new {@code BroadcastEventPublisher} from the given {@link Broadcast} instance which sends the
+     * values supported by the given codec as encoded packets instead of through the broadcast's serializer.
+     * Each call to {@link #emit(Object)} blocks until the value has been sent.
+     * @param broadcast the broadcast to use for events
+     * @param codec the codec for the values it supports, or {@code null} to send every value through the broadcast
+     */
+    public BroadcastEventPublisher(final Broadcast broadcast, final ValueCodec codec) {
         this.broadcast = broadcast;
+        this.codec = codec;
         this.countDownLatch = new CountDownLatch(1);
+        this.outbound = null;
+    }
+
+    /**
+     * Constructs a new {@code BroadcastEventPublisher} from the given {@link Broadcast} instance which sends
+     * values in the background. Calls to {@link #emit(Object)} only queue the value; values queued close together
+     * are packed into a single {@link EventBatchValue} so that one datagram carries many values.
+     * @param broadcast the broadcast to use for events
+     * @param capacity the number of values that can wait to be sent before the oldest is dropped
+     * @param batchSize the largest number of values sent in one datagram
+     * @param flushInterval the longest time a value waits for its batch to fill
+     * @param timeUnit the unit of the flush interval
+     */
+    public BroadcastEventPublisher(
+        final Broadcast broadcast,
+        final int capacity,
+        final int batchSize,
+        final long flushInterval,
+        final TimeUnit timeUnit
+    ) {
+        this(broadcast, null, capacity, batchSize, flushInterval, timeUnit);
+    }
+
+    /**
+     * Constructs a new {@code BroadcastEventPublisher} from the given {@link Broadcast} instance which sends
+     * values in the background. Values supported by the codec that are queued close together are encoded into a
+     * single packet; the rest are packed into a single {@link EventBatchValue}.
+     * @param broadcast the broadcast to use for events
+     * @param codec the codec for the values it supports, or {@code null} to send every value through the broadcast
+     * @param capacity the number of values that can wait to be sent before the oldest is dropped
+     * @param batchSize the largest number of values sent in one datagram
+     * @param flushInterval the longest time a value waits for its batch to fill
+     * @param timeUnit the unit of the flush interval
+     */
+    public BroadcastEventPublisher(
+        final Broadcast broadcast,
+        final ValueCodec codec,
+        final int capacity,
+        final int batchSize,
+        final long flushInterval,
+        final TimeUnit timeUnit
+    ) {
+        this.broadcast = broadcast;
+        this.codec = codec;
+        this.countDownLatch = new CountDownLatch(1);
+        this.outbound = new OutboundQueue(
+            capacity, batchSize, flushInterval, timeUnit, this::sendBatch, sendConflation, Schedulers.newThread());
     }
 
     /**
@@ -29,26 +135,56 @@ public final class BroadcastEventPublisher implements EventPublisher {
      */
     @Override
     public final void emit(final Object value) {
-        broadcast.send(value).toBlocking().subscribe();
+        if (outbound == null) {
+            sendBatch(Collections.singletonList(value));
+        } else {
+            outbound.offer(value);
+        }
     }
 
     /**
-     * Returns an {@link Observable} of the values of the given type.
+     * Sends any queued values without waiting for their batch to fill.
+     */
+    @Override
+    public final void flush() {
+        if (outbound != null) {
+            outbound.flush();
+        }
+    }
+
+    /**
+     * Returns an {@link Observable} of the values of the given type. Received values are routed by type through
+     * a single subscription to the broadcast, which is made the first time this is called.
+     * <p>
+     * For {@link Conflation#isConflated conflated} types a subscriber that requests fewer values than are received,
+     * such as {@code observeOn(scheduler, 1)}, only gets the newest value instead of a backlog.
      *
      * @param clazz the class type to filter values by
      * @return an Observable that emits each value of the given type
      */
     @Override
-    @SuppressWarnings("unchecked")
     public final <T> Observable<T> valuesOfType(final Class<T> clazz) {
-        return broadcast.valuesOfType(clazz);
+        if (receiving.compareAndSet(false, true)) {
+            subscription.set(broadcast.valuesOfType(Object.class).subscribe(this::receive, Logger::error));
+        }
+        if (Conflation.isConflated(clazz)) {
+            return dispatcher.valuesOfType(clazz)
+                .lift(new LatestValueOperator<>(() -> receiveConflation.supersede(clazz)));
+        }
+        return dispatcher.valuesOfType(clazz);
     }
 
     /**
-     * Stops receiving and broadcasting events.
+     * Stops receiving and broadcasting events. Values still waiting to be sent are sent first.
      */
     @Override
     public final void stop() {
+        if (outbound != null) {
+            outbound.stop();
+        }
+        if (subscription.get() != null) {
+            subscription.get().unsubscribe();
+        }
         countDownLatch.countDown();
     }
 
@@ -59,4 +195,136 @@ public final class BroadcastEventPublisher implements EventPublisher {
     public final void await() throws InterruptedException {
         countDownLatch.await();
     }
+
+    /**
+     * Returns the number of values waiting to be sent.
+     *
+     * @return the outbound queue depth
+     */
+    public final int queueDepth() {
+        if (outbound == null) {
+            return 0;
+        }
+        return outbound.depth();
+    }
+
+    /**
+     * Returns the largest number of values that have waited to be sent at once.
+     *
+     * @return the highest outbound queue depth seen
+     */
+    public final int maxQueueDepth() {
+        if (outbound == null) {
+            return 0;
+        }
+        return outbound.maxDepth();
+    }
+
+    /**
+     * Returns the number of values dropped because the outbound queue was full.
+     *
+     * @return the drop count
+     */
+    public final long droppedCount() {
+        if (outbound == null) {
+            return 0;
+        }
+        return outbound.dropped();
+    }
+
+    /**
+     * Returns the number of datagrams sent from the outbound queue.
+     *
+     * @return the datagram count
+     */
+    public final long datagramCount() {
+        if (outbound == null) {
+            return 0;
+        }
+        return outbound.sentBatches();
+    }
+
+    /**
+     * Returns the number of values of the given type replaced by a newer value before being sent.
+     *
+     * @param clazz the value type
+     * @return the superseded count
+     */
+    public final long supersededBeforeSend(final Class<?> clazz) {
+        return sendConflation.superseded(clazz);
+    }
+
+    /**
+     * Returns the number of values of the given type replaced by a newer value before a subscriber was ready.
+     *
+     * @param clazz the value type
+     * @return the superseded count
+     */
+    public final long supersededBeforeDelivery(final Class<?> clazz) {
+        return receiveConflation.superseded(clazz);
+    }
+
+    /**
+     * Route a received value, or each value in a received batch or packet, to its subscribers. Every type is
+     * received through the one subscription, so a value that fails is logged and dropped rather than ending it.
+     */
+    private void receive(final Object value) {
+        if (value instanceof EventBatchValue) {
+            ((EventBatchValue) value).getValues().forEach(this::receive);
+            return;
+        }
+        try {
+            if (value instanceof byte[] && codec != null) {
+                codec.decode((byte[]) value).forEach(dispatcher::dispatch);
+            } else {
+                dispatcher.dispatch(value);
+            }
+        } catch (final RuntimeException e) {
+            Logger.warn("Dropping received {}: {}", value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Returns the values encoded by the codec, or null if any of them cannot be encoded, such as a string or list
+     * too long for its length prefix. The caller then sends them through the broadcast's serializer instead, so
+     * one such value does not cost the rest of its batch.
+     */
+    private byte[] encode(final List<Object> values) {
+        try {
+            return codec.encode(values);
+        } catch (final RuntimeException e) {
+            Logger.warn("Sending values without the codec as they could not be encoded: {}", e);
+            return null;
+        }
+    }
+
+    private void sendBatch(final List<Object> values) {
+        final List<Object> other = new ArrayList<>(values.size());
+        if (codec == null) {
+            other.addAll(values);
+        } else {
+            final List<Object> encoded = new ArrayList<>(values.size());
+            for (final Object value : values) {
+                if (codec.supports(value.getClass())) {
+                    encoded.add(value);
+                } else {
+                    other.add(value);
+                }
+            }
+            if (!encoded.isEmpty()) {
+                final byte[] packet = encode(encoded);
+                if (packet == null) {
+                    other.addAll(encoded);
+                } else {
+                    broadcast.send(packet).toBlocking().subscribe();
+                }
+            }
+        }
+
+        if (other.size() == 1) {
+            broadcast.send(other.get(0)).toBlocking().subscribe();
+        } else if (other.size() > 1) {
+            broadcast.send(new EventBatchValue(other)).toBlocking().subscribe();
+        }
+    }
 }
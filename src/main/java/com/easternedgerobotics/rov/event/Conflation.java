@@ -0,0 +1,70 @@
+package com.easternedgerobotics.rov.event;
+
+import com.easternedgerobotics.rov.value.Conflate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the values of {@link Conflate} types that were replaced by a newer value before they were sent or
+ * delivered.
+ */
+public final class Conflation {
+    /**
+     * Whether each class is annotated with {@link Conflate}.
+     */
+    private static final ClassValue<Boolean> CONFLATED = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return type.isAnnotationPresent(Conflate.class);
+        }
+    };
+
+    /**
+     * The number of superseded values of each type.
+     */
+    private final Map<Class<?>, AtomicLong> superseded = new ConcurrentHashMap<>();
+
+    /**
+     * Returns true if only the newest value of the given type needs to be kept.
+     *
+     * @param clazz the value type
+     * @return whether the type is annotated with {@link Conflate}
+     */
+    public static boolean isConflated(final Class<?> clazz) {
+        return CONFLATED.get(clazz);
+    }
+
+    /**
+     * Returns the number of values of the given type that were replaced before being sent or delivered.
+     *
+     * @param clazz the value type
+     * @return the superseded count
+     */
+    public long superseded(final Class<?> clazz) {
+        final AtomicLong count = superseded.get(clazz);
+        if (count == null) {
+            return 0;
+        }
+        return count.get();
+    }
+
+    /**
+     * Returns the number of values of any type that were replaced before being sent or delivered.
+     *
+     * @return the total superseded count
+     */
+    public long superseded() {
+        return superseded.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * Records that a value of the given type was replaced before being sent or delivered.
+     *
+     * @param clazz the value type
+     */
+    void supersede(final Class<?> clazz) {
+        superseded.computeIfAbsent(clazz, c -> new AtomicLong()).incrementAndGet();
+    }
+}
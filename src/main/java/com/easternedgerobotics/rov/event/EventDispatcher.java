@@ -0,0 +1,105 @@
+package com.easternedgerobotics.rov.event;
+
+import org.pmw.tinylog.Logger;
+import rx.Observable;
+import rx.subjects.PublishSubject;
+import rx.subjects.Subject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes each received value to the subscribers of its type.
+ * <p>
+ * Every requested type gets one subject. The first time a value of a given class is dispatched the subjects of
+ * that class and all of its superclasses and interfaces are looked up once and cached, so dispatching a value
+ * costs one map lookup plus one call per matching subject, no matter how many other types have subscribers.
+ */
+final class EventDispatcher {
+    /**
+     * The subject for each requested type.
+     */
+    private final Map<Class<?>, Subject<Object, Object>> subjects = new ConcurrentHashMap<>();
+
+    /**
+     * The subjects each dispatched class is routed to.
+     */
+    private final Map<Class<?>, List<Subject<Object, Object>>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns an {@link Observable} of the dispatched values of the given type.
+     *
+     * @param clazz the class type to filter values by
+     * @return an Observable that emits each dispatched value of the given type
+     */
+    <T> Observable<T> valuesOfType(final Class<T> clazz) {
+        Subject<Object, Object> subject = subjects.get(clazz);
+        if (subject == null) {
+            synchronized (this) {
+                subject = subjects.get(clazz);
+                if (subject == null) {
+                    subject = PublishSubject.create();
+                    subjects.put(clazz, subject);
+                    routes.clear();
+                }
+            }
+        }
+        return subject.cast(clazz);
+    }
+
+    /**
+     * Sends the value to the subscribers of its class, superclasses and interfaces.
+     * Values must be dispatched from one thread at a time.
+     *
+     * @param value the value to dispatch
+     */
+    void dispatch(final Object value) {
+        List<Subject<Object, Object>> targets = routes.get(value.getClass());
+        if (targets == null) {
+            targets = route(value.getClass());
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            try {
+                targets.get(i).onNext(value);
+            } catch (final RuntimeException e) {
+                Logger.error(e);
+            }
+        }
+    }
+
+    private synchronized List<Subject<Object, Object>> route(final Class<?> clazz) {
+        final List<Subject<Object, Object>> existing = routes.get(clazz);
+        if (existing != null) {
+            return existing;
+        }
+
+        final List<Subject<Object, Object>> targets = new ArrayList<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(clazz);
+        while (!pending.isEmpty()) {
+            final Class<?> type = pending.remove();
+            if (!visited.add(type)) {
+                continue;
+            }
+            final Subject<Object, Object> subject = subjects.get(type);
+            if (subject != null) {
+                targets.add(subject);
+            }
+            if (type.getSuperclass() != null) {
+                pending.add(type.getSuperclass());
+            }
+            Collections.addAll(pending, type.getInterfaces());
+        }
+
+        routes.put(clazz, targets);
+        return targets;
+    }
+}
@@ -10,6 +10,13 @@ public interface EventPublisher {
      */
     void emit(final Object value);
 
+    /**
+     * Sends any values that have been emitted but are still waiting to be broadcast.
+     */
+    default void flush() {
+        // ???
+    }
+
     /**
      * Returns an {@link rx.Observable} of the values of the given type.
      *
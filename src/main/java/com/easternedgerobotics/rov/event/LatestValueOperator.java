@@ -0,0 +1,136 @@
+package com.easternedgerobotics.rov.event;
+
+import rx.Observable;
+import rx.Subscriber;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds on to the newest value when the subscriber has not requested more, replacing any older value that was
+ * still waiting. A subscriber such as {@code observeOn(scheduler, 1)} therefore always gets the newest value and
+ * never a backlog.
+ *
+ * @param <T> the value type
+ */
+final class LatestValueOperator<T> implements Observable.Operator<T, T> {
+    /**
+     * Marks an empty slot, since values may not be null.
+     */
+    private static final Object EMPTY = new Object();
+
+    /**
+     * Called each time a waiting value is replaced.
+     */
+    private final Runnable onSupersede;
+
+    /**
+     * Create an operator that calls the given callback each time a waiting value is replaced.
+     *
+     * @param onSupersede the callback
+     */
+    LatestValueOperator(final Runnable onSupersede) {
+        this.onSupersede = onSupersede;
+    }
+
+    @Override
+    public Subscriber<? super T> call(final Subscriber<? super T> child) {
+        final LatestSubscriber<T> parent = new LatestSubscriber<>(child, onSupersede);
+        child.add(parent);
+        child.setProducer(parent::requestMore);
+        return parent;
+    }
+
+    private static final class LatestSubscriber<T> extends Subscriber<T> {
+        private final Subscriber<? super T> child;
+
+        private final Runnable onSupersede;
+
+        private final AtomicReference<Object> latest = new AtomicReference<>(EMPTY);
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean done;
+
+        private volatile Throwable error;
+
+        private boolean terminated;
+
+        LatestSubscriber(final Subscriber<? super T> child, final Runnable onSupersede) {
+            this.child = child;
+            this.onSupersede = onSupersede;
+        }
+
+        @Override
+        public void onStart() {
+            request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final T value) {
+            if (latest.getAndSet(value) != EMPTY) {
+                onSupersede.run();
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(final Throwable e) {
+            error = e;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onCompleted() {
+            done = true;
+            drain();
+        }
+
+        private void requestMore(final long n) {
+            if (n <= 0) {
+                return;
+            }
+            requested.getAndUpdate(current -> {
+                final long sum = current + n;
+                if (sum < 0) {
+                    return Long.MAX_VALUE;
+                }
+                return sum;
+            });
+            drain();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (requested.get() > 0 && !child.isUnsubscribed()) {
+                    final Object value = latest.getAndSet(EMPTY);
+                    if (value == EMPTY) {
+                        break;
+                    }
+                    if (requested.get() != Long.MAX_VALUE) {
+                        requested.decrementAndGet();
+                    }
+                    child.onNext((T) value);
+                }
+                if (done && !terminated && latest.get() == EMPTY) {
+                    terminated = true;
+                    if (error == null) {
+                        child.onCompleted();
+                    } else {
+                        child.onError(error);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
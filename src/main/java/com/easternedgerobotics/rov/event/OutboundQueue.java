@@ -0,0 +1,281 @@
+package com.easternedgerobotics.rov.event;
+
+import org.pmw.tinylog.Logger;
+import rx.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A bounded queue of values waiting to be broadcast, drained by a single sender.
+ * <p>
+ * The sender packs pending values into batches. A batch is handed off when it reaches the batch size, when the
+ * oldest value in it has waited for the flush interval, or when {@link #flush()} is called. When the queue is full
+ * the oldest pending value is dropped so that the newest values always get through.
+ * <p>
+ * Values of {@link Conflation#isConflated conflated} types take a single place in the queue per type: a newer value
+ * replaces the one still waiting and keeps its place.
+ */
+final class OutboundQueue {
+    /**
+     * Marker placed in the queue to request that the current batch be sent right away.
+     */
+    private static final Object FLUSH = new Object();
+
+    /**
+     * The values waiting to be sent.
+     */
+    private final BlockingQueue<Object> queue;
+
+    /**
+     * The largest number of values handed to the sender at once.
+     */
+    private final int batchSize;
+
+    /**
+     * The longest time a value waits for its batch to fill, in nanoseconds.
+     */
+    private final long flushInterval;
+
+    /**
+     * Sends a batch of values.
+     */
+    private final Consumer<List<Object>> sender;
+
+    /**
+     * The worker running the drain loop.
+     */
+    private final Scheduler.Worker worker;
+
+    /**
+     * The newest waiting value of each conflated type.
+     */
+    private final Map<Class<?>, Object> latest = new ConcurrentHashMap<>();
+
+    /**
+     * The queue entry standing in for the waiting value of each conflated type.
+     */
+    private final Map<Class<?>, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the conflated values replaced before being sent.
+     */
+    private final Conflation conflation;
+
+    /**
+     * Counted down when the drain loop has sent its last batch and returned.
+     */
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    /**
+     * Set by {@link #stop()}; the drain loop sends what is left in the queue and returns.
+     */
+    private volatile boolean stopping;
+
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong sentValues = new AtomicLong();
+
+    private final AtomicLong sentBatches = new AtomicLong();
+
+    /**
+     * Create an outbound queue and start draining it.
+     *
+     * @param capacity the number of values that can wait to be sent
+     * @param batchSize the largest number of values sent together
+     * @param flushInterval the longest time a value waits for its batch to fill
+     * @param timeUnit the unit of the flush interval
+     * @param sender sends a batch of values
+     * @param conflation counts the conflated values replaced before being sent
+     * @param scheduler the scheduler to run the sender on
+     */
+    OutboundQueue(
+        final int capacity,
+        final int batchSize,
+        final long flushInterval,
+        final TimeUnit timeUnit,
+        final Consumer<List<Object>> sender,
+        final Conflation conflation,
+        final Scheduler scheduler
+    ) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity and batch size must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = timeUnit.toNanos(flushInterval);
+        this.sender = sender;
+        this.conflation = conflation;
+        this.worker = scheduler.createWorker();
+        worker.schedule(this::drain);
+    }
+
+    /**
+     * Queue a value to be sent, dropping the oldest pending value if the queue is full.
+     *
+     * @param value the value to send
+     */
+    void offer(final Object value) {
+        if (stopping) {
+            return;
+        }
+        final Class<?> clazz = value.getClass();
+        if (!Conflation.isConflated(clazz)) {
+            enqueue(value);
+        } else if (latest.put(clazz, value) == null) {
+            enqueue(slots.computeIfAbsent(clazz, Slot::new));
+        } else {
+            conflation.supersede(clazz);
+        }
+    }
+
+    /**
+     * Ask the sender to send the values queued so far without waiting for the batch to fill.
+     * If the queue is full the sender is already busy and the request is dropped.
+     */
+    void flush() {
+        queue.offer(FLUSH);
+    }
+
+    /**
+     * Stop the sender once it has sent everything queued so far, and wait for it. Values offered after this are
+     * ignored.
+     */
+    void stop() {
+        stopping = true;
+        flush();
+        try {
+            drained.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker.unsubscribe();
+        Logger.info(
+            "Outbound queue sent {} values in {} batches, dropped {}, superseded {}, max depth {}",
+            sentValues.get(), sentBatches.get(), dropped.get(), conflation.superseded(), maxDepth.get());
+    }
+
+    /**
+     * Returns the number of values currently waiting to be sent.
+     *
+     * @return the queue depth
+     */
+    int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the largest number of values that have waited to be sent at once.
+     *
+     * @return the highest queue depth seen
+     */
+    int maxDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * Returns the number of values dropped because the queue was full.
+     *
+     * @return the drop count
+     */
+    long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of values handed to the sender.
+     *
+     * @return the sent value count
+     */
+    long sentValues() {
+        return sentValues.get();
+    }
+
+    /**
+     * Returns the number of batches handed to the sender.
+     *
+     * @return the sent batch count
+     */
+    long sentBatches() {
+        return sentBatches.get();
+    }
+
+    private void drain() {
+        final List<Object> batch = new ArrayList<>(batchSize);
+        try {
+            // The queue can only be emptied here, so once it is empty after stop() nothing is left to send
+            while (!stopping || !queue.isEmpty()) {
+                Object next = queue.take();
+                final long deadline = System.nanoTime() + flushInterval;
+                while (next != null && next != FLUSH) {
+                    batch.add(next);
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+                // Slots are resolved only now so newer values can still replace them while the batch fills.
+                batch.replaceAll(this::resolve);
+                batch.removeIf(value -> value == null);
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+                batch.clear();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            drained.countDown();
+        }
+    }
+
+    private void enqueue(final Object entry) {
+        while (!queue.offer(entry)) {
+            final Object head = queue.poll();
+            if (head instanceof Slot) {
+                latest.remove(((Slot) head).type);
+                dropped.incrementAndGet();
+            } else if (head != null && head != FLUSH) {
+                dropped.incrementAndGet();
+            }
+        }
+        final int depth = queue.size();
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    private Object resolve(final Object entry) {
+        if (entry instanceof Slot) {
+            return latest.remove(((Slot) entry).type);
+        }
+        return entry;
+    }
+
+    private void send(final List<Object> batch) {
+        try {
+            sender.accept(batch);
+            sentValues.addAndGet(batch.size());
+            sentBatches.incrementAndGet();
+        } catch (final RuntimeException e) {
+            Logger.warn(e);
+        }
+    }
+
+    private static final class Slot {
+        private final Class<?> type;
+
+        Slot(final Class<?> type) {
+            this.type = type;
+        }
+    }
+}
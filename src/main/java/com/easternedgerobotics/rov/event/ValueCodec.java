@@ -0,0 +1,29 @@
+package com.easternedgerobotics.rov.event;
+
+import java.util.List;
+
+public interface ValueCodec {
+    /**
+     * Returns true if values of the given type can be encoded by this codec.
+     *
+     * @param clazz the value type
+     * @return whether the type is supported
+     */
+    boolean supports(final Class<?> clazz);
+
+    /**
+     * Encodes the given values into a single packet.
+     *
+     * @param values the values to encode, each of a supported type
+     * @return the encoded packet
+     */
+    byte[] encode(final List<?> values);
+
+    /**
+     * Decodes the values in a packet produced by {@link #encode(List)}.
+     *
+     * @param packet the encoded packet
+     * @return the decoded values, in the order they were encoded
+     */
+    List<Object> decode(final byte[] packet);
+}
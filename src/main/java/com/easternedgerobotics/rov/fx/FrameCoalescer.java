@@ -0,0 +1,101 @@
+package com.easternedgerobotics.rov.fx;
+
+import rx.Scheduler;
+import rx.Subscription;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects text updates from any thread and applies them on the JavaFX thread at most once per display frame.
+ * <p>
+ * Updates for the same target within a frame replace each other, so only the latest text is applied, and every
+ * pending update is applied by a single task on the JavaFX thread rather than one task per update.
+ *
+ * @param <K> the type of the targets, such as labels
+ */
+final class FrameCoalescer<K> implements Subscription {
+    /**
+     * The display frame period, for a 60 Hz display.
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    static final long FRAME_PERIOD = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    private final Map<K, String> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Scheduler.Worker timer;
+
+    private final Executor fx;
+
+    private final BiConsumer<K, String> apply;
+
+    /**
+     * The scheduler time in nanoseconds at which the last frame was handed to the JavaFX thread.
+     */
+    private volatile long lastFrame = Long.MIN_VALUE / 2;
+
+    /**
+     * Create a coalescer that applies updates once per frame.
+     *
+     * @param scheduler the scheduler timing the frames
+     * @param fx the executor running on the JavaFX thread, usually {@code Platform::runLater}
+     * @param apply sets the text of a target
+     */
+    FrameCoalescer(final Scheduler scheduler, final Executor fx, final BiConsumer<K, String> apply) {
+        this.timer = scheduler.createWorker();
+        this.fx = fx;
+        this.apply = apply;
+    }
+
+    /**
+     * Set the text of the given target on the next frame.
+     *
+     * @param target the target
+     * @param text the text
+     */
+    final void set(final K target, final String text) {
+        pending.put(target, text);
+        if (scheduled.compareAndSet(false, true)) {
+            final long now = TimeUnit.MILLISECONDS.toNanos(timer.now());
+            final long delay = Math.max(0, lastFrame + FRAME_PERIOD - now);
+            timer.schedule(this::post, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public final void unsubscribe() {
+        timer.unsubscribe();
+    }
+
+    @Override
+    public final boolean isUnsubscribed() {
+        return timer.isUnsubscribed();
+    }
+
+    private void post() {
+        lastFrame = TimeUnit.MILLISECONDS.toNanos(timer.now());
+        fx.execute(this::flush);
+    }
+
+    /**
+     * Apply every pending update. Runs on the JavaFX thread. Updates arriving while this runs schedule the next frame.
+     */
+    private void flush() {
+        scheduled.set(false);
+        final Iterator<K> targets = pending.keySet().iterator();
+        while (targets.hasNext()) {
+            final K target = targets.next();
+            final String text = pending.remove(target);
+            if (text != null) {
+                apply.accept(target, text);
+            }
+        }
+    }
+}
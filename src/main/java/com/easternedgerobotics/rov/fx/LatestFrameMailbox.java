@@ -0,0 +1,74 @@
+package com.easternedgerobotics.rov.fx;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Hands the newest frame from a producer thread to the JavaFX thread through a single slot.
+ * <p>
+ * The producer never waits: a frame replaces any frame still in the slot, and the replaced frame is counted as
+ * dropped and passed to the discard callback so it can be reused. The JavaFX thread takes whatever is in the slot on
+ * each pulse, so the display is never more than one frame behind and at most one frame is held.
+ *
+ * @param <T> the type of the frames
+ */
+final class LatestFrameMailbox<T> {
+    private final AtomicReference<T> slot = new AtomicReference<>();
+
+    private final AtomicLong received = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Consumer<T> discard;
+
+    /**
+     * Create an empty mailbox.
+     *
+     * @param discard called with each frame that is replaced before it is taken
+     */
+    LatestFrameMailbox(final Consumer<T> discard) {
+        this.discard = discard;
+    }
+
+    /**
+     * Put a frame in the slot, dropping the one already there.
+     *
+     * @param frame the newest frame
+     */
+    final void offer(final T frame) {
+        received.incrementAndGet();
+        final T stale = slot.getAndSet(frame);
+        if (stale != null) {
+            dropped.incrementAndGet();
+            discard.accept(stale);
+        }
+    }
+
+    /**
+     * Take the frame from the slot.
+     *
+     * @return the newest frame, or null if there has been none since the last call
+     */
+    final T poll() {
+        return slot.getAndSet(null);
+    }
+
+    /**
+     * Returns the number of frames offered.
+     *
+     * @return the received frame count
+     */
+    final long received() {
+        return received.get();
+    }
+
+    /**
+     * Returns the number of frames replaced before they were taken.
+     *
+     * @return the dropped frame count
+     */
+    final long dropped() {
+        return dropped.get();
+    }
+}
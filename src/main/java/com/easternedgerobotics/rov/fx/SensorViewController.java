@@ -1,6 +1,9 @@
 package com.easternedgerobotics.rov.fx;
 
+import com.easternedgerobotics.rov.config.Configurable;
 import com.easternedgerobotics.rov.event.Event;
+import com.easternedgerobotics.rov.math.AverageTransformer;
+import com.easternedgerobotics.rov.math.MedianTransformer;
 import com.easternedgerobotics.rov.value.CpuValue;
 import com.easternedgerobotics.rov.value.ExternalPressureValue;
 import com.easternedgerobotics.rov.value.ExternalTemperatureValue;
@@ -10,7 +13,10 @@ import com.easternedgerobotics.rov.value.PicameraACpuValue;
 import com.easternedgerobotics.rov.value.PicameraBCpuValue;
 import com.easternedgerobotics.rov.value.RasprimeCpuValue;
 
+import javafx.application.Platform;
+import javafx.scene.control.Labeled;
 import rx.Observable;
+import rx.schedulers.Schedulers;
 import rx.subscriptions.CompositeSubscription;
 
 import javax.inject.Inject;
@@ -23,14 +29,6 @@ public class SensorViewController implements ViewController {
 
     private static final float BUS_LINE_05 =  5;
 
-    private static final int TEMPERATURE_MEDIAN_SAMPLE_SIZE = 25;
-
-    private static final int TEMPERATURE_AVERAGE_SAMPLE_SIZE = 64;
-
-    private static final int SENSOR_MEDIAN_SAMPLE_SIZE = 12;
-
-    private static final int SENSOR_AVERAGE_SAMPLE_SIZE = 32;
-
     /**
      * The sensor view.
      */
@@ -59,6 +57,19 @@ public class SensorViewController implements ViewController {
 
     private final Observable<InternalTemperatureValue> internalTemperature;
 
+    private final int temperatureMedianSampleSize;
+
+    private final int temperatureAverageSampleSize;
+
+    private final int sensorMedianSampleSize;
+
+    private final int sensorAverageSampleSize;
+
+    /**
+     * Applies the label updates on the JavaFX thread, once per frame.
+     */
+    private final FrameCoalescer<Labeled> labels;
+
     private final CompositeSubscription subscriptions;
 
     @Inject
@@ -73,7 +84,11 @@ public class SensorViewController implements ViewController {
         @Event final Observable<ExternalPressureValue> externalPressure,
         @Event final Observable<ExternalTemperatureValue> externalTemperature,
         @Event final Observable<InternalPressureValue> internalPressure,
-        @Event final Observable<InternalTemperatureValue> internalTemperature
+        @Event final Observable<InternalTemperatureValue> internalTemperature,
+        @Configurable("topsides.temperatureMedianSampleSize") final int temperatureMedianSampleSize,
+        @Configurable("topsides.temperatureAverageSampleSize") final int temperatureAverageSampleSize,
+        @Configurable("topsides.sensorMedianSampleSize") final int sensorMedianSampleSize,
+        @Configurable("topsides.sensorAverageSampleSize") final int sensorAverageSampleSize
     ) {
         this.view = view;
         this.rasprimeCpuInformationView = rasprimeCpuInformationView;
@@ -82,12 +97,17 @@ public class SensorViewController implements ViewController {
         this.rasprimeCpuValues = rasprimeCpuValues;
         this.picameraACpuValues = picameraACpuValues;
         this.picameraBCpuValues = picameraBCpuValues;
-        this.subscriptions = new CompositeSubscription();
+        this.labels = new FrameCoalescer<>(Schedulers.computation(), Platform::runLater, Labeled::setText);
+        this.subscriptions = new CompositeSubscription(labels);
 
         this.externalPressure = externalPressure;
         this.externalTemperature = externalTemperature;
         this.internalPressure = internalPressure;
         this.internalTemperature = internalTemperature;
+        this.temperatureMedianSampleSize = temperatureMedianSampleSize;
+        this.temperatureAverageSampleSize = temperatureAverageSampleSize;
+        this.sensorMedianSampleSize = sensorMedianSampleSize;
+        this.sensorAverageSampleSize = sensorAverageSampleSize;
     }
 
     @Override
@@ -97,21 +117,23 @@ public class SensorViewController implements ViewController {
             picameraACpuInformationView.getParent(),
             picameraBCpuInformationView.getParent());
 
-        subscriptions.add(rasprimeCpuValues.observeOn(JAVA_FX_SCHEDULER)
-            .subscribe(v -> updateCpuValueLabels(rasprimeCpuInformationView, v)));
-        subscriptions.add(picameraACpuValues.observeOn(JAVA_FX_SCHEDULER)
-            .subscribe(v -> updateCpuValueLabels(picameraACpuInformationView, v)));
-        subscriptions.add(picameraBCpuValues.observeOn(JAVA_FX_SCHEDULER)
-            .subscribe(v -> updateCpuValueLabels(picameraBCpuInformationView, v)));
-
         rasprimeCpuInformationView.name.setText("RasPrime");
         picameraACpuInformationView.name.setText("PiCameraA");
         picameraBCpuInformationView.name.setText("PiCameraB");
 
-        subscriptions.add(externalPressure.observeOn(JAVA_FX_SCHEDULER).subscribe(this::updatePressureLabel));
-        subscriptions.add(externalTemperature.observeOn(JAVA_FX_SCHEDULER).subscribe(this::updateTemperatureLabel));
-        subscriptions.add(internalPressure.observeOn(JAVA_FX_SCHEDULER).subscribe(this::updatePressureLabel));
-        subscriptions.add(internalTemperature.observeOn(JAVA_FX_SCHEDULER).subscribe(this::updateTemperatureLabel));
+        subscriptions.add(rasprimeCpuValues.subscribe(v -> updateCpuValueLabels(rasprimeCpuInformationView, v)));
+        subscriptions.add(picameraACpuValues.subscribe(v -> updateCpuValueLabels(picameraACpuInformationView, v)));
+        subscriptions.add(picameraBCpuValues.subscribe(v -> updateCpuValueLabels(picameraBCpuInformationView, v)));
+
+        // The filters and formatting run on the thread delivering the events; only setText runs on the FX thread
+        subscriptions.add(sensor(externalPressure.map(ExternalPressureValue::getPressure))
+            .subscribe(text -> labels.set(view.externalPressureLabel, text)));
+        subscriptions.add(temperature(externalTemperature.map(ExternalTemperatureValue::getTemperature))
+            .subscribe(text -> labels.set(view.externalTemperatureLabel, text)));
+        subscriptions.add(sensor(internalPressure.map(InternalPressureValue::getPressure))
+            .subscribe(text -> labels.set(view.internalPressureLabel, text)));
+        subscriptions.add(temperature(internalTemperature.map(InternalTemperatureValue::getTemperature))
+            .subscribe(text -> labels.set(view.internalTemperatureLabel, text)));
     }
 
     @Override
@@ -119,26 +141,22 @@ public class SensorViewController implements ViewController {
         subscriptions.unsubscribe();
     }
 
-    private void updatePressureLabel(final ExternalPressureValue value) {
-        view.externalPressureLabel.setText(String.format(SensorView.PRESSURE_LABEL_FORMAT, value.getPressure()));
-    }
-
-    private void updateTemperatureLabel(final ExternalTemperatureValue externalTemperatureValue) {
-        view.externalTemperatureLabel.setText(
-            String.format(SensorView.TEMPERATURE_LABEL_FORMAT, externalTemperatureValue.getTemperature()));
-    }
-
-    private void updatePressureLabel(final InternalPressureValue value) {
-        view.internalPressureLabel.setText(String.format(SensorView.PRESSURE_LABEL_FORMAT, value.getPressure()));
+    private Observable<String> sensor(final Observable<Float> pressures) {
+        return pressures
+            .compose(new MedianTransformer<>(sensorMedianSampleSize))
+            .compose(new AverageTransformer<>(sensorAverageSampleSize))
+            .map(pressure -> String.format(SensorView.PRESSURE_LABEL_FORMAT, pressure));
     }
 
-    private void updateTemperatureLabel(final InternalTemperatureValue internalTemperatureValue) {
-        view.internalTemperatureLabel.setText(
-            String.format(SensorView.TEMPERATURE_LABEL_FORMAT, internalTemperatureValue.getTemperature()));
+    private Observable<String> temperature(final Observable<Float> temperatures) {
+        return temperatures
+            .compose(new MedianTransformer<>(temperatureMedianSampleSize))
+            .compose(new AverageTransformer<>(temperatureAverageSampleSize))
+            .map(temperature -> String.format(SensorView.TEMPERATURE_LABEL_FORMAT, temperature));
     }
 
     private void updateCpuValueLabels(final CpuInformationView cpuView, final CpuValue value) {
-        cpuView.temperatureLabel.setText(String.format("%.1f °C", value.getTemperature()));
-        cpuView.voltageLabel.setText(String.format("%.2f V", value.getVoltage()));
+        labels.set(cpuView.temperatureLabel, String.format("%.1f °C", value.getTemperature()));
+        labels.set(cpuView.voltageLabel, String.format("%.2f V", value.getVoltage()));
     }
 }
@@ -1,7 +1,12 @@
 package com.easternedgerobotics.rov.fx;
 
 import com.easternedgerobotics.rov.video.VideoDecoder;
+import com.easternedgerobotics.rov.video.VideoStats;
 
+import javafx.animation.AnimationTimer;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.pmw.tinylog.Logger;
 import rx.subscriptions.CompositeSubscription;
 
 import javax.inject.Inject;
@@ -13,6 +18,24 @@ public final class VideoViewController implements ViewController {
 
     private final VideoView view;
 
+    /**
+     * The newest decoded frame of each camera, waiting for the next pulse.
+     */
+    private final LatestFrameMailbox<Image> cameraAFrames;
+
+    private final LatestFrameMailbox<Image> cameraBFrames;
+
+    /**
+     * Shows the newest frames once per pulse of the JavaFX thread.
+     */
+    private final AnimationTimer display = new AnimationTimer() {
+        @Override
+        public void handle(final long now) {
+            show(view.cameraA, cameraAFrames.poll(), decoder.cameraAStats());
+            show(view.cameraB, cameraBFrames.poll(), decoder.cameraBStats());
+        }
+    };
+
     @Inject
     public VideoViewController(
         final VideoDecoder decoder,
@@ -20,17 +43,64 @@ public final class VideoViewController implements ViewController {
     ) {
         this.decoder = decoder;
         this.view = view;
+        this.cameraAFrames = new LatestFrameMailbox<>(image -> drop(image, decoder.cameraAStats()));
+        this.cameraBFrames = new LatestFrameMailbox<>(image -> drop(image, decoder.cameraBStats()));
     }
 
     @Override
     public void onCreate() {
         subscription.addAll(
-            decoder.cameraAImages().observeOn(JAVA_FX_SCHEDULER).subscribe(view.cameraA::setImage),
-            decoder.cameraBImages().observeOn(JAVA_FX_SCHEDULER).subscribe(view.cameraB::setImage));
+            decoder.cameraAImages().subscribe(cameraAFrames::offer),
+            decoder.cameraBImages().subscribe(cameraBFrames::offer));
+        display.start();
     }
 
     @Override
     public void onDestroy() {
+        display.stop();
         subscription.clear();
+        release(view.cameraA, cameraAFrames);
+        release(view.cameraB, cameraBFrames);
+        Logger.info("Camera A dropped {} of {} frames, camera B dropped {} of {} frames",
+            cameraAFrames.dropped(), cameraAFrames.received(), cameraBFrames.dropped(), cameraBFrames.received());
+    }
+
+    /**
+     * Display a camera image, handing the one it replaces back to the decoder for reuse.
+     */
+    private void show(final ImageView imageView, final Image image, final VideoStats stats) {
+        if (image == null) {
+            return;
+        }
+        stats.displayed();
+        final Image previous = imageView.getImage();
+        imageView.setImage(image);
+        if (previous != null && previous != image) {
+            decoder.release(previous);
+        }
+    }
+
+    /**
+     * Hand back the image on display and any frame still waiting, so closing the view does not keep them from the
+     * decoder.
+     */
+    private void release(final ImageView imageView, final LatestFrameMailbox<Image> frames) {
+        final Image waiting = frames.poll();
+        if (waiting != null) {
+            decoder.release(waiting);
+        }
+        final Image displayed = imageView.getImage();
+        imageView.setImage(null);
+        if (displayed != null) {
+            decoder.release(displayed);
+        }
+    }
+
+    /**
+     * Hand back a camera image that was replaced before it could be shown.
+     */
+    private void drop(final Image image, final VideoStats stats) {
+        stats.dropped();
+        decoder.release(image);
     }
 }
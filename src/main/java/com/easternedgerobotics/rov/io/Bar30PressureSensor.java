@@ -1,8 +1,9 @@
 package com.easternedgerobotics.rov.io;
 
-import com.easternedgerobotics.rov.io.devices.Barometer;
+import com.easternedgerobotics.rov.io.devices.CountingBarometer;
 import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.io.devices.Thermometer;
+import com.easternedgerobotics.rov.value.ExternalPressureStatsValue;
 import com.easternedgerobotics.rov.value.ExternalPressureValue;
 import com.easternedgerobotics.rov.value.ExternalTemperatureValue;
 import com.easternedgerobotics.rov.value.PressureValue;
@@ -12,17 +13,22 @@ import org.pmw.tinylog.Logger;
 import rx.Scheduler;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
+ * Reads an MS5837-30BA pressure sensor. Conversions run back to back on one scheduler worker: as soon as a result is
+ * read the next conversion is started, and the result is compensated while it runs. Temperature drifts slowly, so it
+ * is only converted once every few pressure conversions. Failed reads are retried after a delay that doubles with
+ * each consecutive failure.
+ * <p>
  * For information about the algorithms and constants chosen.
  * https://github.com/bluerobotics/BlueRobotics_MS5837_Library/blob/master/MS5837.cpp
  */
 @SuppressWarnings("checkstyle:MagicNumber")
-public final class Bar30PressureSensor implements Barometer, Thermometer {
+public final class Bar30PressureSensor implements CountingBarometer, Thermometer {
     public static final byte ADDRESS = 0x76;
 
     private static final byte RESET = 0x1E;
@@ -31,9 +37,70 @@ public final class Bar30PressureSensor implements Barometer, Thermometer {
 
     private static final byte PROM_READ = (byte) 0xA0;
 
-    private static final byte CONVERT_D1 = 0x4A;
+    private static final byte CONVERT_D1 = 0x40;
 
-    private static final byte CONVERT_D2 = 0x5A;
+    private static final byte CONVERT_D2 = 0x50;
+
+    /**
+     * The time to wait after a reset before reading the calibration PROM, in microseconds.
+     */
+    private static final long RESET_TIME = 10000;
+
+    /**
+     * The longest time to wait before retrying a failed read, in microseconds.
+     */
+    private static final long MAX_BACKOFF = TimeUnit.SECONDS.toMicros(1);
+
+    private static final float MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+
+    /**
+     * The oversampling ratios of the MS5837 and the longest time a conversion takes at each, in microseconds.
+     * Higher ratios have less noise but take longer.
+     */
+    public enum Oversampling {
+        OSR_256(256, 0, 560),
+        OSR_512(512, 2, 1100),
+        OSR_1024(1024, 4, 2170),
+        OSR_2048(2048, 6, 4320),
+        OSR_4096(4096, 8, 8610),
+        OSR_8192(8192, 10, 17200);
+
+        private final int ratio;
+
+        private final byte command;
+
+        private final long conversionTime;
+
+        Oversampling(final int ratio, final int command, final long conversionTime) {
+            this.ratio = ratio;
+            this.command = (byte) command;
+            this.conversionTime = conversionTime;
+        }
+
+        /**
+         * Returns the oversampling with the given ratio.
+         *
+         * @param ratio the oversampling ratio, a power of two from 256 to 8192
+         * @return the oversampling
+         */
+        public static Oversampling of(final int ratio) {
+            for (final Oversampling oversampling : values()) {
+                if (oversampling.ratio == ratio) {
+                    return oversampling;
+                }
+            }
+            throw new IllegalArgumentException(String.format("The MS5837 has no oversampling ratio %d", ratio));
+        }
+
+        /**
+         * Returns the longest time a conversion takes.
+         *
+         * @return the conversion time in microseconds
+         */
+        public long getConversionTime() {
+            return conversionTime;
+        }
+    }
 
     private final AtomicReference<PressureValue> pressure = new AtomicReference<>(new ExternalPressureValue());
 
@@ -41,16 +108,80 @@ public final class Bar30PressureSensor implements Barometer, Thermometer {
 
     private final AtomicBoolean firstReading = new AtomicBoolean(true);
 
+    /**
+     * The number of pressure readings accepted, counted after each one is set.
+     */
+    private final AtomicLong pressureReadings = new AtomicLong();
+
     private final I2C channel;
 
     private final Scheduler.Worker worker;
 
-    private final long conversionTime;
+    private final Oversampling oversampling;
+
+    private final int temperatureInterval;
+
+    /**
+     * The last raw temperature, used to compensate the following pressure conversions.
+     */
+    private int d2;
+
+    /**
+     * True while a temperature conversion is running, false while a pressure conversion is running.
+     */
+    private boolean convertingTemperature;
+
+    /**
+     * The number of pressure conversions since the last temperature conversion.
+     */
+    private int pressureConversions;
+
+    private int consecutiveErrors;
+
+    private long pressureSamples;
+
+    private long temperatureSamples;
 
-    public Bar30PressureSensor(final I2C channel, final Scheduler scheduler, final long conversionTime) {
+    private long errors;
+
+    /**
+     * When the statistics were last reported, in milliseconds.
+     */
+    private long windowStart;
+
+    /**
+     * Start reading the sensor, converting temperature once for every ten pressure conversions.
+     *
+     * @param channel the sensor I2C connection
+     * @param scheduler the scheduler to talk to the sensor on
+     * @param oversampling the oversampling ratio of both conversions
+     */
+    public Bar30PressureSensor(final I2C channel, final Scheduler scheduler, final Oversampling oversampling) {
+        this(channel, scheduler, oversampling, 10);
+    }
+
+    /**
+     * Start reading the sensor.
+     *
+     * @param channel the sensor I2C connection
+     * @param scheduler the scheduler to talk to the sensor on
+     * @param oversampling the oversampling ratio of both conversions
+     * @param temperatureInterval the number of pressure conversions for each temperature conversion
+     */
+    public Bar30PressureSensor(
+        final I2C channel,
+        final Scheduler scheduler,
+        final Oversampling oversampling,
+        final int temperatureInterval
+    ) {
+        if (temperatureInterval < 1) {
+            throw new IllegalArgumentException("The temperature interval must be at least one");
+        }
         this.channel = channel;
         this.worker = scheduler.createWorker();
-        this.conversionTime = conversionTime;
+        this.oversampling = oversampling;
+        this.temperatureInterval = temperatureInterval;
+        this.windowStart = worker.now();
         init();
     }
 
@@ -59,11 +190,33 @@ public final class Bar30PressureSensor implements Barometer, Thermometer {
         return pressure.get();
     }
 
+    @Override
+    public long pressureReadings() {
+        return pressureReadings.get();
+    }
+
     @Override
     public TemperatureValue temperature() {
         return temperature.get();
     }
 
+    /**
+     * Returns the rates the sensor was sampled at since the last report, and starts a new report.
+     *
+     * @return the sensor statistics
+     */
+    public synchronized ExternalPressureStatsValue stats() {
+        final long now = worker.now();
+        final float elapsed = Math.max(1, now - windowStart) / MILLIS_PER_SECOND;
+        final ExternalPressureStatsValue stats = new ExternalPressureStatsValue(
+            pressureSamples / elapsed, temperatureSamples / elapsed, errors);
+        pressureSamples = 0;
+        temperatureSamples = 0;
+        errors = 0;
+        windowStart = now;
+        return stats;
+    }
+
     private void init() {
         worker.schedule(() -> {
             channel.write(RESET);
@@ -71,23 +224,17 @@ public final class Bar30PressureSensor implements Barometer, Thermometer {
                 final long[] crc = new long[8];
                 for (byte i = 0; i < 7; i++) {
                     final byte[] c = channel.read((byte) (PROM_READ + i * 2), 2);
-                    final ByteBuffer byteBuffer = ByteBuffer.allocate(4);
-                    byteBuffer.put((byte) 0);
-                    byteBuffer.put((byte) 0);
-                    byteBuffer.put(c[0]);
-                    byteBuffer.put(c[1]);
-                    byteBuffer.flip();
-                    crc[i] = byteBuffer.asIntBuffer().get();
+                    crc[i] = ((c[0] & 0xFF) << 8) | (c[1] & 0xFF);
                 }
                 final long crcRead = crc[0] >> 12;
                 final long crcCalculated = crc4(crc);
 
                 if (crcCalculated == crcRead) {
-                    worker.schedule(() -> this.convert(crc));
+                    worker.schedule(() -> convert(crc, true));
                 } else {
                     Logger.error("Could not initialize the MS5837 pressure sensor");
                 }
-            }, conversionTime, TimeUnit.MILLISECONDS);
+            }, RESET_TIME, TimeUnit.MICROSECONDS);
         });
     }
 
@@ -114,43 +261,62 @@ public final class Bar30PressureSensor implements Barometer, Thermometer {
         return remainder;
     }
 
-    private void convert(final long[] crc) {
-        channel.write(CONVERT_D1);
-        worker.schedule(() -> {
-            final byte[] d1Bytes;
-            try {
-                d1Bytes = channel.readUnsafe(ADC_READ, 3);
-            } catch (final IOException e) {
-                worker.schedule(() -> convert(crc));
-                return;
+    /**
+     * Start a conversion and schedule reading its result.
+     */
+    private void convert(final long[] crc, final boolean temperatureNext) {
+        convertingTemperature = temperatureNext;
+        if (temperatureNext) {
+            channel.write((byte) (CONVERT_D2 | oversampling.command));
+        } else {
+            channel.write((byte) (CONVERT_D1 | oversampling.command));
+        }
+        worker.schedule(() -> read(crc), oversampling.conversionTime, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Read the result of the running conversion, start the next one, then compensate the result.
+     */
+    private void read(final long[] crc) {
+        final byte[] bytes;
+        try {
+            bytes = channel.readUnsafe(ADC_READ, 3);
+        } catch (final IOException e) {
+            retry(crc);
+            return;
+        }
+        consecutiveErrors = 0;
+        final int raw = ((bytes[0] & 0xFF) << 16) | ((bytes[1] & 0xFF) << 8) | (bytes[2] & 0xFF);
+
+        if (convertingTemperature) {
+            d2 = raw;
+            pressureConversions = 0;
+            convert(crc, false);
+            synchronized (this) {
+                temperatureSamples++;
             }
-            final ByteBuffer d1ByteBuffer = ByteBuffer.allocate(4);
-            d1ByteBuffer.put((byte) 0);
-            d1ByteBuffer.put(d1Bytes[0]);
-            d1ByteBuffer.put(d1Bytes[1]);
-            d1ByteBuffer.put(d1Bytes[2]);
-            d1ByteBuffer.flip();
-            final int d1 = d1ByteBuffer.asIntBuffer().get();
-            channel.write(CONVERT_D2);
-            worker.schedule(() -> {
-                final byte[] d2Bytes;
-                try {
-                    d2Bytes = channel.readUnsafe(ADC_READ, 3);
-                } catch (final IOException e) {
-                    worker.schedule(() -> convert(crc));
-                    return;
-                }
-                final ByteBuffer d2ByteBuffer = ByteBuffer.allocate(4);
-                d2ByteBuffer.put((byte) 0);
-                d2ByteBuffer.put(d2Bytes[0]);
-                d2ByteBuffer.put(d2Bytes[1]);
-                d2ByteBuffer.put(d2Bytes[2]);
-                d2ByteBuffer.flip();
-                final int d2 = d2ByteBuffer.asIntBuffer().get();
-                calculate(crc, d1, d2);
-                worker.schedule(() -> convert(crc));
-            }, conversionTime, TimeUnit.MILLISECONDS);
-        }, conversionTime, TimeUnit.MILLISECONDS);
+        } else {
+            pressureConversions++;
+            convert(crc, pressureConversions >= temperatureInterval);
+            calculate(crc, raw, d2);
+            synchronized (this) {
+                pressureSamples++;
+            }
+        }
+    }
+
+    /**
+     * Restart the conversion that failed after a delay that doubles with each consecutive failure. The delay starts
+     * at one conversion time so a busy bus has a chance to clear.
+     */
+    private void retry(final long[] crc) {
+        final long backoff = Math.min(MAX_BACKOFF, oversampling.conversionTime << Math.min(consecutiveErrors, 16));
+        consecutiveErrors++;
+        synchronized (this) {
+            errors++;
+        }
+        final boolean temperatureNext = convertingTemperature;
+        worker.schedule(() -> convert(crc, temperatureNext), backoff, TimeUnit.MICROSECONDS);
     }
 
     private void calculate(final long[] crc, final int d1, final int d2) {
@@ -190,6 +356,7 @@ public final class Bar30PressureSensor implements Barometer, Thermometer {
         ) {
             temperature.set(new ExternalTemperatureValue(tFinal));
             pressure.set(new ExternalPressureValue(pFinal));
+            pressureReadings.incrementAndGet();
         }
     }
 }
@@ -1,9 +1,8 @@
 package com.easternedgerobotics.rov.io;
 
 import com.easternedgerobotics.rov.io.devices.PWM;
-import com.easternedgerobotics.rov.value.SpeedValue;
-
-import rx.Observable;
+import com.easternedgerobotics.rov.math.OutputCurve;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 
 public class Light {
     /**
@@ -16,6 +15,11 @@ public class Light {
      */
     public static final float MAX_REV = 1000;
 
+    /**
+     * PWM signal values (in μs) rising linearly from max reverse to max forward.
+     */
+    public static final OutputCurve OUTPUT_CURVE = new OutputCurve(MAX_REV, MAX_FWD);
+
     /**
      * Flashing period for the lights.
      */
@@ -32,30 +36,33 @@ public class Light {
     private final PWM device;
 
     /**
-     * The latest value from the speed observable.
+     * The slot of the frame holding the speed for this light.
      */
-    private SpeedValue value;
+    private final ThrusterFrameSlot slot;
 
     /**
      * Create a Lighting device which uses a pololu channel for communication.
      * The Min and Max SpeedValue value for this device is 0 and 1 respectively.
      *
-     * @param values speed observable mapped to the pololu channel
+     * @param slot the slot of each frame holding the speed for this light
      * @param device PWM output to write speeds
      */
-    public Light(final Observable<SpeedValue> values, final PWM device) {
+    public Light(final ThrusterFrameSlot slot, final PWM device) {
         this.device = device;
-        values.subscribe(v -> value = v);
+        this.slot = slot;
     }
 
     /**
-     * Write the latest {@code SpeedValue} for this light.
+     * Write the speed for this light from the given frame.
+     *
+     * @param frame the frame computed for this control tick
      */
-    public final void write() {
-        if (value.getSpeed() < 0 || value.getSpeed() > 1) {
+    public final void write(final ThrusterFrameValue frame) {
+        final float speed = slot.speed(frame);
+        if (speed < 0 || speed > 1) {
             throw new IllegalArgumentException("Light channel values must be between 0 and 1");
         }
-        device.write(value.getSpeed());
+        device.write(speed);
     }
 
     /**
@@ -1,9 +1,8 @@
 package com.easternedgerobotics.rov.io;
 
 import com.easternedgerobotics.rov.io.devices.PWM;
-import com.easternedgerobotics.rov.value.SpeedValue;
-
-import rx.Observable;
+import com.easternedgerobotics.rov.math.OutputCurve;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 
 /**
  * See the <a href="http://www.dimensionengineering.com/datasheets/Sabertooth2X5RCQuickStart.pdf">Sabertooth 2x5 RC
@@ -20,32 +19,39 @@ public final class Motor {
      */
     public static final float MAX_REV = 500;
 
+    /**
+     * PWM signal values (in μs) rising linearly from max reverse to max forward.
+     */
+    public static final OutputCurve OUTPUT_CURVE = new OutputCurve(MAX_REV, MAX_FWD);
+
     /**
      * The output PWM device to write speeds using.
      */
     private final PWM device;
 
     /**
-     * The latest value from the speed observable.
+     * The slot of the frame holding the speed for this motor.
      */
-    private SpeedValue value;
+    private final ThrusterFrameSlot slot;
 
     /**
      * Create a Motor device which uses a pololu channel for communication.
      *
-     * @param values speed observable mapped to the pololu channel
+     * @param slot the slot of each frame holding the speed for this motor
      * @param device PWM output to write speeds
      */
-    public Motor(final Observable<SpeedValue> values, final PWM device) {
+    public Motor(final ThrusterFrameSlot slot, final PWM device) {
         this.device = device;
-        values.subscribe(v -> value = v);
+        this.slot = slot;
     }
 
     /**
-     * Write the latest {@code SpeedValue} for this motor to the device.
+     * Write the speed for this motor from the given frame to the device.
+     *
+     * @param frame the frame computed for this control tick
      */
-    public final void write() {
-        device.write(value.getSpeed());
+    public final void write(final ThrusterFrameValue frame) {
+        device.write(slot.speed(frame));
     }
 
     /**
@@ -0,0 +1,250 @@
+package com.easternedgerobotics.rov.io;
+
+import com.easternedgerobotics.rov.value.I2CBusStatsValue;
+import com.easternedgerobotics.rov.value.SensorPollStatsValue;
+
+import org.pmw.tinylog.Logger;
+import rx.Observable;
+import rx.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reads each sensor on a bus at its own rate from one scheduler worker. Rates are rounded to a whole number of
+ * ticks, and each sensor is given the phase that collides least with the sensors added before it, so reads are
+ * spread across ticks instead of arriving in bursts. A read that returns a list has each of its elements emitted.
+ */
+public final class SensorPollScheduler {
+    private static final float NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final long tick;
+
+    private final Scheduler scheduler;
+
+    private final LongSupplier clock;
+
+    private final List<Poll> polls = new ArrayList<>();
+
+    /**
+     * When the per-sensor statistics were last reported, in nanoseconds.
+     */
+    private long sensorWindowStart;
+
+    /**
+     * When the bus statistics were last reported, in nanoseconds.
+     */
+    private long busWindowStart;
+
+    private long busReads;
+
+    private long busReadTime;
+
+    /**
+     * Create a poll scheduler timed by the clock of its scheduler.
+     *
+     * @param tick the time between ticks
+     * @param timeUnit the tick time unit
+     * @param scheduler the scheduler to read sensors on
+     */
+    public SensorPollScheduler(final long tick, final TimeUnit timeUnit, final Scheduler scheduler) {
+        this(tick, timeUnit, scheduler, () -> TimeUnit.MILLISECONDS.toNanos(scheduler.now()));
+    }
+
+    /**
+     * Create a poll scheduler timed by the given clock.
+     *
+     * @param tick the time between ticks, which bounds the fastest rate a sensor can be read at
+     * @param timeUnit the tick time unit
+     * @param scheduler the scheduler to read sensors on, ideally the only one using the bus
+     * @param clock the current time in nanoseconds, such as {@code System::nanoTime}
+     */
+    public SensorPollScheduler(
+        final long tick,
+        final TimeUnit timeUnit,
+        final Scheduler scheduler,
+        final LongSupplier clock
+    ) {
+        this.tick = timeUnit.toNanos(tick);
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.sensorWindowStart = clock.getAsLong();
+        this.busWindowStart = sensorWindowStart;
+    }
+
+    /**
+     * Add a sensor to read. Sensors must be added before subscribing to {@link #readings()}.
+     *
+     * @param name the name the sensor is reported under
+     * @param rate how often to read the sensor, in hertz
+     * @param read reads the sensor, returning one value or a list of values
+     * @return this poll scheduler
+     */
+    public final SensorPollScheduler add(final String name, final float rate, final Supplier<?> read) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException(String.format("The rate of %s must be positive", name));
+        }
+        final long period = Math.max(1, Math.round(NANOS_PER_SECOND / rate / tick));
+        synchronized (this) {
+            polls.add(new Poll(name, rate, period, phase(period), read));
+        }
+        return this;
+    }
+
+    /**
+     * Returns an observable that reads the sensors due on each tick and emits their values, skipping ticks where
+     * no sensor is due.
+     *
+     * @return the values read on each tick
+     */
+    public final Observable<List<Object>> readings() {
+        return Observable.interval(tick, TimeUnit.NANOSECONDS, scheduler)
+            .map(this::poll)
+            .filter(values -> !values.isEmpty());
+    }
+
+    /**
+     * Returns the rate each sensor was read at since the last report, and starts a new report.
+     *
+     * @return the statistics of each sensor
+     */
+    public final synchronized List<SensorPollStatsValue> stats() {
+        final long now = clock.getAsLong();
+        final float elapsed = Math.max(1, now - sensorWindowStart) / NANOS_PER_SECOND;
+        final List<SensorPollStatsValue> stats = new ArrayList<>(polls.size());
+        for (final Poll poll : polls) {
+            long meanReadTime = 0;
+            if (poll.reads > 0) {
+                meanReadTime = poll.readTime / poll.reads / NANOS_PER_MICRO;
+            }
+            stats.add(new SensorPollStatsValue(poll.name, poll.rate, poll.reads / elapsed, meanReadTime));
+            poll.reads = 0;
+            poll.readTime = 0;
+        }
+        sensorWindowStart = now;
+        return stats;
+    }
+
+    /**
+     * Returns the share of time spent reading sensors since the last report, and starts a new report.
+     *
+     * @return the bus statistics
+     */
+    public final synchronized I2CBusStatsValue busStats() {
+        final long now = clock.getAsLong();
+        final I2CBusStatsValue stats = new I2CBusStatsValue(
+            (float) busReadTime / Math.max(1, now - busWindowStart), busReads);
+        busReads = 0;
+        busReadTime = 0;
+        busWindowStart = now;
+        return stats;
+    }
+
+    /**
+     * Read the sensors due on the given tick.
+     */
+    private List<Object> poll(final long count) {
+        final List<Object> values = new ArrayList<>();
+        for (final Poll poll : polls) {
+            if (count % poll.period != poll.phase) {
+                continue;
+            }
+            final long start = clock.getAsLong();
+            try {
+                final Object value = poll.read.get();
+                if (value instanceof List) {
+                    values.addAll((List<?>) value);
+                } else {
+                    values.add(value);
+                }
+            } catch (final RuntimeException e) {
+                Logger.error(e);
+            }
+            final long readTime = clock.getAsLong() - start;
+            synchronized (this) {
+                poll.reads++;
+                poll.readTime += readTime;
+                busReads++;
+                busReadTime += readTime;
+            }
+        }
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return values;
+    }
+
+    /**
+     * Choose the phase for a new sensor that shares the fewest ticks with the sensors already added. Two sensors
+     * meet on a share of ticks equal to one over the least common multiple of their periods, as long as their
+     * phases agree modulo the greatest common divisor of their periods.
+     */
+    private long phase(final long period) {
+        long best = 0;
+        double bestCollisions = Double.MAX_VALUE;
+        for (long phase = 0; phase < period; phase++) {
+            double collisions = 0;
+            for (final Poll poll : polls) {
+                final long gcd = gcd(period, poll.period);
+                if (phase % gcd == poll.phase % gcd) {
+                    collisions += (double) gcd / period / poll.period;
+                }
+            }
+            if (collisions < bestCollisions) {
+                best = phase;
+                bestCollisions = collisions;
+            }
+        }
+        return best;
+    }
+
+    private static long gcd(final long a, final long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            final long r = x % y;
+            x = y;
+            y = r;
+        }
+        return x;
+    }
+
+    private static final class Poll {
+        private final String name;
+
+        private final float rate;
+
+        /**
+         * The number of ticks between reads.
+         */
+        private final long period;
+
+        /**
+         * The first tick this sensor is read on.
+         */
+        private final long phase;
+
+        private final Supplier<?> read;
+
+        private long reads;
+
+        /**
+         * The time spent reading since the last report, in nanoseconds.
+         */
+        private long readTime;
+
+        Poll(final String name, final float rate, final long period, final long phase, final Supplier<?> read) {
+            this.name = name;
+            this.rate = rate;
+            this.period = period;
+            this.phase = phase;
+            this.read = read;
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package com.easternedgerobotics.rov.io;
 
 import com.easternedgerobotics.rov.io.devices.PWM;
-import com.easternedgerobotics.rov.value.SpeedValue;
-
-import rx.Observable;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 
 /**
  * See the <a href="http://docs.bluerobotics.com/besc/#specification-table">Specification Table for the Blue
@@ -26,26 +24,28 @@ public final class Thruster {
     private final PWM device;
 
     /**
-     * The latest value from the speed observable.
+     * The slot of the frame holding the speed for this thruster.
      */
-    private SpeedValue value;
+    private final ThrusterFrameSlot slot;
 
     /**
      * Create a Thruster device which uses a pololu channel for communication.
      *
-     * @param values speed observable mapped to the pololu channel
+     * @param slot the slot of each frame holding the speed for this thruster
      * @param device PWM output to write speeds
      */
-    public Thruster(final Observable<SpeedValue> values, final PWM device) {
+    public Thruster(final ThrusterFrameSlot slot, final PWM device) {
         this.device = device;
-        values.subscribe(v -> value = v);
+        this.slot = slot;
     }
 
     /**
-     * Write the latest {@code SpeedValue} for this thruster to the device.
+     * Write the speed for this thruster from the given frame to the device.
+     *
+     * @param frame the frame computed for this control tick
      */
-    public final void write() {
-        device.write(value.getSpeed());
+    public final void write(final ThrusterFrameValue frame) {
+        device.write(slot.speed(frame));
     }
 
     /**
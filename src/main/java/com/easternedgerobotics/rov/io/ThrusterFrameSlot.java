@@ -0,0 +1,61 @@
+package com.easternedgerobotics.rov.io;
+
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
+
+/**
+ * The outputs of a {@link ThrusterFrameValue}, one per thruster, motor and light.
+ */
+public enum ThrusterFrameSlot {
+    PORT_AFT,
+    STARBOARD_AFT,
+    PORT_FORE,
+    STARBOARD_FORE,
+    VERT_AFT,
+    VERT_FORE,
+    CAMERA_A,
+    CAMERA_B,
+    TOOLING_A,
+    TOOLING_B,
+    TOOLING_C,
+    LIGHT_A,
+    LIGHT_B;
+
+    /**
+     * Returns the speed in this slot of the given frame.
+     *
+     * @param frame the frame to read
+     * @return the speed for the device in this slot
+     */
+    public float speed(final ThrusterFrameValue frame) {
+        switch (this) {
+            case PORT_AFT:
+                return frame.getPortAft();
+            case STARBOARD_AFT:
+                return frame.getStarboardAft();
+            case PORT_FORE:
+                return frame.getPortFore();
+            case STARBOARD_FORE:
+                return frame.getStarboardFore();
+            case VERT_AFT:
+                return frame.getVertAft();
+            case VERT_FORE:
+                return frame.getVertFore();
+            case CAMERA_A:
+                return frame.getCameraA();
+            case CAMERA_B:
+                return frame.getCameraB();
+            case TOOLING_A:
+                return frame.getToolingA();
+            case TOOLING_B:
+                return frame.getToolingB();
+            case TOOLING_C:
+                return frame.getToolingC();
+            case LIGHT_A:
+                return frame.getLightA();
+            case LIGHT_B:
+                return frame.getLightB();
+            default:
+                throw new IllegalStateException("Unknown thruster frame slot " + this);
+        }
+    }
+}
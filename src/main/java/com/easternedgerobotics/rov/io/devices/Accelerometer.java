@@ -1,7 +1,10 @@
 package com.easternedgerobotics.rov.io.devices;
 
+import com.easternedgerobotics.rov.value.AccelerationBatchValue;
 import com.easternedgerobotics.rov.value.AccelerationValue;
 
+import java.util.Collections;
+
 public interface Accelerometer {
 
     /**
@@ -10,5 +13,15 @@ public interface Accelerometer {
      * @return the current acceleration
      */
     AccelerationValue acceleration();
-}
 
+    /**
+     * Read every acceleration sample buffered since the last read. Devices without a buffer return the current
+     * acceleration alone.
+     *
+     * @param timestamp the time of this read in milliseconds
+     * @return the buffered samples
+     */
+    default AccelerationBatchValue accelerationBatch(final long timestamp) {
+        return new AccelerationBatchValue(timestamp, 0, Collections.singletonList(acceleration()));
+    }
+}
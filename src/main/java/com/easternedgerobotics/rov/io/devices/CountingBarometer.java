@@ -0,0 +1,11 @@
+package com.easternedgerobotics.rov.io.devices;
+
+public interface CountingBarometer extends Barometer {
+    /**
+     * Returns the number of pressure readings taken so far, so a reading already seen can be told from a new one.
+     * It is zero until the first reading and does not change while the device is failing.
+     *
+     * @return the reading count
+     */
+    long pressureReadings();
+}
@@ -1,7 +1,10 @@
 package com.easternedgerobotics.rov.io.devices;
 
+import com.easternedgerobotics.rov.value.AngularVelocityBatchValue;
 import com.easternedgerobotics.rov.value.AngularVelocityValue;
 
+import java.util.Collections;
+
 public interface Gyroscope {
     /**
      * Read angular velocity device.
@@ -9,4 +12,15 @@ public interface Gyroscope {
      * @return the current angular velocity
      */
     public AngularVelocityValue angularVelocity();
+
+    /**
+     * Read every angular velocity sample buffered since the last read. Devices without a buffer return the
+     * current angular velocity alone.
+     *
+     * @param timestamp the time of this read in milliseconds
+     * @return the buffered samples
+     */
+    default AngularVelocityBatchValue angularVelocityBatch(final long timestamp) {
+        return new AngularVelocityBatchValue(timestamp, 0, Collections.singletonList(angularVelocity()));
+    }
 }
@@ -53,6 +53,18 @@ public interface I2C {
         return new byte[readLength];
     }
 
+    /**
+     * Read multiple bytes from the i2c device into the given buffer.
+     *
+     * @param readAddress the starting register address
+     * @param buffer the buffer to receive the bytes
+     * @param offset the position in the buffer of the first byte
+     * @param readLength the amount of bytes to read
+     */
+    default void read(final byte readAddress, final byte[] buffer, final int offset, final int readLength) {
+        System.arraycopy(read(readAddress, readLength), 0, buffer, offset, readLength);
+    }
+
     /**
      * Read multiple bytes from the i2c device.
      *
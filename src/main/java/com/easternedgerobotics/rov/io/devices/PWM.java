@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.io.devices;
 
+import com.easternedgerobotics.rov.math.OutputCurve;
 import com.easternedgerobotics.rov.math.Range;
 
 /**
@@ -23,4 +24,11 @@ public interface PWM {
      * @return the PWM instance
      */
     PWM setOutputRange(Range range);
+
+    /**
+     * Sets the curve mapping written values to output signals.
+     * @param curve the output signal curve
+     * @return the PWM instance
+     */
+    PWM setOutputCurve(OutputCurve curve);
 }
@@ -0,0 +1,16 @@
+package com.easternedgerobotics.rov.io.devices;
+
+/**
+ * A group of PWM outputs whose writes can be collected and sent together once per control tick.
+ */
+public interface PWMFrameWriter {
+    /**
+     * Start collecting writes made by the calling thread. Writes from other threads wait until the frame ends.
+     */
+    void beginFrame();
+
+    /**
+     * Send every write collected since {@link #beginFrame()} and stop collecting.
+     */
+    void endFrame();
+}
@@ -6,7 +6,9 @@ import com.easternedgerobotics.rov.io.devices.Gyroscope;
 import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.io.devices.Magnetometer;
 import com.easternedgerobotics.rov.io.devices.Thermometer;
+import com.easternedgerobotics.rov.value.AccelerationBatchValue;
 import com.easternedgerobotics.rov.value.AccelerationValue;
+import com.easternedgerobotics.rov.value.AngularVelocityBatchValue;
 import com.easternedgerobotics.rov.value.AngularVelocityValue;
 import com.easternedgerobotics.rov.value.PressureValue;
 import com.easternedgerobotics.rov.value.RotationValue;
@@ -45,6 +47,18 @@ public final class AltIMU10v3 implements Accelerometer, Barometer, Thermometer,
      */
     static final byte LSM303D_SA0_LOW_ADDRESS = 0b0011110;
 
+    /**
+     * Radians per second for each count of angular velocity, at the L3GD20H default of +/- 245 dps full scale
+     * (8.75 mdps per count).
+     */
+    public static final float ANGULAR_VELOCITY_SCALE = (float) Math.toRadians(0.00875);
+
+    /**
+     * Metres per second squared for each count of acceleration, at the LSM303D default of +/- 2 g full scale
+     * (0.061 mg per count).
+     */
+    public static final float ACCELERATION_SCALE = 0.000061f * 9.80665f;
+
     /**
      * Digital barometer instance.
      */
@@ -60,20 +74,36 @@ public final class AltIMU10v3 implements Accelerometer, Barometer, Thermometer,
      */
     private final LSM303D lsm;
 
+    private final boolean fifo;
+
     /**
      * Connect to an AltIMUv10 to read the various sensors it contains.
      *
      * @param i2cDevices the AltIMU10v3 I2C connections
      */
     public AltIMU10v3(final List<I2C> i2cDevices, final boolean sa0High) {
+        this(i2cDevices, sa0High, false);
+    }
+
+    /**
+     * Create an AltIMU, optionally streaming gyroscope and accelerometer samples into the chip FIFOs so that
+     * every sample taken between reads can be drained with {@link #angularVelocityBatch(long)} and
+     * {@link #accelerationBatch(long)}.
+     *
+     * @param i2cDevices the I2C bus
+     * @param sa0High true if the SA0 pin is pulled high
+     * @param fifo true to buffer samples in the FIFOs
+     */
+    public AltIMU10v3(final List<I2C> i2cDevices, final boolean sa0High, final boolean fifo) {
+        this.fifo = fifo;
         if (sa0High) {
             lps = new LPS331AP(i2cDevices.get(LPS331AP_SA0_HIGH_ADDRESS));
-            l3g = new L3GD20H(i2cDevices.get(L3GD20H_SA0_HIGH_ADDRESS));
-            lsm = new LSM303D(i2cDevices.get(LSM303D_SA0_HIGH_ADDRESS));
+            l3g = new L3GD20H(i2cDevices.get(L3GD20H_SA0_HIGH_ADDRESS), fifo);
+            lsm = new LSM303D(i2cDevices.get(LSM303D_SA0_HIGH_ADDRESS), fifo);
         } else {
             lps = new LPS331AP(i2cDevices.get(LPS331AP_SA0_LOW_ADDRESS));
-            l3g = new L3GD20H(i2cDevices.get(L3GD20H_SA0_LOW_ADDRESS));
-            lsm = new LSM303D(i2cDevices.get(LSM303D_SA0_LOW_ADDRESS));
+            l3g = new L3GD20H(i2cDevices.get(L3GD20H_SA0_LOW_ADDRESS), fifo);
+            lsm = new LSM303D(i2cDevices.get(LSM303D_SA0_LOW_ADDRESS), fifo);
         }
     }
 
@@ -82,6 +112,14 @@ public final class AltIMU10v3 implements Accelerometer, Barometer, Thermometer,
         return l3g.pollAngularVelocity();
     }
 
+    @Override
+    public AngularVelocityBatchValue angularVelocityBatch(final long timestamp) {
+        if (fifo) {
+            return new AngularVelocityBatchValue(timestamp, L3GD20H.SAMPLE_PERIOD, l3g.drainAngularVelocity());
+        }
+        return Gyroscope.super.angularVelocityBatch(timestamp);
+    }
+
     @Override
     public PressureValue pressure() {
         return lps.pollPressure();
@@ -97,6 +135,14 @@ public final class AltIMU10v3 implements Accelerometer, Barometer, Thermometer,
         return lsm.pollAccelerometer();
     }
 
+    @Override
+    public AccelerationBatchValue accelerationBatch(final long timestamp) {
+        if (fifo) {
+            return new AccelerationBatchValue(timestamp, LSM303D.FIFO_SAMPLE_PERIOD, lsm.drainAccelerometer());
+        }
+        return Accelerometer.super.accelerationBatch(timestamp);
+    }
+
     @Override
     public RotationValue rotation() {
         return lsm.pollMagnetometer();
@@ -3,8 +3,9 @@ package com.easternedgerobotics.rov.io.pololu;
 import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.value.AngularVelocityValue;
 
-import java.nio.ByteBuffer;
-import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 final class L3GD20H {
     /**
@@ -17,6 +18,23 @@ final class L3GD20H {
      */
     static final byte CTRL1_ENABLE = (byte) 0xFF;
 
+    /**
+     * Register used to enable the FIFO.
+     */
+    static final byte CTRL5 = (byte) 0x24;
+
+    /**
+     * Value for CTRL5.
+     * 0x40 = 0b01000000
+     * FIFO_EN = 1
+     */
+    static final byte CTRL5_FIFO_ENABLE = (byte) 0x40;
+
+    /**
+     * The time between samples in microseconds at the 800 Hz ODR set by CTRL1_ENABLE.
+     */
+    static final long SAMPLE_PERIOD = 1250;
+
     /**
      * The span of registers holding data.
      */
@@ -27,42 +45,103 @@ final class L3GD20H {
      */
     static final byte OUT_X_L = (byte) 0x28;
 
+    /**
+     * The offset of each axis in the data registers.
+     */
+    private static final int X_OFFSET = 0;
+
+    private static final int Y_OFFSET = 2;
+
+    private static final int Z_OFFSET = 4;
+
     /**
      * An i2c interface connected to the sensor.
      */
     private final I2C device;
 
+    /**
+     * True if samples are buffered in the FIFO between reads.
+     */
+    private final boolean fifo;
+
+    /**
+     * Receives each read, so polling allocates no buffers. Holds a full FIFO in FIFO mode.
+     */
+    private final byte[] buffer;
+
+    /**
+     * The newest sample read.
+     */
+    private AngularVelocityValue newest = new AngularVelocityValue();
+
     /**
      * Read from an L3GD20H to receive Angular Velocity data.
      *
      * @param device the IMU chip I2C interface.
      */
     L3GD20H(final I2C device) {
+        this(device, false);
+    }
+
+    /**
+     * Read from an L3GD20H to receive Angular Velocity data, optionally buffering samples in its FIFO.
+     *
+     * @param device the IMU chip I2C interface.
+     * @param fifo true to stream samples into the FIFO between reads.
+     */
+    L3GD20H(final I2C device, final boolean fifo) {
         this.device = device;
+        this.fifo = fifo;
         device.write(CTRL1, CTRL1_ENABLE);
+        if (fifo) {
+            this.buffer = new byte[READ_SIZE * StFifo.SIZE];
+            device.write(CTRL5, CTRL5_FIFO_ENABLE);
+            device.write(StFifo.FIFO_CTRL, StFifo.FIFO_CTRL_STREAM);
+        } else {
+            this.buffer = new byte[READ_SIZE];
+        }
     }
 
     /**
-     * Read angular velocity from register data.
+     * Read angular velocity from register data. In FIFO mode this drains the FIFO and returns the newest sample.
      *
      * @return the current angular velocity data.
      */
-    AngularVelocityValue pollAngularVelocity() {
-        // Read bytes from OUT_X_L to OUT_Z_H inclusive.
-        final byte[] velocityBytes = device.read(OUT_X_L, READ_SIZE);
-        // Array is in reverse order after bulk read.
-        final ByteBuffer byteBuffer = ByteBuffer.allocate(READ_SIZE);
-        for (int i = READ_SIZE - 1; i >= 0; i--) {
-            byteBuffer.put(velocityBytes[i]);
+    synchronized AngularVelocityValue pollAngularVelocity() {
+        if (fifo) {
+            drainAngularVelocity();
+            return newest;
         }
-        // Set buffer to be read and set its index to 0.
-        byteBuffer.flip();
-        final ShortBuffer shortBuffer = byteBuffer.asShortBuffer();
-        // Array was reversed, so x is now last, y second, and z first.
-        final short x = shortBuffer.get(2);
-        final short y = shortBuffer.get(1);
-        final short z = shortBuffer.get(0);
-
-        return new AngularVelocityValue(x, y, z);
+        // Read bytes from OUT_X_L to OUT_Z_H inclusive, each axis low byte first.
+        device.read(OUT_X_L, buffer, 0, READ_SIZE);
+        newest = decode(0);
+        return newest;
+    }
+
+    /**
+     * Read every sample buffered since the last read, oldest first. Without the FIFO this is the current sample.
+     *
+     * @return the buffered angular velocity data.
+     */
+    synchronized List<AngularVelocityValue> drainAngularVelocity() {
+        if (!fifo) {
+            return Collections.singletonList(pollAngularVelocity());
+        }
+        final int samples = StFifo.drain(device, OUT_X_L, READ_SIZE, buffer);
+        final List<AngularVelocityValue> values = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            values.add(decode(i * READ_SIZE));
+        }
+        if (samples > 0) {
+            newest = values.get(samples - 1);
+        }
+        return values;
+    }
+
+    private AngularVelocityValue decode(final int offset) {
+        return new AngularVelocityValue(
+            LittleEndian.toShort(buffer, offset + X_OFFSET),
+            LittleEndian.toShort(buffer, offset + Y_OFFSET),
+            LittleEndian.toShort(buffer, offset + Z_OFFSET));
     }
 }
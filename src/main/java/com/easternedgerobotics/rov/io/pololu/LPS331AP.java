@@ -4,10 +4,6 @@ import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.value.InternalPressureValue;
 import com.easternedgerobotics.rov.value.InternalTemperatureValue;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-import java.nio.ShortBuffer;
-
 final class LPS331AP {
     /**
      * Register used to control pressure and temperature update state.
@@ -59,6 +55,11 @@ final class LPS331AP {
      */
     private final I2C device;
 
+    /**
+     * Receives each read, so polling allocates no buffers.
+     */
+    private final byte[] buffer = new byte[PRESSURE_READ_SIZE];
+
     /**
      * Read from an LPS331AP to receive pressure and temperature data.
      *
@@ -74,21 +75,10 @@ final class LPS331AP {
      *
      * @return the current pressure data.
      */
-    InternalPressureValue pollPressure() {
-        // Read bytes from OUT_X_L to OUT_Z_H inclusive.
-        final byte[] pressureBytes = device.read(PRESS_POUT_XL_REH, PRESSURE_READ_SIZE);
-        // Array is in reverse order after bulk read.
-        final ByteBuffer byteBuffer = ByteBuffer.allocate(4);
-        byteBuffer.put((byte) 0x00);
-        for (int i = PRESSURE_READ_SIZE - 1; i >= 0; i--) {
-            byteBuffer.put(pressureBytes[i]);
-        }
-        // Set buffer to be read and set its index to 0.
-        byteBuffer.flip();
-        final IntBuffer intBuffer = byteBuffer.asIntBuffer();
-        final int rawPressure = intBuffer.get(0);
-
-        return new InternalPressureValue(rawPressure / PRESSURE_SCALAR);
+    synchronized InternalPressureValue pollPressure() {
+        // Read bytes from PRESS_POUT_XL_REH to PRESS_OUT_H inclusive, low byte first.
+        device.read(PRESS_POUT_XL_REH, buffer, 0, PRESSURE_READ_SIZE);
+        return new InternalPressureValue(LittleEndian.toUnsigned24(buffer, 0) / PRESSURE_SCALAR);
     }
 
     /**
@@ -96,19 +86,9 @@ final class LPS331AP {
      *
      * @return the current temperature data.
      */
-    InternalTemperatureValue pollTemperature() {
-        // Read bytes from OUT_X_L to OUT_Z_H inclusive.
-        final byte[] temperatureBytes = device.read(TEMP_OUT_L, TEMP_READ_SIZE);
-        // Array is in reverse order after bulk read.
-        final ByteBuffer byteBuffer = ByteBuffer.allocate(2);
-        for (int i = TEMP_READ_SIZE - 1; i >= 0; i--) {
-            byteBuffer.put(temperatureBytes[i]);
-        }
-        // Set buffer to be read and set its index to 0.
-        byteBuffer.flip();
-        final ShortBuffer shortBuffer = byteBuffer.asShortBuffer();
-        final int rawTemperature = shortBuffer.get(0);
-
-        return new InternalTemperatureValue(TEMP_OFFSET + rawTemperature / TEMP_SCALAR);
+    synchronized InternalTemperatureValue pollTemperature() {
+        // Read bytes from TEMP_OUT_L to TEMP_OUT_H inclusive, low byte first.
+        device.read(TEMP_OUT_L, buffer, 0, TEMP_READ_SIZE);
+        return new InternalTemperatureValue(TEMP_OFFSET + LittleEndian.toShort(buffer, 0) / TEMP_SCALAR);
     }
 }
@@ -4,10 +4,23 @@ import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.value.AccelerationValue;
 import com.easternedgerobotics.rov.value.RotationValue;
 
-import java.nio.ByteBuffer;
-import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 final class LSM303D {
+    /**
+     * Register used to enable the FIFO.
+     */
+    static final byte CTRL0 = (byte) 0x1F;
+
+    /**
+     * Value for CTRL0 in FIFO mode.
+     * 0x40 = 0b01000000
+     * FIFO_EN = 1
+     */
+    static final byte CTRL0_FIFO_ENABLE = (byte) 0x40;
+
     /**
      * Register used to control acceleration update state.
      */
@@ -20,6 +33,18 @@ final class LSM303D {
      */
     static final byte CTRL1_VAL = (byte) 0x57;
 
+    /**
+     * Value for CTRL1 in FIFO mode.
+     * 0x77 = 0b01110111
+     * AODR = 0111 (200 Hz ODR); AZEN = AYEN = AXEN = 1 (all axes enabled)
+     */
+    static final byte CTRL1_FIFO_VAL = (byte) 0x77;
+
+    /**
+     * The time between acceleration samples in microseconds at the 200 Hz ODR set by CTRL1_FIFO_VAL.
+     */
+    static final long FIFO_SAMPLE_PERIOD = 5000;
+
     /**
      * Register used to control  anti-alias filter bandwidth.
      */
@@ -83,21 +108,65 @@ final class LSM303D {
      */
     static final byte OUT_X_L_M = (byte) 0x08;
 
+    /**
+     * The offset of each axis in the data registers.
+     */
+    private static final int X_OFFSET = 0;
+
+    private static final int Y_OFFSET = 2;
+
+    private static final int Z_OFFSET = 4;
+
     /**
      * An i2c interface connected to the sensor.
      */
     private final I2C device;
 
+    /**
+     * True if acceleration samples are buffered in the FIFO between reads.
+     */
+    private final boolean fifo;
+
+    /**
+     * Receives each read, so polling allocates no buffers. Holds a full FIFO in FIFO mode.
+     */
+    private final byte[] buffer;
+
+    /**
+     * The newest acceleration sample read.
+     */
+    private AccelerationValue newestAcceleration = new AccelerationValue();
+
     /**
      * Read from an LSM303D to receive acceleration and magnetometer data.
      *
      * @param device the IMU chip I2C interface.
      */
     LSM303D(final I2C device) {
+        this(device, false);
+    }
+
+    /**
+     * Read from an LSM303D to receive acceleration and magnetometer data, optionally buffering acceleration
+     * samples in its FIFO.
+     *
+     * @param device the IMU chip I2C interface.
+     * @param fifo true to stream acceleration samples into the FIFO between reads.
+     */
+    LSM303D(final I2C device, final boolean fifo) {
         this.device = device;
+        this.fifo = fifo;
         // Accelerometer
         device.write(CTRL2, CTRL2_VAL);
-        device.write(CTRL1, CTRL1_VAL);
+        if (fifo) {
+            this.buffer = new byte[READ_SIZE * StFifo.SIZE];
+            device.write(CTRL1, CTRL1_FIFO_VAL);
+            device.write(CTRL0, CTRL0_FIFO_ENABLE);
+            device.write(StFifo.FIFO_CTRL, StFifo.FIFO_CTRL_STREAM);
+        } else {
+            this.buffer = new byte[READ_SIZE];
+            device.write(CTRL1, CTRL1_VAL);
+        }
         // Magnetometer
         device.write(CTRL5, CTRL5_VAL);
         device.write(CTRL6, CTRL6_VAL);
@@ -105,27 +174,40 @@ final class LSM303D {
     }
 
     /**
-     * Read acceleration from register data.
+     * Read acceleration from register data. In FIFO mode this drains the FIFO and returns the newest sample.
      *
      * @return the current pressure data.
      */
-    AccelerationValue pollAccelerometer() {
-        // Read bytes from OUT_X_L_A to OUT_Z_H_A inclusive.
-        final byte[] accelerationBytes = device.read(OUT_X_L_A, READ_SIZE);
-        // Array is in reverse order after bulk read.
-        final ByteBuffer byteBuffer = ByteBuffer.allocate(READ_SIZE);
-        for (int i = READ_SIZE - 1; i >= 0; i--) {
-            byteBuffer.put(accelerationBytes[i]);
+    synchronized AccelerationValue pollAccelerometer() {
+        if (fifo) {
+            drainAccelerometer();
+            return newestAcceleration;
         }
-        // Set buffer to be read and set its index to 0.
-        byteBuffer.flip();
-        final ShortBuffer shortBuffer = byteBuffer.asShortBuffer();
-        // Array was reversed, so x is now last, y second, and z first.
-        final short x = shortBuffer.get(2);
-        final short y = shortBuffer.get(1);
-        final short z = shortBuffer.get(0);
-
-        return new AccelerationValue(x, y, z);
+        // Read bytes from OUT_X_L_A to OUT_Z_H_A inclusive, each axis low byte first.
+        device.read(OUT_X_L_A, buffer, 0, READ_SIZE);
+        newestAcceleration = decodeAcceleration(0);
+        return newestAcceleration;
+    }
+
+    /**
+     * Read every acceleration sample buffered since the last read, oldest first. Without the FIFO this is the
+     * current sample.
+     *
+     * @return the buffered acceleration data.
+     */
+    synchronized List<AccelerationValue> drainAccelerometer() {
+        if (!fifo) {
+            return Collections.singletonList(pollAccelerometer());
+        }
+        final int samples = StFifo.drain(device, OUT_X_L_A, READ_SIZE, buffer);
+        final List<AccelerationValue> values = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            values.add(decodeAcceleration(i * READ_SIZE));
+        }
+        if (samples > 0) {
+            newestAcceleration = values.get(samples - 1);
+        }
+        return values;
     }
 
     /**
@@ -133,22 +215,19 @@ final class LSM303D {
      *
      * @return the current pressure data.
      */
-    RotationValue pollMagnetometer() {
-        // Read bytes from OUT_X_L_M to OUT_Z_H_M inclusive.
-        final byte[] rotationBytes = device.read(OUT_X_L_M, READ_SIZE);
-        // Array is in reverse order after bulk read.
-        final ByteBuffer byteBuffer = ByteBuffer.allocate(READ_SIZE);
-        for (int i = READ_SIZE - 1; i >= 0; i--) {
-            byteBuffer.put(rotationBytes[i]);
-        }
-        // Set buffer to be read and set its index to 0.
-        byteBuffer.flip();
-        final ShortBuffer shortBuffer = byteBuffer.asShortBuffer();
-        // Array was reversed, so x is now last, y second, and z first.
-        final short x = shortBuffer.get(2);
-        final short y = shortBuffer.get(1);
-        final short z = shortBuffer.get(0);
-
-        return new RotationValue(x, y, z);
+    synchronized RotationValue pollMagnetometer() {
+        // Read bytes from OUT_X_L_M to OUT_Z_H_M inclusive, each axis low byte first.
+        device.read(OUT_X_L_M, buffer, 0, READ_SIZE);
+        return new RotationValue(
+            LittleEndian.toShort(buffer, X_OFFSET),
+            LittleEndian.toShort(buffer, Y_OFFSET),
+            LittleEndian.toShort(buffer, Z_OFFSET));
+    }
+
+    private AccelerationValue decodeAcceleration(final int offset) {
+        return new AccelerationValue(
+            LittleEndian.toShort(buffer, offset + X_OFFSET),
+            LittleEndian.toShort(buffer, offset + Y_OFFSET),
+            LittleEndian.toShort(buffer, offset + Z_OFFSET));
     }
 }
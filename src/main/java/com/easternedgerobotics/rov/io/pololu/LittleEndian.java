@@ -0,0 +1,34 @@
+package com.easternedgerobotics.rov.io.pololu;
+
+/**
+ * Decodes the little-endian register values of the AltIMU chips straight from a read buffer.
+ */
+final class LittleEndian {
+    private LittleEndian() {
+
+    }
+
+    /**
+     * Returns the signed 16-bit value whose low byte is at the given offset.
+     *
+     * @param bytes the bytes read
+     * @param offset the offset of the low byte
+     * @return the decoded value
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    static short toShort(final byte[] bytes, final int offset) {
+        return (short) ((bytes[offset + 1] << 8) | (bytes[offset] & 0xFF));
+    }
+
+    /**
+     * Returns the unsigned 24-bit value whose low byte is at the given offset.
+     *
+     * @param bytes the bytes read
+     * @param offset the offset of the low byte
+     * @return the decoded value
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    static int toUnsigned24(final byte[] bytes, final int offset) {
+        return ((bytes[offset + 2] & 0xFF) << 16) | ((bytes[offset + 1] & 0xFF) << 8) | (bytes[offset] & 0xFF);
+    }
+}
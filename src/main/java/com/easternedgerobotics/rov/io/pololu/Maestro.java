@@ -2,27 +2,61 @@ package com.easternedgerobotics.rov.io.pololu;
 
 import com.easternedgerobotics.rov.io.devices.ADC;
 import com.easternedgerobotics.rov.io.devices.PWM;
+import com.easternedgerobotics.rov.io.devices.PWMFrameWriter;
+import com.easternedgerobotics.rov.value.MaestroChannelStatsValue;
 
 import com.pi4j.io.serial.Serial;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
 import java.util.AbstractList;
+import java.util.List;
 import java.util.RandomAccess;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
-public final class Maestro<T extends ADC & PWM> extends AbstractList<T> implements RandomAccess {
+public final class Maestro<T extends ADC & PWM> extends AbstractList<T> implements RandomAccess, PWMFrameWriter {
     private static final byte NUMBER_OF_CHANNELS = 24;
 
     private final Serial serial;
 
-    private final Lock lock;
+    private final ReentrantLock lock;
 
     private final byte device;
 
+    private final MaestroTargets targets;
+
+    /**
+     * Create a Maestro which sends every target written to its channels.
+     *
+     * @param serial the serial port the Maestro is connected to
+     * @param device the Maestro device number
+     */
     public Maestro(final Serial serial, final byte device) {
+        this(serial, device, 0, TimeUnit.MILLISECONDS, Schedulers.immediate());
+    }
+
+    /**
+     * Create a Maestro which skips targets equal to the last one sent on their channel, but still sends them again
+     * once the keep-alive interval has passed so the outputs never time out.
+     *
+     * @param serial the serial port the Maestro is connected to
+     * @param device the Maestro device number
+     * @param keepAlive the longest time an unchanged target is skipped
+     * @param timeUnit the keep-alive time unit
+     * @param scheduler the scheduler whose clock times the keep-alive
+     */
+    public Maestro(
+        final Serial serial,
+        final byte device,
+        final long keepAlive,
+        final TimeUnit timeUnit,
+        final Scheduler scheduler
+    ) {
         this.serial = serial;
         this.lock = new ReentrantLock();
         this.device = device;
+        this.targets = new MaestroTargets(serial, lock, device, NUMBER_OF_CHANNELS, keepAlive, timeUnit, scheduler);
     }
 
     @SuppressWarnings("unchecked")
@@ -33,7 +67,32 @@ public final class Maestro<T extends ADC & PWM> extends AbstractList<T> implemen
         }
 
         final byte channel = (byte) index;
-        return (T) new MaestroChannel(serial, lock, device, channel);
+        return (T) new MaestroChannel(serial, lock, device, channel, targets);
+    }
+
+    /**
+     * Start collecting channel targets so they can be sent with Set Multiple Targets at the end of the frame.
+     */
+    @Override
+    public final void beginFrame() {
+        targets.beginFrame();
+    }
+
+    /**
+     * Send the targets collected since {@link #beginFrame()}, one command per run of consecutive channels.
+     */
+    @Override
+    public final void endFrame() {
+        targets.endFrame();
+    }
+
+    /**
+     * Returns the number of targets sent and skipped on each channel that has been written.
+     *
+     * @return the statistics of each written channel
+     */
+    public final List<MaestroChannelStatsValue> stats() {
+        return targets.stats();
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.easternedgerobotics.rov.io.pololu;
 
 import com.easternedgerobotics.rov.io.devices.ADC;
 import com.easternedgerobotics.rov.io.devices.PWM;
+import com.easternedgerobotics.rov.math.OutputCurve;
 import com.easternedgerobotics.rov.math.Range;
 
 import com.pi4j.io.serial.Serial;
@@ -11,7 +12,6 @@ import java.nio.ByteOrder;
 import java.util.BitSet;
 import java.util.Objects;
 import java.util.concurrent.locks.Lock;
-import java.util.function.DoubleFunction;
 
 final class MaestroChannel implements ADC, PWM {
     /**
@@ -24,12 +24,6 @@ final class MaestroChannel implements ADC, PWM {
      */
     private static final byte START_BYTE = (byte) 0xAA;
 
-    /**
-     * The Set Target command byte with its most significant bit cleared.
-     */
-    @SuppressWarnings({"checkstyle:magicnumber"})
-    private static final byte COMMAND_SET_TARGET = 0x84 & COMMAND_MASK;
-
     /**
      * The Get Errors command byte with its most significant bit cleared.
      */
@@ -50,17 +44,23 @@ final class MaestroChannel implements ADC, PWM {
 
     private final byte channel;
 
-    private final Range input;
+    private final MaestroTargets targets;
 
-    private DoubleFunction<Double> rangeMap;
+    private OutputCurve curve;
 
-    MaestroChannel(final Serial serial, final Lock lock, final byte maestro, final byte channel) {
+    MaestroChannel(
+        final Serial serial,
+        final Lock lock,
+        final byte maestro,
+        final byte channel,
+        final MaestroTargets targets
+    ) {
         this.serial = serial;
         this.lock = lock;
         this.maestro = maestro;
         this.channel = channel;
-        this.input = new Range(-1, 1);
-        this.rangeMap = Range.map(input, new Range(-1, 1));
+        this.targets = targets;
+        this.curve = new OutputCurve(-1, 1);
     }
 
     /**
@@ -76,14 +76,11 @@ final class MaestroChannel implements ADC, PWM {
     /**
      * Write a value to this channel.
      *
-     * @param value percent from -1 to 1
+     * @param value percent from -1 to 1, clamped if outside
      */
     @Override
     public final void write(final float value) {
-        if (value > 1 || value < -1) {
-            throw new IllegalArgumentException("Maestro channel values must be between -1 and 1");
-        }
-        setTarget((short) Math.round(rangeMap.apply(value)));
+        setTarget((short) Math.round(curve.map(value)));
     }
 
     /**
@@ -91,7 +88,7 @@ final class MaestroChannel implements ADC, PWM {
      */
     @Override
     public final void writeZero() {
-        setTarget((short) Math.round(rangeMap.apply(0)));
+        setTarget((short) Math.round(curve.map(0)));
     }
 
     /**
@@ -102,7 +99,18 @@ final class MaestroChannel implements ADC, PWM {
      */
     @Override
     public final PWM setOutputRange(final Range range) {
-        rangeMap = Range.map(input, range);
+        return setOutputCurve(OutputCurve.linear(range));
+    }
+
+    /**
+     * Sets the output signal curve.
+     *
+     * @param outputCurve the output signal curve
+     * @return the PWM instance
+     */
+    @Override
+    public final PWM setOutputCurve(final OutputCurve outputCurve) {
+        curve = outputCurve;
         return this;
     }
 
@@ -133,18 +141,8 @@ final class MaestroChannel implements ADC, PWM {
      *
      * @param target the target
      */
-    @SuppressWarnings({"checkstyle:magicnumber"})
     private void setTarget(final short target) {
-        lock.lock();
-        try {
-            final short microseconds = (short) (target * 4);
-            final byte lsb = (byte) (microseconds & 0x7F);
-            final byte msb = (byte) ((microseconds >> 7) & 0x7F);
-
-            serial.write(new byte[] {START_BYTE, maestro, COMMAND_SET_TARGET, channel, lsb, msb});
-        } finally {
-            lock.unlock();
-        }
+        targets.set(channel, target);
     }
 
     /**
@@ -0,0 +1,251 @@
+package com.easternedgerobotics.rov.io.pololu;
+
+import com.easternedgerobotics.rov.value.MaestroChannelStatsValue;
+
+import com.pi4j.io.serial.Serial;
+import rx.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes channel targets to a Maestro, either one Set Target command per write or, inside a frame, as few
+ * Set Multiple Targets commands as the written channels allow. A target equal to the last one sent on its channel
+ * is skipped unless the keep-alive interval has passed since that channel was last sent.
+ */
+final class MaestroTargets {
+    /**
+     * The first command byte for the Pololu protocol.
+     */
+    private static final byte START_BYTE = (byte) 0xAA;
+
+    /**
+     * The Set Target command byte with its most significant bit cleared.
+     */
+    private static final byte COMMAND_SET_TARGET = 0x04;
+
+    /**
+     * The Set Multiple Targets command byte with its most significant bit cleared.
+     */
+    private static final byte COMMAND_SET_MULTIPLE_TARGETS = 0x1F;
+
+    /**
+     * The size of a Set Target command.
+     */
+    private static final int SET_TARGET_SIZE = 6;
+
+    private final Serial serial;
+
+    private final ReentrantLock lock;
+
+    private final byte device;
+
+    /**
+     * How long an unchanged target may be skipped, in milliseconds. Zero sends every target.
+     */
+    private final long keepAlive;
+
+    /**
+     * The clock used for keep-alive refreshes.
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * The last target sent on each channel.
+     */
+    private final short[] sent;
+
+    /**
+     * When each channel was last sent, in milliseconds.
+     */
+    private final long[] sentAt;
+
+    /**
+     * The channels that have been sent at least once.
+     */
+    private final BitSet written;
+
+    /**
+     * The number of targets sent on each channel.
+     */
+    private final long[] issued;
+
+    /**
+     * The number of targets skipped on each channel.
+     */
+    private final long[] suppressed;
+
+    /**
+     * The targets collected in the current frame, indexed by channel.
+     */
+    private final short[] targets;
+
+    /**
+     * The channels written in the current frame.
+     */
+    private final BitSet pending;
+
+    /**
+     * Large enough for every channel as its own Set Target command, since a run of channels is never longer.
+     */
+    private final byte[] buffer;
+
+    /**
+     * True while a frame is open. Only read and written while holding the lock.
+     */
+    private boolean collecting;
+
+    MaestroTargets(
+        final Serial serial,
+        final ReentrantLock lock,
+        final byte device,
+        final int channels,
+        final long keepAlive,
+        final TimeUnit timeUnit,
+        final Scheduler scheduler
+    ) {
+        this.serial = serial;
+        this.lock = lock;
+        this.device = device;
+        this.keepAlive = timeUnit.toMillis(keepAlive);
+        this.scheduler = scheduler;
+        this.sent = new short[channels];
+        this.sentAt = new long[channels];
+        this.written = new BitSet(channels);
+        this.issued = new long[channels];
+        this.suppressed = new long[channels];
+        this.targets = new short[channels];
+        this.pending = new BitSet(channels);
+        this.buffer = new byte[channels * SET_TARGET_SIZE];
+    }
+
+    /**
+     * Sets the target of a channel, or holds on to it until the end of the current frame.
+     *
+     * @param channel the channel
+     * @param target the target in quarter-microseconds
+     */
+    void set(final byte channel, final short target) {
+        lock.lock();
+        try {
+            if (collecting) {
+                targets[channel] = target;
+                pending.set(channel);
+            } else if (issue(channel, target, scheduler.now())) {
+                serial.write(Arrays.copyOf(buffer, putSetTarget(0, channel, target)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start collecting targets. The lock is held until {@link #endFrame()}, so writes from other threads are sent
+     * after the frame instead of being mixed into it.
+     */
+    void beginFrame() {
+        lock.lock();
+        collecting = true;
+    }
+
+    /**
+     * Send the collected targets, one command per run of consecutive channels.
+     */
+    void endFrame() {
+        try {
+            final long now = scheduler.now();
+            for (int channel = pending.nextSetBit(0); channel >= 0; channel = pending.nextSetBit(channel + 1)) {
+                if (!issue(channel, targets[channel], now)) {
+                    pending.clear(channel);
+                }
+            }
+            int length = 0;
+            int first = pending.nextSetBit(0);
+            while (first >= 0) {
+                final int end = pending.nextClearBit(first);
+                if (end - first == 1) {
+                    length = putSetTarget(length, (byte) first, targets[first]);
+                } else {
+                    length = putSetMultipleTargets(length, first, end);
+                }
+                first = pending.nextSetBit(end);
+            }
+            if (length > 0) {
+                serial.write(Arrays.copyOf(buffer, length));
+            }
+        } finally {
+            collecting = false;
+            pending.clear();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the send counts of every channel that has been written.
+     *
+     * @return the statistics of each written channel
+     */
+    List<MaestroChannelStatsValue> stats() {
+        lock.lock();
+        try {
+            final List<MaestroChannelStatsValue> stats = new ArrayList<>();
+            for (int channel = 0; channel < issued.length; channel++) {
+                if (issued[channel] > 0 || suppressed[channel] > 0) {
+                    stats.add(new MaestroChannelStatsValue(channel, issued[channel], suppressed[channel]));
+                }
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Decide whether a target must be sent, recording it as sent if so.
+     */
+    private boolean issue(final int channel, final short target, final long now) {
+        if (written.get(channel) && sent[channel] == target && now - sentAt[channel] < keepAlive) {
+            suppressed[channel]++;
+            return false;
+        }
+        written.set(channel);
+        sent[channel] = target;
+        sentAt[channel] = now;
+        issued[channel]++;
+        return true;
+    }
+
+    private int putSetTarget(final int offset, final byte channel, final short target) {
+        int position = offset;
+        buffer[position++] = START_BYTE;
+        buffer[position++] = device;
+        buffer[position++] = COMMAND_SET_TARGET;
+        buffer[position++] = channel;
+        return putTarget(position, target);
+    }
+
+    private int putSetMultipleTargets(final int offset, final int first, final int end) {
+        int position = offset;
+        buffer[position++] = START_BYTE;
+        buffer[position++] = device;
+        buffer[position++] = COMMAND_SET_MULTIPLE_TARGETS;
+        buffer[position++] = (byte) (end - first);
+        buffer[position++] = (byte) first;
+        for (int channel = first; channel < end; channel++) {
+            position = putTarget(position, targets[channel]);
+        }
+        return position;
+    }
+
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    private int putTarget(final int offset, final short target) {
+        final short microseconds = (short) (target * 4);
+        buffer[offset] = (byte) (microseconds & 0x7F);
+        buffer[offset + 1] = (byte) ((microseconds >> 7) & 0x7F);
+        return offset + 2;
+    }
+}
@@ -0,0 +1,67 @@
+package com.easternedgerobotics.rov.io.pololu;
+
+import com.easternedgerobotics.rov.io.devices.I2C;
+
+/**
+ * The 32 sample FIFO shared by the L3GD20H gyroscope and the LSM303D accelerometer. In stream mode the chip keeps
+ * the newest samples, and with the FIFO enabled a multiple byte read of the output registers wraps back to the
+ * first register after the last, so every buffered sample can be drained in one transaction.
+ */
+final class StFifo {
+    /**
+     * Register used to select the FIFO mode.
+     */
+    static final byte FIFO_CTRL = (byte) 0x2E;
+
+    /**
+     * Value for FIFO_CTRL.
+     * 0x40 = 0b01000000
+     * FM = 010 (stream mode)
+     */
+    static final byte FIFO_CTRL_STREAM = (byte) 0x40;
+
+    /**
+     * Register holding the FIFO status.
+     */
+    static final byte FIFO_SRC = (byte) 0x2F;
+
+    /**
+     * The FIFO_SRC bit set when the FIFO is full and the oldest sample has been overwritten.
+     */
+    static final byte FIFO_SRC_OVERRUN = (byte) 0x40;
+
+    /**
+     * The FIFO_SRC bits holding the number of unread samples.
+     */
+    static final byte FIFO_SRC_LEVEL = (byte) 0x1F;
+
+    /**
+     * The number of samples the FIFO holds.
+     */
+    static final int SIZE = 32;
+
+    private StFifo() {
+
+    }
+
+    /**
+     * Read every buffered sample into the buffer in one transaction.
+     *
+     * @param device the chip I2C interface
+     * @param start the first output register
+     * @param sampleSize the size of one sample in bytes
+     * @param buffer receives the samples, large enough for a full FIFO
+     * @return the number of samples read
+     */
+    static int drain(final I2C device, final byte start, final int sampleSize, final byte[] buffer) {
+        final byte status = device.read(FIFO_SRC);
+        int samples = status & FIFO_SRC_LEVEL;
+        if ((status & FIFO_SRC_OVERRUN) != 0) {
+            samples = SIZE;
+        }
+        if (samples > 0) {
+            device.read(start, buffer, 0, samples * sampleSize);
+        }
+        return samples;
+    }
+}
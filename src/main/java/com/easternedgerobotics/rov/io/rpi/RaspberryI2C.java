@@ -6,6 +6,7 @@ import com.pi4j.io.i2c.I2CDevice;
 import org.pmw.tinylog.Logger;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.locks.Lock;
 
 final class RaspberryI2C implements I2C {
@@ -99,6 +100,19 @@ final class RaspberryI2C implements I2C {
         }
     }
 
+    @Override
+    public void read(final byte readAddress, final byte[] buffer, final int offset, final int readLength) {
+        lock.lock();
+        try {
+            device.read(multiReadAddress(readAddress), buffer, offset, readLength);
+        } catch (final IOException e) {
+            Logger.warn(e);
+            Arrays.fill(buffer, offset, offset + readLength, (byte) 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public byte[] readUnsafe(final byte readAddress, final int readLength) throws IOException {
         lock.lock();
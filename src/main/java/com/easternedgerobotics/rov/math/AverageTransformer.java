@@ -3,18 +3,21 @@ package com.easternedgerobotics.rov.math;
 import rx.Observable;
 import rx.Observable.Transformer;
 
+/**
+ * Emits the mean of the last samples with a {@link WindowStatistics}. Each subscription gets its own window.
+ */
 public final class AverageTransformer<T extends Number> implements Transformer<T, Double> {
-    private final RingBuffer buffer;
+    private final int sample;
 
     public AverageTransformer(final int sample) {
-        this.buffer = new RingBuffer(sample);
+        this.sample = sample;
     }
 
     @Override
     public final Observable<Double> call(final Observable<T> source) {
-        return source.map(value -> {
-            buffer.add(value.doubleValue());
-            return buffer.apply(s -> s.summaryStatistics().getAverage());
+        return Observable.defer(() -> {
+            final WindowStatistics statistics = new WindowStatistics(sample);
+            return source.map(value -> statistics.add(value.doubleValue()));
         });
     }
 }
@@ -0,0 +1,153 @@
+package com.easternedgerobotics.rov.math;
+
+import com.easternedgerobotics.rov.value.DepthStateValue;
+
+/**
+ * Estimates depth and vertical velocity with a Kalman filter over a constant acceleration model. The vertical
+ * acceleration drives the prediction between depth readings, and each depth reading corrects it, so the estimate
+ * follows fast motion without the lag of averaging and the velocity needs no differentiation of noisy depths.
+ * <p>
+ * Depth, velocity and acceleration are positive down, in metres and seconds. The state and its covariance are kept
+ * in fields so neither step allocates. An accelerometer bias shows up as a small constant depth offset, which the
+ * depth readings bound.
+ */
+public final class DepthKalmanFilter {
+    /**
+     * The variance of the acceleration, in square metres per second to the fourth.
+     */
+    private final float accelerationVariance;
+
+    /**
+     * The variance of a depth reading, in square metres.
+     */
+    private final float depthVariance;
+
+    private float depth;
+
+    private float velocity;
+
+    /**
+     * The covariance of the state, as the depth variance, the depth and velocity covariance and the velocity
+     * variance.
+     */
+    private float pdd;
+
+    private float pdv;
+
+    private float pvv;
+
+    private boolean initialised;
+
+    /**
+     * Create a filter with no estimate, which starts from the first depth reading.
+     *
+     * @param accelerationNoise the standard deviation of the acceleration, in metres per second squared
+     * @param depthNoise the standard deviation of a depth reading, in metres
+     */
+    public DepthKalmanFilter(final float accelerationNoise, final float depthNoise) {
+        this.accelerationVariance = accelerationNoise * accelerationNoise;
+        this.depthVariance = depthNoise * depthNoise;
+    }
+
+    /**
+     * Advance the estimate by the given time under the given acceleration. Does nothing before the first depth
+     * reading.
+     *
+     * @param acceleration the vertical acceleration, positive down, in metres per second squared
+     * @param dt the time since the last prediction, in seconds
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    public final synchronized void predict(final float acceleration, final float dt) {
+        if (!initialised) {
+            return;
+        }
+        final float dt2 = dt * dt;
+        depth += velocity * dt + acceleration * dt2 / 2;
+        velocity += acceleration * dt;
+
+        // P = F P F' + Q, with Q the covariance of an acceleration held constant over dt
+        final float q = accelerationVariance;
+        final float dd = pdd + 2 * dt * pdv + dt2 * pvv + q * dt2 * dt2 / 4;
+        final float dv = pdv + dt * pvv + q * dt2 * dt / 2;
+        final float vv = pvv + q * dt2;
+        pdd = dd;
+        pdv = dv;
+        pvv = vv;
+    }
+
+    /**
+     * Correct the estimate with a depth reading.
+     *
+     * @param measured the depth, in metres
+     */
+    public final synchronized void correct(final float measured) {
+        if (!initialised) {
+            depth = measured;
+            velocity = 0;
+            pdd = depthVariance;
+            pdv = 0;
+            pvv = accelerationVariance;
+            initialised = true;
+            return;
+        }
+        final float innovation = measured - depth;
+        final float s = pdd + depthVariance;
+        final float kd = pdd / s;
+        final float kv = pdv / s;
+        depth += kd * innovation;
+        velocity += kv * innovation;
+
+        // P = (I - K H) P
+        final float dd = (1 - kd) * pdd;
+        final float dv = (1 - kd) * pdv;
+        final float vv = pvv - kv * pdv;
+        pdd = dd;
+        pdv = dv;
+        pvv = vv;
+    }
+
+    /**
+     * Returns true once the first depth reading has started the estimate.
+     *
+     * @return whether there is an estimate
+     */
+    public final synchronized boolean initialised() {
+        return initialised;
+    }
+
+    /**
+     * Returns the estimated depth without allocating.
+     *
+     * @return the depth in metres
+     */
+    public final synchronized float depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the estimated vertical velocity without allocating.
+     *
+     * @return the velocity in metres per second, positive down
+     */
+    public final synchronized float velocity() {
+        return velocity;
+    }
+
+    /**
+     * Returns the variance of the estimated depth without allocating.
+     *
+     * @return the variance in square metres
+     */
+    public final synchronized float variance() {
+        return pdd;
+    }
+
+    /**
+     * Returns the current estimate.
+     *
+     * @return the depth state
+     */
+    public final synchronized DepthStateValue state() {
+        return new DepthStateValue(depth, velocity, pdd);
+    }
+}
@@ -0,0 +1,61 @@
+package com.easternedgerobotics.rov.math;
+
+/**
+ * An exponentially weighted moving average. Each sample moves the average towards it by a fixed fraction, so recent
+ * samples weigh the most and memory and work per sample are constant. The first sample starts the average. Not
+ * thread safe.
+ */
+public final class Ewma {
+    private final double alpha;
+
+    private double average;
+
+    private boolean started;
+
+    /**
+     * Create an average with the given smoothing factor.
+     *
+     * @param alpha the weight of each new sample, from 0 exclusive to 1 inclusive
+     */
+    public Ewma(final double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("The smoothing factor must be in (0, 1]");
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * Returns the smoothing factor that gives the same mean sample age as a moving average over the given window.
+     *
+     * @param window the number of samples
+     * @return the equivalent smoothing factor
+     */
+    public static double alphaForWindow(final int window) {
+        return 2.0 / (window + 1);
+    }
+
+    /**
+     * Add a sample.
+     *
+     * @param value the sample
+     * @return the average
+     */
+    public final double add(final double value) {
+        if (started) {
+            average += alpha * (value - average);
+        } else {
+            average = value;
+            started = true;
+        }
+        return average;
+    }
+
+    /**
+     * Returns the average, or zero before the first sample.
+     *
+     * @return the average
+     */
+    public final double average() {
+        return average;
+    }
+}
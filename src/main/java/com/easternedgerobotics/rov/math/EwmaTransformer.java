@@ -0,0 +1,23 @@
+package com.easternedgerobotics.rov.math;
+
+import rx.Observable;
+import rx.Observable.Transformer;
+
+/**
+ * Emits the {@link Ewma} of the samples. Each subscription gets its own average.
+ */
+public final class EwmaTransformer<T extends Number> implements Transformer<T, Double> {
+    private final double alpha;
+
+    public EwmaTransformer(final double alpha) {
+        this.alpha = alpha;
+    }
+
+    @Override
+    public final Observable<Double> call(final Observable<T> source) {
+        return Observable.defer(() -> {
+            final Ewma ewma = new Ewma(alpha);
+            return source.map(value -> ewma.add(value.doubleValue()));
+        });
+    }
+}
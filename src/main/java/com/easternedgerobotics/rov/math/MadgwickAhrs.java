@@ -0,0 +1,265 @@
+package com.easternedgerobotics.rov.math;
+
+import com.easternedgerobotics.rov.value.OrientationValue;
+
+/**
+ * Estimates attitude and heading by integrating angular velocity and correcting its drift with a gradient descent
+ * step towards the measured gravity and magnetic field, as described by Madgwick. Each update is plain float math on
+ * fields and allocates nothing, so it can run at the gyroscope sample rate.
+ * <p>
+ * The latest acceleration and magnetic field are held until the next gyroscope sample, so the three sensors can be
+ * read at different rates. Their units do not matter as only their direction is used. Without a magnetic field only
+ * roll and pitch are corrected, and without an acceleration the gyroscope is integrated alone.
+ */
+public final class MadgwickAhrs {
+    private static final float RADIANS_TO_DEGREES = (float) (180 / Math.PI);
+
+    /**
+     * The gain of the correction step, in radians per second. Higher values trust the gyroscope less.
+     */
+    private final float beta;
+
+    private float q0 = 1;
+
+    private float q1;
+
+    private float q2;
+
+    private float q3;
+
+    private float ax;
+
+    private float ay;
+
+    private float az;
+
+    private float mx;
+
+    private float my;
+
+    private float mz;
+
+    /**
+     * The angular velocity about z of the last update, in radians per second.
+     */
+    private float yawRate;
+
+    /**
+     * The gradient of the last correction step, kept in fields so it is not returned in an array.
+     */
+    private float s0;
+
+    private float s1;
+
+    private float s2;
+
+    private float s3;
+
+    /**
+     * Create a filter starting level and facing north.
+     *
+     * @param beta the gain of the correction step, in radians per second
+     */
+    public MadgwickAhrs(final float beta) {
+        this.beta = beta;
+    }
+
+    /**
+     * Set the acceleration used by the following updates.
+     *
+     * @param x the x acceleration
+     * @param y the y acceleration
+     * @param z the z acceleration
+     */
+    public final synchronized void setAcceleration(final float x, final float y, final float z) {
+        ax = x;
+        ay = y;
+        az = z;
+    }
+
+    /**
+     * Set the magnetic field used by the following updates.
+     *
+     * @param x the x field
+     * @param y the y field
+     * @param z the z field
+     */
+    public final synchronized void setMagneticField(final float x, final float y, final float z) {
+        mx = x;
+        my = y;
+        mz = z;
+    }
+
+    /**
+     * Advance the estimate by one gyroscope sample.
+     *
+     * @param gx the angular velocity about x in radians per second
+     * @param gy the angular velocity about y in radians per second
+     * @param gz the angular velocity about z in radians per second
+     * @param dt the time since the previous sample in seconds
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    public final synchronized void update(final float gx, final float gy, final float gz, final float dt) {
+        yawRate = gz;
+        float qDot0 = 0.5f * (-q1 * gx - q2 * gy - q3 * gz);
+        float qDot1 = 0.5f * (q0 * gx + q2 * gz - q3 * gy);
+        float qDot2 = 0.5f * (q0 * gy - q1 * gz + q3 * gx);
+        float qDot3 = 0.5f * (q0 * gz + q1 * gy - q2 * gx);
+
+        final float accelerationNorm = norm(ax, ay, az);
+        if (accelerationNorm > 0) {
+            final float magneticNorm = norm(mx, my, mz);
+            if (magneticNorm > 0) {
+                gradientMarg(ax / accelerationNorm, ay / accelerationNorm, az / accelerationNorm,
+                    mx / magneticNorm, my / magneticNorm, mz / magneticNorm);
+            } else {
+                gradientImu(ax / accelerationNorm, ay / accelerationNorm, az / accelerationNorm);
+            }
+            final float stepNorm = norm(s0, s1, s2, s3);
+            if (stepNorm > 0) {
+                qDot0 -= beta * s0 / stepNorm;
+                qDot1 -= beta * s1 / stepNorm;
+                qDot2 -= beta * s2 / stepNorm;
+                qDot3 -= beta * s3 / stepNorm;
+            }
+        }
+
+        q0 += qDot0 * dt;
+        q1 += qDot1 * dt;
+        q2 += qDot2 * dt;
+        q3 += qDot3 * dt;
+        final float quaternionNorm = norm(q0, q1, q2, q3);
+        q0 /= quaternionNorm;
+        q1 /= quaternionNorm;
+        q2 /= quaternionNorm;
+        q3 /= quaternionNorm;
+    }
+
+    /**
+     * Returns the current estimate.
+     *
+     * @return the orientation
+     */
+    public final synchronized OrientationValue orientation() {
+        final float roll = (float) Math.atan2(2 * (q0 * q1 + q2 * q3), 1 - 2 * (q1 * q1 + q2 * q2));
+        final float pitch = (float) Math.asin(Math.max(-1, Math.min(1, 2 * (q0 * q2 - q3 * q1))));
+        final float yaw = (float) Math.atan2(2 * (q0 * q3 + q1 * q2), 1 - 2 * (q2 * q2 + q3 * q3));
+        return new OrientationValue(
+            q0, q1, q2, q3, roll * RADIANS_TO_DEGREES, pitch * RADIANS_TO_DEGREES, yaw * RADIANS_TO_DEGREES);
+    }
+
+    /**
+     * Returns the current heading without allocating.
+     *
+     * @return the yaw in degrees, counterclockwise from north between -180 and 180
+     */
+    public final synchronized float yaw() {
+        return (float) Math.atan2(2 * (q0 * q3 + q1 * q2), 1 - 2 * (q2 * q2 + q3 * q3)) * RADIANS_TO_DEGREES;
+    }
+
+    /**
+     * Returns the angular velocity about the z axis of the last gyroscope sample.
+     *
+     * @return the yaw rate in degrees per second, counterclockwise
+     */
+    public final synchronized float yawRate() {
+        return yawRate * RADIANS_TO_DEGREES;
+    }
+
+    /**
+     * Returns the vertical component of a vector measured in the sensor frame, such as an acceleration, without
+     * allocating.
+     *
+     * @param x the x component
+     * @param y the y component
+     * @param z the z component
+     * @return the component along the earth z axis, positive up
+     */
+    public final synchronized float vertical(final float x, final float y, final float z) {
+        return 2 * (q1 * q3 - q0 * q2) * x + 2 * (q0 * q1 + q2 * q3) * y + (1 - 2 * (q1 * q1 + q2 * q2)) * z;
+    }
+
+    /**
+     * Compute the gradient towards the measured gravity.
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    private void gradientImu(final float x, final float y, final float z) {
+        final float q0q0 = q0 * q0;
+        final float q1q1 = q1 * q1;
+        final float q2q2 = q2 * q2;
+        final float q3q3 = q3 * q3;
+        s0 = 4 * q0 * q2q2 + 2 * q2 * x + 4 * q0 * q1q1 - 2 * q1 * y;
+        s1 = 4 * q1 * q3q3 - 2 * q3 * x + 4 * q0q0 * q1 - 2 * q0 * y - 4 * q1 + 8 * q1 * q1q1 + 8 * q1 * q2q2
+            + 4 * q1 * z;
+        s2 = 4 * q0q0 * q2 + 2 * q0 * x + 4 * q2 * q3q3 - 2 * q3 * y - 4 * q2 + 8 * q2 * q1q1 + 8 * q2 * q2q2
+            + 4 * q2 * z;
+        s3 = 4 * q1q1 * q3 - 2 * q1 * x + 4 * q2q2 * q3 - 2 * q2 * y;
+    }
+
+    /**
+     * Compute the gradient towards the measured gravity and magnetic field. The field is first rotated into the earth
+     * frame and flattened onto its horizontal and vertical components, so magnetic inclination does not tilt the
+     * estimate.
+     */
+    @SuppressWarnings({"checkstyle:magicnumber"})
+    private void gradientMarg(
+        final float x,
+        final float y,
+        final float z,
+        final float fx,
+        final float fy,
+        final float fz
+    ) {
+        final float q0q0 = q0 * q0;
+        final float q0q1 = q0 * q1;
+        final float q0q2 = q0 * q2;
+        final float q0q3 = q0 * q3;
+        final float q1q1 = q1 * q1;
+        final float q1q2 = q1 * q2;
+        final float q1q3 = q1 * q3;
+        final float q2q2 = q2 * q2;
+        final float q2q3 = q2 * q3;
+        final float q3q3 = q3 * q3;
+
+        final float hx = fx * q0q0 - 2 * q0 * fy * q3 + 2 * q0 * fz * q2 + fx * q1q1 + 2 * q1 * fy * q2
+            + 2 * q1 * fz * q3 - fx * q2q2 - fx * q3q3;
+        final float hy = 2 * q0 * fx * q3 + fy * q0q0 - 2 * q0 * fz * q1 + 2 * q1 * fx * q2 - fy * q1q1
+            + fy * q2q2 + 2 * q2 * fz * q3 - fy * q3q3;
+        final float bx = (float) Math.sqrt(hx * hx + hy * hy);
+        final float bz = -2 * q0 * fx * q2 + 2 * q0 * fy * q1 + fz * q0q0 + 2 * q1 * fx * q3 - fz * q1q1
+            + 2 * q2 * fy * q3 - fz * q2q2 + fz * q3q3;
+
+        // Residuals of the predicted gravity and field against the measurements
+        final float gravityX = 2 * (q1q3 - q0q2) - x;
+        final float gravityY = 2 * (q0q1 + q2q3) - y;
+        final float gravityZ = 1 - 2 * (q1q1 + q2q2) - z;
+        final float fieldX = bx * (1 - 2 * (q2q2 + q3q3)) + 2 * bz * (q1q3 - q0q2) - fx;
+        final float fieldY = 2 * bx * (q1q2 - q0q3) + 2 * bz * (q0q1 + q2q3) - fy;
+        final float fieldZ = 2 * bx * (q0q2 + q1q3) + bz * (1 - 2 * (q1q1 + q2q2)) - fz;
+
+        s0 = -2 * q2 * gravityX + 2 * q1 * gravityY
+            - 2 * bz * q2 * fieldX
+            + 2 * (-bx * q3 + bz * q1) * fieldY
+            + 2 * bx * q2 * fieldZ;
+        s1 = 2 * q3 * gravityX + 2 * q0 * gravityY - 4 * q1 * gravityZ
+            + 2 * bz * q3 * fieldX
+            + 2 * (bx * q2 + bz * q0) * fieldY
+            + 2 * (bx * q3 - 2 * bz * q1) * fieldZ;
+        s2 = -2 * q0 * gravityX + 2 * q3 * gravityY - 4 * q2 * gravityZ
+            + 2 * (-2 * bx * q2 - bz * q0) * fieldX
+            + 2 * (bx * q1 + bz * q3) * fieldY
+            + 2 * (bx * q0 - 2 * bz * q2) * fieldZ;
+        s3 = 2 * q1 * gravityX + 2 * q2 * gravityY
+            + 2 * (-2 * bx * q3 + bz * q1) * fieldX
+            + 2 * (-bx * q0 + bz * q2) * fieldY
+            + 2 * bx * q1 * fieldZ;
+    }
+
+    private static float norm(final float x, final float y, final float z) {
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    private static float norm(final float w, final float x, final float y, final float z) {
+        return (float) Math.sqrt(w * w + x * x + y * y + z * z);
+    }
+}
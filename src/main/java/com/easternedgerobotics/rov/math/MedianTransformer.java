@@ -3,27 +3,21 @@ package com.easternedgerobotics.rov.math;
 import rx.Observable;
 import rx.Observable.Transformer;
 
+/**
+ * Emits the median of the last samples with a {@link SlidingMedian}. Each subscription gets its own window.
+ */
 public final class MedianTransformer<T extends Number> implements Transformer<T, Double> {
-    private final RingBuffer buffer;
+    private final int sample;
 
     public MedianTransformer(final int sample) {
-        this.buffer = new RingBuffer(sample);
+        this.sample = sample;
     }
 
     @Override
     public final Observable<Double> call(final Observable<T> source) {
-        return source.map(value -> {
-            buffer.add(value.doubleValue());
-            return buffer.apply(s -> {
-                final double[] values = s.sorted().toArray();
-                if (values.length % 2 == 0) {
-                    final double l = values[(values.length / 2) - 1];
-                    final double r = values[(values.length / 2)];
-                    return (l + r) / 2;
-                } else {
-                    return values[((values.length + 1) / 2) - 1];
-                }
-            });
+        return Observable.defer(() -> {
+            final SlidingMedian median = new SlidingMedian(sample);
+            return source.map(value -> median.add(value.doubleValue()));
         });
     }
 }
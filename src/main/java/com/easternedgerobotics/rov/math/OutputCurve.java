@@ -0,0 +1,74 @@
+package com.easternedgerobotics.rov.math;
+
+import java.util.Arrays;
+
+/**
+ * Maps a value from -1 to 1 onto an output signal by interpolating a lookup table. The table points are evenly
+ * spaced over the input, so each lookup is a constant amount of work and allocates nothing. Inputs outside of
+ * -1 to 1 are clamped.
+ */
+public final class OutputCurve {
+    /**
+     * The output at each evenly spaced input, from -1 to 1.
+     */
+    private final float[] points;
+
+    /**
+     * The number of intervals between points per unit of input.
+     */
+    private final float scale;
+
+    /**
+     * Create a curve through the given outputs. Two points give a straight line.
+     *
+     * @param points the output at each evenly spaced input from -1 to 1
+     */
+    public OutputCurve(final float... points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("An output curve needs at least two points");
+        }
+        this.points = points.clone();
+        this.scale = (points.length - 1) / 2f;
+    }
+
+    /**
+     * Returns a straight line from the minimum of the range to its maximum.
+     *
+     * @param range the output range
+     * @return the linear curve
+     */
+    public static OutputCurve linear(final Range range) {
+        return new OutputCurve((float) range.getMin(), (float) range.getMax());
+    }
+
+    /**
+     * Returns the output for the given value.
+     *
+     * @param value percent from -1 to 1
+     * @return the interpolated output
+     */
+    public final float map(final float value) {
+        final float position = (Math.max(-1, Math.min(1, value)) + 1) * scale;
+        final int index = Math.min((int) position, points.length - 2);
+        final float fraction = position - index;
+        return points[index] + (points[index + 1] - points[index]) * fraction;
+    }
+
+    /**
+     * Returns this curve mirrored around zero input, for outputs mounted or wired backwards.
+     *
+     * @return the reversed curve
+     */
+    public final OutputCurve reversed() {
+        final float[] reversed = new float[points.length];
+        for (int i = 0; i < points.length; i++) {
+            reversed[i] = points[points.length - 1 - i];
+        }
+        return new OutputCurve(reversed);
+    }
+
+    @Override
+    public final String toString() {
+        return Arrays.toString(points);
+    }
+}
@@ -37,6 +37,22 @@ public class Range {
         this.max = max;
     }
 
+    /**
+     * Returns the min value.
+     * @return the min value
+     */
+    public final double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the max value.
+     * @return the max value
+     */
+    public final double getMax() {
+        return max;
+    }
+
     @Override
     public final String toString() {
         return String.format("[%f, %f]", min, max);
@@ -0,0 +1,227 @@
+package com.easternedgerobotics.rov.math;
+
+/**
+ * The median of the last samples of a stream, updated in O(log n) per sample with no allocation.
+ * <p>
+ * The window is split between two heaps of window slots: a max-heap holding the lower half and a min-heap holding
+ * the upper half, with the lower half one larger when the count is odd. Each slot remembers its heap position, so
+ * once the window is full the oldest sample is overwritten in place and only its path in its heap is repaired.
+ * Not thread safe.
+ */
+public final class SlidingMedian {
+    private static final boolean LOW = false;
+
+    private static final boolean HIGH = true;
+
+    private final double[] values;
+
+    /**
+     * The slots of the lower half, as a max-heap.
+     */
+    private final int[] low;
+
+    /**
+     * The slots of the upper half, as a min-heap.
+     */
+    private final int[] high;
+
+    /**
+     * The heap each slot is in.
+     */
+    private final boolean[] heap;
+
+    /**
+     * The position of each slot in its heap.
+     */
+    private final int[] position;
+
+    private int lowSize;
+
+    private int highSize;
+
+    /**
+     * The number of samples in the window.
+     */
+    private int count;
+
+    /**
+     * The slot the next sample is written to.
+     */
+    private int next;
+
+    /**
+     * Create a median over the given number of samples.
+     *
+     * @param window the number of samples in the window
+     */
+    public SlidingMedian(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("The window must hold at least one sample");
+        }
+        this.values = new double[window];
+        this.low = new int[window];
+        this.high = new int[window];
+        this.heap = new boolean[window];
+        this.position = new int[window];
+    }
+
+    /**
+     * Add a sample, replacing the oldest one once the window is full.
+     *
+     * @param value the sample
+     * @return the median of the window
+     */
+    public final double add(final double value) {
+        final int slot = next;
+        next = (next + 1) % values.length;
+        values[slot] = value;
+        if (count == values.length) {
+            if (heap[slot] == LOW) {
+                siftUp(LOW, position[slot]);
+                siftDown(LOW, position[slot]);
+            } else {
+                siftUp(HIGH, position[slot]);
+                siftDown(HIGH, position[slot]);
+            }
+        } else {
+            count++;
+            push(LOW, slot);
+            if (lowSize > highSize + 1) {
+                push(HIGH, pop(LOW));
+            }
+        }
+        if (highSize > 0 && values[low[0]] > values[high[0]]) {
+            swapTops();
+        }
+        return median();
+    }
+
+    /**
+     * Returns the median of the window, or zero when it is empty.
+     *
+     * @return the median
+     */
+    public final double median() {
+        if (count == 0) {
+            return 0;
+        }
+        if (count % 2 == 1) {
+            return values[low[0]];
+        }
+        return (values[low[0]] + values[high[0]]) / 2;
+    }
+
+    /**
+     * Returns the number of samples in the window.
+     *
+     * @return the sample count
+     */
+    public final int count() {
+        return count;
+    }
+
+    /**
+     * Exchange the largest of the lower half with the smallest of the upper half, after a sample moved across the
+     * middle.
+     */
+    private void swapTops() {
+        final int top = low[0];
+        set(LOW, 0, high[0]);
+        set(HIGH, 0, top);
+        siftDown(LOW, 0);
+        siftDown(HIGH, 0);
+    }
+
+    private void push(final boolean which, final int slot) {
+        if (which == LOW) {
+            set(LOW, lowSize++, slot);
+            siftUp(LOW, lowSize - 1);
+        } else {
+            set(HIGH, highSize++, slot);
+            siftUp(HIGH, highSize - 1);
+        }
+    }
+
+    private int pop(final boolean which) {
+        final int[] slots = slots(which);
+        final int top = slots[0];
+        if (which == LOW) {
+            set(LOW, 0, low[--lowSize]);
+        } else {
+            set(HIGH, 0, high[--highSize]);
+        }
+        siftDown(which, 0);
+        return top;
+    }
+
+    private void siftUp(final boolean which, final int from) {
+        final int[] slots = slots(which);
+        int i = from;
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (!before(which, slots[i], slots[parent])) {
+                return;
+            }
+            swap(which, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(final boolean which, final int from) {
+        final int[] slots = slots(which);
+        final int size = size(which);
+        int i = from;
+        while (true) {
+            final int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left;
+            if (left + 1 < size && before(which, slots[left + 1], slots[left])) {
+                child = left + 1;
+            }
+            if (!before(which, slots[child], slots[i])) {
+                return;
+            }
+            swap(which, i, child);
+            i = child;
+        }
+    }
+
+    /**
+     * Returns true if slot a belongs above slot b in the given heap.
+     */
+    private boolean before(final boolean which, final int a, final int b) {
+        if (which == LOW) {
+            return values[a] > values[b];
+        }
+        return values[a] < values[b];
+    }
+
+    private void swap(final boolean which, final int i, final int j) {
+        final int[] slots = slots(which);
+        final int slot = slots[i];
+        set(which, i, slots[j]);
+        set(which, j, slot);
+    }
+
+    private void set(final boolean which, final int i, final int slot) {
+        slots(which)[i] = slot;
+        heap[slot] = which;
+        position[slot] = i;
+    }
+
+    private int[] slots(final boolean which) {
+        if (which == LOW) {
+            return low;
+        }
+        return high;
+    }
+
+    private int size(final boolean which) {
+        if (which == LOW) {
+            return lowSize;
+        }
+        return highSize;
+    }
+}
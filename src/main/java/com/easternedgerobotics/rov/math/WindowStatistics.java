@@ -0,0 +1,186 @@
+package com.easternedgerobotics.rov.math;
+
+/**
+ * The mean, variance, minimum and maximum of the last samples of a stream, each updated in O(1) per sample with no
+ * allocation.
+ * <p>
+ * The mean and variance are kept as running sums that are recomputed from the window each time it wraps, so rounding
+ * errors cannot build up. The minimum and maximum are kept in monotonic queues of window slots, where each sample is
+ * added and removed at most once. Not thread safe.
+ */
+public final class WindowStatistics {
+    private final double[] values;
+
+    /**
+     * Slots whose values increase from head to tail; the head is the minimum.
+     */
+    private final int[] minimums;
+
+    /**
+     * Slots whose values decrease from head to tail; the head is the maximum.
+     */
+    private final int[] maximums;
+
+    private int minimumHead;
+
+    private int minimumSize;
+
+    private int maximumHead;
+
+    private int maximumSize;
+
+    private int count;
+
+    /**
+     * The slot the next sample is written to.
+     */
+    private int next;
+
+    private double mean;
+
+    /**
+     * The sum of squared differences from the mean.
+     */
+    private double squares;
+
+    /**
+     * Create statistics over the given number of samples.
+     *
+     * @param window the number of samples in the window
+     */
+    public WindowStatistics(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("The window must hold at least one sample");
+        }
+        this.values = new double[window];
+        this.minimums = new int[window];
+        this.maximums = new int[window];
+    }
+
+    /**
+     * Add a sample, replacing the oldest one once the window is full.
+     *
+     * @param value the sample
+     * @return the mean of the window
+     */
+    public final double add(final double value) {
+        final int slot = next;
+        next = (next + 1) % values.length;
+        if (count == values.length) {
+            final double oldest = values[slot];
+            values[slot] = value;
+            expire(slot);
+            if (next == 0) {
+                recompute();
+            } else {
+                final double previousMean = mean;
+                mean += (value - oldest) / count;
+                squares += (value - oldest) * (value - mean + oldest - previousMean);
+            }
+        } else {
+            values[slot] = value;
+            count++;
+            final double delta = value - mean;
+            mean += delta / count;
+            squares += delta * (value - mean);
+        }
+        enqueue(slot);
+        return mean;
+    }
+
+    /**
+     * Returns the number of samples in the window.
+     *
+     * @return the sample count
+     */
+    public final int count() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the window, or zero when it is empty.
+     *
+     * @return the mean
+     */
+    public final double mean() {
+        return mean;
+    }
+
+    /**
+     * Returns the population variance of the window, or zero when it is empty.
+     *
+     * @return the variance
+     */
+    public final double variance() {
+        if (count == 0) {
+            return 0;
+        }
+        return Math.max(0, squares / count);
+    }
+
+    /**
+     * Returns the smallest sample in the window, or zero when it is empty.
+     *
+     * @return the minimum
+     */
+    public final double min() {
+        if (count == 0) {
+            return 0;
+        }
+        return values[minimums[minimumHead]];
+    }
+
+    /**
+     * Returns the largest sample in the window, or zero when it is empty.
+     *
+     * @return the maximum
+     */
+    public final double max() {
+        if (count == 0) {
+            return 0;
+        }
+        return values[maximums[maximumHead]];
+    }
+
+    /**
+     * Drop the given slot from the heads of the queues, as its sample has left the window. A slot can only be at the
+     * head, since every slot after it in a queue is newer.
+     */
+    private void expire(final int slot) {
+        if (minimumSize > 0 && minimums[minimumHead] == slot) {
+            minimumHead = (minimumHead + 1) % values.length;
+            minimumSize--;
+        }
+        if (maximumSize > 0 && maximums[maximumHead] == slot) {
+            maximumHead = (maximumHead + 1) % values.length;
+            maximumSize--;
+        }
+    }
+
+    /**
+     * Add the given slot to the tails of the queues, dropping the samples it makes irrelevant.
+     */
+    private void enqueue(final int slot) {
+        final double value = values[slot];
+        while (minimumSize > 0 && values[minimums[(minimumHead + minimumSize - 1) % values.length]] >= value) {
+            minimumSize--;
+        }
+        minimums[(minimumHead + minimumSize++) % values.length] = slot;
+        while (maximumSize > 0 && values[maximums[(maximumHead + maximumSize - 1) % values.length]] <= value) {
+            maximumSize--;
+        }
+        maximums[(maximumHead + maximumSize++) % values.length] = slot;
+    }
+
+    private void recompute() {
+        double sum = 0;
+        for (final double value : values) {
+            sum += value;
+        }
+        mean = sum / count;
+        squares = 0;
+        for (final double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+    }
+}
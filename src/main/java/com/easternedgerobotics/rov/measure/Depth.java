@@ -10,12 +10,21 @@ public final class Depth {
 
     private static final double DENSITY_FRESH_WATER = 1000;
 
+    private static final double PASCALS_PER_KPA = 1000;
+
     public static DepthValue fromPressure(final ExternalPressureValue pressure) {
         return new DepthValue(fromPressure(pressure.getPressure()));
     }
 
-    private static float fromPressure(final float value) {
-        return (float) ((value - KPA_ATMOSPHERIC_PRESSURE) / (GRAVITATIONAL_ACCELERATION * DENSITY_FRESH_WATER));
+    /**
+     * Returns the depth in metres of fresh water below the surface at the given pressure.
+     *
+     * @param value the pressure in kPa
+     * @return the depth in metres
+     */
+    public static float fromPressure(final float value) {
+        return (float) ((value - KPA_ATMOSPHERIC_PRESSURE) * PASCALS_PER_KPA
+            / (GRAVITATIONAL_ACCELERATION * DENSITY_FRESH_WATER));
     }
 
     private Depth() {
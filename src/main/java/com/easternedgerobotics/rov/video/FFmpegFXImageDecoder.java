@@ -1,11 +1,13 @@
 package com.easternedgerobotics.rov.video;
 
-import javafx.embed.swing.SwingFXUtils;
+import com.easternedgerobotics.rov.config.VideoDecoderConfig;
+
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.bytedeco.javacpp.avutil;
 import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.Frame;
 import org.bytedeco.javacv.FrameGrabber;
-import org.bytedeco.javacv.Java2DFrameConverter;
 import org.pmw.tinylog.Logger;
 import rx.Observable;
 import rx.Observer;
@@ -14,72 +16,90 @@ import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 import rx.subscriptions.CompositeSubscription;
 
-import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class FFmpegFXImageDecoder {
+    /**
+     * The number of images a decoder cycles through: one on screen, one queued and one being written.
+     */
+    private static final int IMAGE_POOL_SIZE = 3;
+
     /**
      * Contain the subscription for the server observable.
      */
     private final CompositeSubscription subscription = new CompositeSubscription();
 
-    private final String format;
-
-    private final double frameRate;
-
-    private final int bitrate;
-
-    private final String preset;
+    private final VideoDecoderConfig config;
 
-    private final int numBuffers;
+    private final VideoStats stats;
 
-    private final String introVideoLocation;
+    private final StreamRecorder recorder;
 
     private final PublishSubject<Image> images = PublishSubject.create();
 
+    private final FrameImagePool pool = new FrameImagePool(IMAGE_POOL_SIZE);
+
     private final PublishSubject<Socket> server = PublishSubject.create();
 
     private final int port;
 
-    private final int socketBacklog;
+    /**
+     * True until the intro video has been played in front of a stream. Later connections skip it, so the picture
+     * comes back as soon as possible.
+     */
+    private final AtomicBoolean introPending = new AtomicBoolean(true);
+
+    /**
+     * The connection being decoded, whose frames are handed on. Guarded by this decoder.
+     */
+    private Socket connection;
 
     FFmpegFXImageDecoder(
         final int port,
-        final String format,
-        final double frameRate,
-        final int socketBacklog,
-        final int bitrate,
-        final String preset,
-        final int numBuffers,
-        final String introVideoLocation
+        final VideoDecoderConfig config,
+        final VideoStats stats,
+        final StreamRecorder recorder
     ) {
         this.port = port;
-        this.socketBacklog = socketBacklog;
-        this.format = format;
-        this.frameRate = frameRate;
-        this.bitrate = bitrate;
-        this.preset = preset;
-        this.numBuffers = numBuffers;
-        this.introVideoLocation = introVideoLocation;
+        this.config = config;
+        this.stats = stats;
+        this.recorder = recorder;
         Observable.create(new SocketSyncOnSubscribe())
             .subscribeOn(Schedulers.newThread())
             .observeOn(Schedulers.newThread())
             .subscribe(server::onNext);
     }
 
+    /**
+     * Decode each connection to the server in turn. A new connection replaces the one before: the old socket is
+     * closed at once, which unblocks its grabber so it can be torn down on its own thread while the new grabber
+     * starts on another. A connection that ends or fails leaves the decoder waiting for the next one.
+     */
     void start() {
-        subscription.add(server.take(1)
-            .map(FFmpegSyncOnSubscribe::new)
-            .flatMap(Observable::create)
-            .subscribeOn(Schedulers.newThread())
+        subscription.add(server
+            .switchMap(socket -> {
+                connect(socket);
+                return Observable.create(new FFmpegSyncOnSubscribe(socket))
+                    .subscribeOn(Schedulers.newThread())
+                    .doOnUnsubscribe(() -> closeQuietly(socket))
+                    .onErrorResumeNext(error -> {
+                        Logger.warn("Stream from {} failed: {}", socket.getInetAddress(), error.getMessage());
+                        return Observable.empty();
+                    });
+            })
             .subscribe(images::onNext, Logger::error));
     }
 
     void stop() {
+        connect(null);
         subscription.clear();
     }
 
@@ -87,11 +107,66 @@ class FFmpegFXImageDecoder {
         return images;
     }
 
+    void release(final Image image) {
+        pool.release(image);
+    }
+
+    /**
+     * Make the given connection the one whose frames are handed on. This happens before the connection it replaces
+     * is unsubscribed, so no frame of the old connection can be handed on once the new one has started.
+     *
+     * @param socket the new connection, or null if none
+     */
+    synchronized void connect(final Socket socket) {
+        connection = socket;
+    }
+
+    /**
+     * Copy a grabbed frame into a pool image and hand it to the observer. While nothing is subscribed to the images,
+     * such as while the camera window is closed, the frame is dropped without taking an image: an image handed on
+     * then would never be displayed or released, and the pool would soon run dry. For the same reason an image
+     * converted for a connection that has been replaced goes straight back to the pool.
+     *
+     * @param frame the grabbed frame
+     * @param socket the connection the frame came from
+     * @param observer the observer of that connection
+     * @param start when the frame started to be grabbed, from {@link System#nanoTime()}, moved on by the time spent
+     *              waiting for the stream so only decoding and conversion are counted
+     */
+    void deliver(final Frame frame, final Socket socket, final Observer<? super Image> observer, final long start) {
+        if (!images.hasObservers()) {
+            stats.dropped();
+            return;
+        }
+        final WritableImage image = pool.convert(frame);
+        if (image == null) {
+            stats.dropped();
+            return;
+        }
+        synchronized (this) {
+            if (socket == connection) {
+                stats.decoded(System.nanoTime() - start);
+                observer.onNext(image);
+                return;
+            }
+        }
+        pool.release(image);
+        stats.dropped();
+    }
+
+    private static void closeQuietly(final Socket socket) {
+        try {
+            socket.close();
+        } catch (final IOException e) {
+            Logger.debug(e);
+        }
+    }
+
     private final class SocketSyncOnSubscribe extends SyncOnSubscribe<ServerSocket, Socket> {
         @Override
         protected ServerSocket generateState() {
             try {
-                return new ServerSocket(port, socketBacklog);
+                return new ServerSocket(port, config.socketBacklog());
             } catch (final IOException e) {
                 throw new RuntimeException(e);
             }
@@ -124,7 +199,10 @@ class FFmpegFXImageDecoder {
     private final class FFmpegSyncOnSubscribe extends SyncOnSubscribe<FrameGrabber, Image> {
         private Socket clientSocket;
 
-        private final Java2DFrameConverter converter = new Java2DFrameConverter();
+        /**
+         * The stream the grabber reads, which times the waits for the camera.
+         */
+        private TimedInputStream input;
 
         private FFmpegSyncOnSubscribe(final Socket clientSocket) {
             this.clientSocket = clientSocket;
@@ -135,15 +213,24 @@ class FFmpegFXImageDecoder {
             try {
                 Logger.info(String.format("Processing stream from %s, %d",
                     clientSocket.getInetAddress(), clientSocket.getPort()));
-                final FrameGrabber grabber = new FFmpegFrameGrabber(
-                    new SequenceInputStream(
-                        new FileInputStream(introVideoLocation),
-                        clientSocket.getInputStream()));
-                grabber.setFrameRate(frameRate);
-                grabber.setFormat(format);
-                grabber.setVideoBitrate(bitrate);
-                grabber.setVideoOption("preset", preset);
-                grabber.setNumBuffers(numBuffers);
+                clientSocket.setSoTimeout(config.streamTimeout());
+                final FrameGrabber grabber = new FFmpegFrameGrabber(stream());
+                grabber.setFrameRate(config.frameRate());
+                grabber.setFormat(config.format());
+                grabber.setPixelFormat(avutil.AV_PIX_FMT_BGRA);
+                grabber.setVideoBitrate(config.bitrate());
+                grabber.setVideoOption("preset", config.preset());
+                grabber.setNumBuffers(config.numBuffers());
+                grabber.setOption("probesize", Integer.toString(config.probeSize()));
+                grabber.setOption("analyzeduration", Integer.toString(config.analyzeDuration()));
+                grabber.setVideoOption("threads", Integer.toString(config.decoderThreads()));
+                if (config.lowDelay()) {
+                    // Hand each frame on as soon as it is decoded, rather than buffering to smooth the stream
+                    grabber.setOption("fflags", "nobuffer");
+                    grabber.setVideoOption("flags", "low_delay");
+                    grabber.setVideoOption("thread_type", "slice");
+                }
+                stats.connected();
                 grabber.start();
                 return grabber;
             } catch (final IOException e) {
@@ -151,6 +238,20 @@ class FFmpegFXImageDecoder {
             }
         }
 
+        /**
+         * Returns the stream from the socket, copied to the recorder, behind the intro video on the first connection.
+         */
+        private InputStream stream() throws IOException {
+            final InputStream stream = recorder.tee(clientSocket.getInputStream());
+            if (introPending.compareAndSet(true, false)) {
+                input = new TimedInputStream(
+                    new SequenceInputStream(new FileInputStream(config.introVideoLocation()), stream));
+            } else {
+                input = new TimedInputStream(stream);
+            }
+            return input;
+        }
+
         @Override
         protected FrameGrabber next(final FrameGrabber grabber, final Observer<? super Image> observer) {
             if (clientSocket.isClosed()) {
@@ -158,12 +259,16 @@ class FFmpegFXImageDecoder {
                 return grabber;
             }
             try {
+                // Grabbing blocks on the socket until the camera sends the frame, so that wait is left out
+                final long start = System.nanoTime();
+                final long waited = input.readTime();
                 final Frame frame = grabber.grab();
-                if (frame != null) {
-                    final BufferedImage bufferedImage = converter.convert(frame);
-                    if (bufferedImage != null) {
-                        observer.onNext(SwingFXUtils.toFXImage(bufferedImage, null));
-                    }
+                if (frame == null) {
+                    Logger.info("Stream from {} ended", clientSocket.getInetAddress());
+                    observer.onCompleted();
+                } else if (frame.image != null) {
+                    stats.received(grabber.getTimestamp(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime()));
+                    deliver(frame, clientSocket, observer, start + input.readTime() - waited);
                 }
             } catch (final FrameGrabber.Exception e) {
                 observer.onError(e);
@@ -181,4 +286,45 @@ class FFmpegFXImageDecoder {
             }
         }
     }
+
+    /**
+     * Adds up the time spent in reads, which on a socket is mostly spent waiting for the camera. Only the grabber
+     * thread reads it.
+     */
+    private static final class TimedInputStream extends FilterInputStream {
+        private long readTime;
+
+        private TimedInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final long start = System.nanoTime();
+            try {
+                return super.read();
+            } finally {
+                readTime += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final long start = System.nanoTime();
+            try {
+                return super.read(bytes, offset, length);
+            } finally {
+                readTime += System.nanoTime() - start;
+            }
+        }
+
+        /**
+         * Returns the total time spent in reads.
+         *
+         * @return the read time in nanoseconds
+         */
+        long readTime() {
+            return readTime;
+        }
+    }
 }
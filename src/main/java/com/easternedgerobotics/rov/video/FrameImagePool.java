@@ -0,0 +1,99 @@
+package com.easternedgerobotics.rov.video;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.bytedeco.javacv.Frame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Converts decoded video frames to JavaFX images by copying their pixels straight into a small pool of reusable
+ * {@code WritableImage}s, so a frame costs one copy and no allocation.
+ * <p>
+ * Frames must be decoded to BGRA, which JavaFX takes without conversion. An image is handed out by
+ * {@link #convert(Frame)} and comes back to the pool through {@link #release(Image)} once it is no longer displayed.
+ * While every image is out, frames are dropped rather than growing the pool. When the frame size changes the old
+ * images are forgotten and new ones are made.
+ */
+final class FrameImagePool {
+    private static final int BGRA_CHANNELS = 4;
+
+    private final int size;
+
+    /**
+     * Every image of the current frame size, whether free or out.
+     */
+    private final List<WritableImage> images;
+
+    private final Queue<WritableImage> free;
+
+    private int width;
+
+    private int height;
+
+    /**
+     * Create a pool of at most the given number of images.
+     *
+     * @param size the number of images
+     */
+    FrameImagePool(final int size) {
+        this.size = size;
+        this.images = new ArrayList<>(size);
+        this.free = new ArrayDeque<>(size);
+    }
+
+    /**
+     * Copy the pixels of a BGRA frame into a free image.
+     *
+     * @param frame the decoded frame
+     * @return the image, or null if the frame has no picture or every image is out
+     */
+    final WritableImage convert(final Frame frame) {
+        if (frame.image == null || frame.imageDepth != Frame.DEPTH_UBYTE || frame.imageChannels != BGRA_CHANNELS) {
+            return null;
+        }
+        final WritableImage image = acquire(frame.imageWidth, frame.imageHeight);
+        if (image == null) {
+            return null;
+        }
+        image.getPixelWriter().setPixels(
+            0, 0, frame.imageWidth, frame.imageHeight,
+            PixelFormat.getByteBgraPreInstance(), (ByteBuffer) frame.image[0], frame.imageStride);
+        return image;
+    }
+
+    /**
+     * Return an image to the pool. Images from another pool, or of an old frame size, are ignored.
+     *
+     * @param image the image which is no longer displayed
+     */
+    final synchronized void release(final Image image) {
+        for (final WritableImage owned : images) {
+            if (owned == image && !free.contains(owned)) {
+                free.add(owned);
+                return;
+            }
+        }
+    }
+
+    private synchronized WritableImage acquire(final int frameWidth, final int frameHeight) {
+        if (frameWidth != width || frameHeight != height) {
+            images.clear();
+            free.clear();
+            width = frameWidth;
+            height = frameHeight;
+        }
+        final WritableImage image = free.poll();
+        if (image == null && images.size() < size) {
+            final WritableImage created = new WritableImage(width, height);
+            images.add(created);
+            return created;
+        }
+        return image;
+    }
+}
@@ -0,0 +1,339 @@
+package com.easternedgerobotics.rov.video;
+
+import com.easternedgerobotics.rov.io.files.FileUtil;
+import com.easternedgerobotics.rov.value.RecordingStatsValue;
+
+import org.pmw.tinylog.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records the raw H.264 stream of a camera to segment files, exactly as it arrives on the socket.
+ * <p>
+ * The decoder thread copies the bytes it reads into a fixed ring buffer and never waits on the disk. If the disk falls
+ * so far behind that the ring is full, the bytes are dropped and counted instead. A separate thread writes the ring
+ * out to disk. A segment is ended at the first sequence parameter set after the segment duration, so every file
+ * starts with the stream headers and a key frame and plays on its own. That needs a camera that repeats its headers
+ * with each key frame; a stream that only sends them once is recorded to one file per connection.
+ * <p>
+ * Only the stream of the newest connection is recorded, so a connection that is still being torn down cannot mix its
+ * bytes into the new one.
+ */
+final class StreamRecorder {
+    private static final int NAL_TYPE_MASK = 0x1F;
+
+    private static final int NAL_SEQUENCE_PARAMETER_SET = 7;
+
+    private static final int START_CODE_ZEROS = 3;
+
+    private static final byte[] START_CODE = {0, 0, 0, 1};
+
+    /**
+     * How long the writer sleeps when the ring is empty.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final String camera;
+
+    private final String directory;
+
+    private final long segmentDuration;
+
+    private final byte[] ring;
+
+    /**
+     * The number of bytes ever put in the ring. Only written while holding this recorder.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The number of bytes ever taken from the ring. Only the writer thread writes it.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean recording;
+
+    /**
+     * True when the next segment should start at the next sequence parameter set, whatever the time.
+     */
+    private volatile boolean restart;
+
+    /**
+     * The ring position of the first byte of the newest connection. Only written while holding this recorder.
+     */
+    private volatile long connectionStart;
+
+    private volatile String segmentName = "";
+
+    private Thread writer;
+
+    /**
+     * The stream of the newest connection, the only one recorded. Guarded by this recorder.
+     */
+    private TeeInputStream current;
+
+    /**
+     * The segment being written, or null until the first sequence parameter set.
+     */
+    private OutputStream segment;
+
+    private long segmentStart;
+
+    /**
+     * The ring position the segment was opened at.
+     */
+    private long segmentPosition;
+
+    /**
+     * The stream position of the next byte to scan, and the state of the start code scan.
+     */
+    private long position;
+
+    private int zeros;
+
+    private boolean nalHeaderNext;
+
+    private long startCodePosition;
+
+    /**
+     * Create a recorder, which is stopped.
+     *
+     * @param camera the camera name, used to name the segment files
+     * @param directory the directory to write the segments to
+     * @param segmentDuration the time after which a segment ends at the next key frame, in milliseconds
+     * @param bufferSize the number of bytes that can wait for the disk
+     */
+    StreamRecorder(final String camera, final String directory, final long segmentDuration, final int bufferSize) {
+        this.camera = camera;
+        this.directory = directory;
+        this.segmentDuration = segmentDuration;
+        this.ring = new byte[bufferSize];
+    }
+
+    /**
+     * Start recording into a new segment. Does nothing if already recording.
+     */
+    final synchronized void start() {
+        if (recording) {
+            return;
+        }
+        recording = true;
+        restart = true;
+        if (writer == null) {
+            writer = new Thread(this::run, camera + "-recorder");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Stop recording. The bytes already buffered are still written before the segment is closed.
+     */
+    final synchronized void stop() {
+        recording = false;
+    }
+
+    /**
+     * Returns a stream that reads from the given stream and records what it reads, until the next call. A new
+     * connection starts a new stream, so the next segment starts at its first sequence parameter set.
+     *
+     * @param in the camera stream of a new connection
+     * @return the recorded stream
+     */
+    final synchronized InputStream tee(final InputStream in) {
+        current = new TeeInputStream(in);
+        connectionStart = head.get();
+        return current;
+    }
+
+    /**
+     * Returns the state of the recording and the bytes written and dropped since the last call.
+     *
+     * @return the stats value
+     */
+    final RecordingStatsValue stats() {
+        return new RecordingStatsValue(camera, recording, segmentName, written.getAndSet(0), dropped.getAndSet(0));
+    }
+
+    /**
+     * Copy bytes read from the given stream into the ring, or drop them if there is no room. Runs on the decoder
+     * thread of the connection.
+     */
+    private synchronized void offer(
+        final TeeInputStream source,
+        final byte[] bytes,
+        final int offset,
+        final int length
+    ) {
+        if (!recording || source != current || length <= 0) {
+            return;
+        }
+        final long h = head.get();
+        if (h + length - tail.get() > ring.length) {
+            dropped.addAndGet(length);
+            return;
+        }
+        final int start = (int) (h % ring.length);
+        final int first = Math.min(length, ring.length - start);
+        System.arraycopy(bytes, offset, ring, start, first);
+        System.arraycopy(bytes, offset + first, ring, 0, length - first);
+        head.lazySet(h + length);
+    }
+
+    private void run() {
+        while (true) {
+            final long t = tail.get();
+            final long h = head.get();
+            if (t == h) {
+                synchronized (this) {
+                    if (!recording) {
+                        close();
+                        writer = null;
+                        return;
+                    }
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+                continue;
+            }
+            final int start = (int) (t % ring.length);
+            final int length = (int) Math.min(h - t, ring.length - start);
+            write(start, length);
+            tail.lazySet(t + length);
+        }
+    }
+
+    /**
+     * Write part of the ring to the segment, starting a new segment where one is due.
+     */
+    private void write(final int offset, final int length) {
+        final int end = offset + length;
+        int from = offset;
+        for (int i = offset; i < end; i++, position++) {
+            final byte b = ring[i];
+            if (nalHeaderNext) {
+                nalHeaderNext = false;
+                if ((b & NAL_TYPE_MASK) == NAL_SEQUENCE_PARAMETER_SET && due()) {
+                    final long split = Math.max(startCodePosition, position - (i - from));
+                    final int splitIndex = (int) (i - (position - split));
+                    output(from, splitIndex - from);
+                    open();
+                    from = splitIndex;
+                    if (startCodePosition < split) {
+                        // Part of the start code went to the old segment, so start the new one with a whole code
+                        output(START_CODE, 0, START_CODE.length);
+                        from = i;
+                    }
+                }
+            }
+            if (b == 0) {
+                zeros++;
+            } else {
+                if (b == 1 && zeros >= 2) {
+                    nalHeaderNext = true;
+                    startCodePosition = position - Math.min(zeros, START_CODE_ZEROS);
+                }
+                zeros = 0;
+            }
+        }
+        output(from, end - from);
+    }
+
+    private boolean due() {
+        return segment == null
+            || restart
+            || (segmentPosition < connectionStart && position >= connectionStart)
+            || System.currentTimeMillis() - segmentStart >= segmentDuration;
+    }
+
+    private void output(final int offset, final int length) {
+        output(ring, offset, length);
+    }
+
+    /**
+     * Write bytes to the segment. Bytes before the first segment are skipped, and bytes that cannot be written are
+     * dropped.
+     */
+    private void output(final byte[] bytes, final int offset, final int length) {
+        if (segment == null || length <= 0) {
+            return;
+        }
+        try {
+            segment.write(bytes, offset, length);
+            written.addAndGet(length);
+        } catch (final IOException e) {
+            Logger.error(e);
+            dropped.addAndGet(length);
+            close();
+        }
+    }
+
+    private void open() {
+        close();
+        restart = false;
+        segmentStart = System.currentTimeMillis();
+        segmentPosition = position;
+        final File folder = new File(directory);
+        if (!folder.exists() && !folder.mkdirs()) {
+            Logger.warn("Could not create recording directory {}", directory);
+            return;
+        }
+        final File file = FileUtil.nextName(directory, camera, "h264");
+        try {
+            segment = new FileOutputStream(file);
+            segmentName = file.getPath();
+            Logger.info("Recording {} to {}", camera, segmentName);
+        } catch (final IOException e) {
+            Logger.error(e);
+        }
+    }
+
+    private void close() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (final IOException e) {
+            Logger.error(e);
+        }
+        segment = null;
+        segmentName = "";
+    }
+
+    private final class TeeInputStream extends FilterInputStream {
+        private final byte[] single = new byte[1];
+
+        private TeeInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                single[0] = (byte) b;
+                offer(this, single, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int count = super.read(bytes, offset, length);
+            offer(this, bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -2,12 +2,16 @@ package com.easternedgerobotics.rov.video;
 
 import com.easternedgerobotics.rov.config.VideoDecoderConfig;
 import com.easternedgerobotics.rov.event.EventPublisher;
+import com.easternedgerobotics.rov.value.RecordingValue;
+import com.easternedgerobotics.rov.value.VideoStatsValueA;
+import com.easternedgerobotics.rov.value.VideoStatsValueB;
 import com.easternedgerobotics.rov.value.VideoValueA;
 import com.easternedgerobotics.rov.value.VideoValueB;
 
 import javafx.scene.image.Image;
 import org.pmw.tinylog.Logger;
 import rx.Observable;
+import rx.subscriptions.CompositeSubscription;
 
 import java.net.InetAddress;
 import java.net.NetworkInterface;
@@ -16,6 +20,7 @@ import java.net.SocketException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public final class VideoDecoder {
     private final EventPublisher eventPublisher;
@@ -26,6 +31,16 @@ public final class VideoDecoder {
 
     private final FFmpegFXImageDecoder decoderB;
 
+    private final VideoStats statsA = new VideoStats(VideoStatsValueA::new);
+
+    private final VideoStats statsB = new VideoStats(VideoStatsValueB::new);
+
+    private final StreamRecorder recorderA;
+
+    private final StreamRecorder recorderB;
+
+    private final CompositeSubscription subscription = new CompositeSubscription();
+
     private final String broadcastIP;
 
     public VideoDecoder(
@@ -35,24 +50,14 @@ public final class VideoDecoder {
     ) {
         this.eventPublisher = eventPublisher;
         this.config = config;
-        this.decoderA = new FFmpegFXImageDecoder(
-            config.portA(),
-            config.format(),
-            config.frameRate(),
-            config.socketBacklog(),
-            config.bitrate(),
-            config.preset(),
-            config.numBuffers(),
-            config.introVideoLocation());
-        this.decoderB  = new FFmpegFXImageDecoder(
-            config.portB(),
-            config.format(),
-            config.frameRate(),
-            config.socketBacklog(),
-            config.bitrate(),
-            config.preset(),
-            config.numBuffers(),
-            config.introVideoLocation());
+        final long segmentDuration = TimeUnit.SECONDS.toMillis(config.recordingSegmentDuration());
+        this.recorderA = new StreamRecorder(
+            "cameraA", config.recordingDirectory(), segmentDuration, config.recordingBufferSize());
+        this.recorderB = new StreamRecorder(
+            "cameraB", config.recordingDirectory(), segmentDuration, config.recordingBufferSize());
+        this.decoderA = new FFmpegFXImageDecoder(config.portA(), config, statsA, recorderA);
+        this.decoderB = new FFmpegFXImageDecoder(config.portB(), config, statsB, recorderB);
+        eventPublisher.valuesOfType(RecordingValue.class).subscribe(this::record, Logger::error);
         final int lastLocation = broadcast.lastIndexOf('.');
         broadcastIP = broadcast.substring(0, lastLocation - 1);
     }
@@ -60,6 +65,13 @@ public final class VideoDecoder {
     public void start() {
         decoderA.start();
         decoderB.start();
+        subscription.add(Observable.interval(config.statsInterval(), TimeUnit.SECONDS)
+            .subscribe(tick -> {
+                eventPublisher.emit(statsA.stats());
+                eventPublisher.emit(statsB.stats());
+                eventPublisher.emit(recorderA.stats());
+                eventPublisher.emit(recorderB.stats());
+            }, Logger::error));
         boolean initialized = false;
         final List<String> ipAddresses = new ArrayList<String>();
         try {
@@ -93,6 +105,7 @@ public final class VideoDecoder {
     public void stop() {
         decoderA.stop();
         decoderB.stop();
+        subscription.clear();
     }
 
     public void restart() {
@@ -107,4 +120,32 @@ public final class VideoDecoder {
     public Observable<Image> cameraBImages() {
         return decoderB.getImages();
     }
+
+    public VideoStats cameraAStats() {
+        return statsA;
+    }
+
+    public VideoStats cameraBStats() {
+        return statsB;
+    }
+
+    /**
+     * Give back a camera image once it is no longer displayed, so its decoder can write the next frame into it.
+     *
+     * @param image the image from {@link #cameraAImages()} or {@link #cameraBImages()}
+     */
+    public void release(final Image image) {
+        decoderA.release(image);
+        decoderB.release(image);
+    }
+
+    private void record(final RecordingValue value) {
+        if (value.getRecording()) {
+            recorderA.start();
+            recorderB.start();
+        } else {
+            recorderA.stop();
+            recorderB.stop();
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package com.easternedgerobotics.rov.video;
+
+import com.easternedgerobotics.rov.value.VideoStatsValue;
+
+import rx.functions.Func7;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the frames of one camera stream from the socket to the screen, and how long they take to decode.
+ * <p>
+ * When the stream carries timestamps, the arrival time of each frame is compared with its timestamp. The smallest
+ * difference seen on a connection is taken as the delay of an unbuffered frame, so the excess over it is how far the
+ * displayed video has fallen behind the camera.
+ */
+public final class VideoStats {
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    /**
+     * Used to create instances of VideoStatsValue.
+     */
+    private final Func7<Long, Long, Long, Long, Long, Long, Long, ? extends VideoStatsValue> ctor;
+
+    private long received;
+
+    private long decoded;
+
+    private long displayed;
+
+    private long dropped;
+
+    private long decodeTime;
+
+    private long maxDecodeTime;
+
+    private long timestampLag = -1;
+
+    private long minimumOffset = Long.MAX_VALUE;
+
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /**
+     * Create stats for one camera.
+     *
+     * @param ctor creates the value reported for this camera
+     */
+    public VideoStats(final Func7<Long, Long, Long, Long, Long, Long, Long, ? extends VideoStatsValue> ctor) {
+        this.ctor = ctor;
+    }
+
+    /**
+     * Count a frame grabbed from the stream.
+     *
+     * @param timestamp the stream timestamp of the frame in microseconds, or zero if it has none
+     * @param arrival the time the frame was grabbed in microseconds
+     */
+    final synchronized void received(final long timestamp, final long arrival) {
+        received++;
+        if (timestamp <= 0) {
+            return;
+        }
+        if (timestamp < lastTimestamp) {
+            // The stream started again, such as after the intro video, so the old delay no longer applies
+            minimumOffset = Long.MAX_VALUE;
+        }
+        lastTimestamp = timestamp;
+        final long offset = arrival - timestamp;
+        minimumOffset = Math.min(minimumOffset, offset);
+        timestampLag = offset - minimumOffset;
+    }
+
+    /**
+     * Count a frame written to an image.
+     *
+     * @param nanos the time taken to decode and convert the frame, without waiting for the stream, in nanoseconds
+     */
+    final synchronized void decoded(final long nanos) {
+        final long micros = nanos / NANOS_PER_MICRO;
+        decoded++;
+        decodeTime += micros;
+        maxDecodeTime = Math.max(maxDecodeTime, micros);
+    }
+
+    /**
+     * Start measuring the delay of a new connection.
+     */
+    final synchronized void connected() {
+        minimumOffset = Long.MAX_VALUE;
+        lastTimestamp = Long.MIN_VALUE;
+        timestampLag = -1;
+    }
+
+    /**
+     * Count a frame shown on screen.
+     */
+    public final synchronized void displayed() {
+        displayed++;
+    }
+
+    /**
+     * Count a frame thrown away before it was shown.
+     */
+    public final synchronized void dropped() {
+        dropped++;
+    }
+
+    /**
+     * Returns the stats since the last call and starts counting again.
+     *
+     * @return the stats value
+     */
+    public final synchronized VideoStatsValue stats() {
+        long meanDecodeTime = 0;
+        if (decoded > 0) {
+            meanDecodeTime = decodeTime / decoded;
+        }
+        final VideoStatsValue value = ctor.call(
+            received, decoded, displayed, dropped, meanDecodeTime, maxDecodeTime, timestampLag);
+        received = 0;
+        decoded = 0;
+        displayed = 0;
+        dropped = 0;
+        decodeTime = 0;
+        maxDecodeTime = 0;
+        return value;
+    }
+}
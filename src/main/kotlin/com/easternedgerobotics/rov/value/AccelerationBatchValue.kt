@@ -0,0 +1,11 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * The acceleration samples buffered by an accelerometer since its last read, oldest first. The newest sample was
+ * taken at about the timestamp, in milliseconds, and each earlier sample one sample period, in microseconds, before.
+ */
+data class AccelerationBatchValue(
+    val timestamp: Long = 0,
+    val samplePeriod: Long = 0,
+    val samples: List<AccelerationValue> = emptyList()
+)
@@ -1,3 +1,4 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class AccelerationValue(val x: Float = 0f, val y: Float = 0f, val z: Float = 0f)
@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class AftPowerValue(override val speed: Float = 0f) : SpeedValue {
     constructor() : this(0f)
 }
@@ -0,0 +1,9 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Marks a value type as state rather than an event: only the newest value matters, so a value that has not been
+ * sent or delivered yet may be replaced by a newer one of the same type.
+ */
+@Target(AnnotationTarget.CLASS)
+@Retention(AnnotationRetention.RUNTIME)
+annotation class Conflate
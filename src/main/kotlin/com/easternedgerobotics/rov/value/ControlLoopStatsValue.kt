@@ -0,0 +1,14 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Timing of the ROV control loop since the last report. Times are in microseconds.
+ */
+@Conflate
+data class ControlLoopStatsValue(
+    val ticks: Long = 0,
+    val missed: Long = 0,
+    val meanJitter: Long = 0,
+    val maxJitter: Long = 0,
+    val meanCompute: Long = 0,
+    val maxCompute: Long = 0
+)
@@ -0,0 +1,7 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Asks the ROV to hold the depth it is at when engaged.
+ */
+@Conflate
+data class DepthHoldValue(val engaged: Boolean = false)
@@ -0,0 +1,8 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * The filtered depth of the ROV in metres, its vertical velocity in metres per second, both positive down, and the
+ * variance of the depth in square metres.
+ */
+@Conflate
+data class DepthStateValue(val depth: Float = 0f, val verticalVelocity: Float = 0f, val variance: Float = 0f)
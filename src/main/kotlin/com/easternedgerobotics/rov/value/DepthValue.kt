@@ -1,3 +1,4 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class DepthValue(val value: Float = 0f)
@@ -0,0 +1,3 @@
+package com.easternedgerobotics.rov.value
+
+data class EventBatchValue(val values: List<Any> = emptyList())
@@ -0,0 +1,12 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * The rates the external pressure sensor was sampled at since the last report, in hertz, and the number of failed
+ * reads.
+ */
+@Conflate
+data class ExternalPressureStatsValue(
+    val pressureRate: Float = 0f,
+    val temperatureRate: Float = 0f,
+    val errors: Long = 0
+)
@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class ExternalPressureValue(override val pressure: Float = 0f) : PressureValue {
     constructor() : this(0f)
 }
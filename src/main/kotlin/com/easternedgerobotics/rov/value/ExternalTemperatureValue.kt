@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class ExternalTemperatureValue(override val temperature: Float = 0f) : TemperatureValue {
     constructor() : this(0f)
 }
@@ -0,0 +1,7 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Asks the ROV to hold the heading it is at when engaged.
+ */
+@Conflate
+data class HeadingHoldValue(val engaged: Boolean = false)
@@ -0,0 +1,7 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * The share of time the I2C bus spent reading sensors since the last report, from 0 to 1.
+ */
+@Conflate
+data class I2CBusStatsValue(val utilization: Float = 0f, val reads: Long = 0)
@@ -0,0 +1,6 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * The number of targets sent to one Maestro channel and the number skipped because they had not changed.
+ */
+data class MaestroChannelStatsValue(val channel: Int = 0, val issued: Long = 0, val suppressed: Long = 0)
@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class MotionPowerValue(
     val global: Float = 0f,
     val heave: Float = 0f,
@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class MotionValue(
     val heave: Float = 0f,
     val sway: Float = 0f,
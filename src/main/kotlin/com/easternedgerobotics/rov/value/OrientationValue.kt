@@ -0,0 +1,15 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Attitude and heading of the ROV as a unit quaternion, with the same rotation as roll, pitch and yaw in degrees.
+ */
+@Conflate
+data class OrientationValue(
+    val w: Float = 1f,
+    val x: Float = 0f,
+    val y: Float = 0f,
+    val z: Float = 0f,
+    val roll: Float = 0f,
+    val pitch: Float = 0f,
+    val yaw: Float = 0f
+)
@@ -1,5 +1,6 @@
 package com.easternedgerobotics.rov.value
 
+@Conflate
 data class RasprimeCpuValue(
     override val frequency: Long = 0,
     override val temperature: Float = 0f,
@@ -0,0 +1,13 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * The recording state of one camera stream: whether it is recording, the segment file being written, if any, and the
+ * bytes written to disk and dropped because the disk fell behind since the last report.
+ */
+data class RecordingStatsValue(
+    val camera: String = "",
+    val recording: Boolean = false,
+    val segment: String = "",
+    val written: Long = 0,
+    val dropped: Long = 0
+)
@@ -0,0 +1,7 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Starts or stops recording the camera streams on the topside.
+ */
+@Conflate
+data class RecordingValue(val recording: Boolean = false)
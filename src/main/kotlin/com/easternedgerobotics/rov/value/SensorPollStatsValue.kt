@@ -0,0 +1,12 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * How often one sensor was read since the last report, against its configured rate. Rates are in hertz and the
+ * read time in microseconds.
+ */
+data class SensorPollStatsValue(
+    val sensor: String = "",
+    val rate: Float = 0f,
+    val achievedRate: Float = 0f,
+    val meanReadTime: Long = 0
+)
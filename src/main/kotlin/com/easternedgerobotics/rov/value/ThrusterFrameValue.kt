@@ -0,0 +1,35 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Every output written to the thrusters, motors and lights in one control tick.
+ */
+@Conflate
+data class ThrusterFrameValue(
+    val sequence: Long = 0,
+    val portAft: Float = 0f,
+    val starboardAft: Float = 0f,
+    val portFore: Float = 0f,
+    val starboardFore: Float = 0f,
+    val vertAft: Float = 0f,
+    val vertFore: Float = 0f,
+    val cameraA: Float = 0f,
+    val cameraB: Float = 0f,
+    val toolingA: Float = 0f,
+    val toolingB: Float = 0f,
+    val toolingC: Float = 0f,
+    val lightA: Float = 0f,
+    val lightB: Float = 0f
+) {
+    /**
+     * @return The thruster speeds of this frame as the per-thruster values.
+     */
+    fun thrusterSpeedValues(): List<SpeedValue> {
+        return listOf(
+            PortAftSpeedValue(portAft),
+            StarboardAftSpeedValue(starboardAft),
+            PortForeSpeedValue(portFore),
+            StarboardForeSpeedValue(starboardFore),
+            VertAftSpeedValue(vertAft),
+            VertForeSpeedValue(vertFore))
+    }
+}
@@ -0,0 +1,18 @@
+package com.easternedgerobotics.rov.value
+
+/**
+ * Frame counts of a camera stream on the topside since the last report. A frame is received when the decoder grabs
+ * it, decoded once it is in a JavaFX image, and then either displayed or dropped. Decode times are in microseconds
+ * and leave out the time spent waiting for the camera to send the frame. The timestamp lag, in microseconds, is how
+ * much later the newest frame arrived than its stream timestamp predicts, compared with the earliest frame of the
+ * connection, or -1 without stream timestamps.
+ */
+interface VideoStatsValue {
+    val received: Long
+    val decoded: Long
+    val displayed: Long
+    val dropped: Long
+    val meanDecodeTime: Long
+    val maxDecodeTime: Long
+    val timestampLag: Long
+}
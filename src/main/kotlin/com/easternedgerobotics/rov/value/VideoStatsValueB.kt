@@ -0,0 +1,14 @@
+package com.easternedgerobotics.rov.value
+
+@Conflate
+data class VideoStatsValueB(
+        override val received: Long = 0,
+        override val decoded: Long = 0,
+        override val displayed: Long = 0,
+        override val dropped: Long = 0,
+        override val meanDecodeTime: Long = 0,
+        override val maxDecodeTime: Long = 0,
+        override val timestampLag: Long = -1
+) : VideoStatsValue {
+    constructor() : this(0, 0, 0, 0, 0, 0, -1)
+}
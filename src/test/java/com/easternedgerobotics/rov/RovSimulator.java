@@ -3,9 +3,12 @@ package com.easternedgerobotics.rov;
 import com.easternedgerobotics.rov.config.LaunchConfig;
 import com.easternedgerobotics.rov.config.MockLaunchConfig;
 import com.easternedgerobotics.rov.config.MockRovConfig;
+import com.easternedgerobotics.rov.control.ControlLoop;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.io.MockPressureSensor;
+import com.easternedgerobotics.rov.io.SensorPollScheduler;
 import com.easternedgerobotics.rov.io.devices.MockBluetooth;
 import com.easternedgerobotics.rov.io.pololu.MockAltIMU;
 import com.easternedgerobotics.rov.io.pololu.MockMaestro;
@@ -19,6 +22,7 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
 
 public final class RovSimulator {
     private RovSimulator() {
@@ -31,7 +35,7 @@ public final class RovSimulator {
         final int broadcastPort = launchConfig.defaultBroadcastPort();
         final DatagramSocket socket = new DatagramSocket(broadcastPort);
         final EventPublisher eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-            socket, broadcastAddress, broadcastPort, new BasicOrder<>()));
+            socket, broadcastAddress, broadcastPort, new BasicOrder<>()), new BinaryValueCodec());
         final MockMaestro maestro = new MockMaestro();
         final MockAltIMU imu = new MockAltIMU();
         final MockPressureSensor pressureSensor = new MockPressureSensor();
@@ -41,7 +45,15 @@ public final class RovSimulator {
 
         Runtime.getRuntime().addShutdownHook(new Thread(rov::shutdown));
 
-        rov.init(Schedulers.io(), Schedulers.newThread(), Schedulers.computation());
+        rov.init(
+            new ControlLoop(
+                config.sleepDuration(),
+                TimeUnit.MILLISECONDS,
+                Schedulers.newThread(),
+                System::nanoTime,
+                ControlLoop.DEFAULT_PRIORITY),
+            new SensorPollScheduler(config.sensorPollInterval(), TimeUnit.MILLISECONDS, Schedulers.newThread()),
+            Schedulers.computation());
         Logger.info("Started");
         eventPublisher.await();
     }
@@ -2,18 +2,23 @@ package com.easternedgerobotics.rov;
 
 import com.easternedgerobotics.rov.config.MockRovConfig;
 import com.easternedgerobotics.rov.config.RovConfig;
+import com.easternedgerobotics.rov.control.ControlLoop;
 import com.easternedgerobotics.rov.io.MockPressureSensor;
+import com.easternedgerobotics.rov.io.SensorPollScheduler;
 import com.easternedgerobotics.rov.io.devices.MockBluetooth;
 import com.easternedgerobotics.rov.io.pololu.MockAltIMU;
 import com.easternedgerobotics.rov.io.pololu.MockMaestro;
 import com.easternedgerobotics.rov.test.OrgPwmTinylogSuppressionRule;
 import com.easternedgerobotics.rov.test.TestEventPublisher;
+import com.easternedgerobotics.rov.value.AccelerationValue;
 import com.easternedgerobotics.rov.value.AftPowerValue;
 import com.easternedgerobotics.rov.value.CameraSpeedValueA;
 import com.easternedgerobotics.rov.value.CameraSpeedValueB;
+import com.easternedgerobotics.rov.value.DepthStateValue;
 import com.easternedgerobotics.rov.value.ForePowerValue;
 import com.easternedgerobotics.rov.value.GlobalPowerValue;
 import com.easternedgerobotics.rov.value.HeavePowerValue;
+import com.easternedgerobotics.rov.value.InternalPressureValue;
 import com.easternedgerobotics.rov.value.LightASpeedValue;
 import com.easternedgerobotics.rov.value.MotionValue;
 import com.easternedgerobotics.rov.value.PitchPowerValue;
@@ -25,11 +30,13 @@ import com.easternedgerobotics.rov.value.TopsideHeartbeatValue;
 import com.easternedgerobotics.rov.value.YawPowerValue;
 
 import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mockito;
 import org.mockito.hamcrest.MockitoHamcrest;
+import rx.observers.TestSubscriber;
 import rx.schedulers.TestScheduler;
 
 import java.util.concurrent.TimeUnit;
@@ -51,7 +58,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
 
         Mockito.verify(maestro.get(ROV_CONFIG.starboardForeChannel())).writeZero();
         Mockito.verify(maestro.get(ROV_CONFIG.vertForeChannel())).writeZero();
@@ -61,6 +71,33 @@ public class RovTest {
         Mockito.verify(maestro.get(ROV_CONFIG.portAftChannel())).writeZero();
     }
 
+    @Test
+    public final void doesEstimateDepthFromFirstExternalPressureReading() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final MockMaestro maestro = new MockMaestro();
+        final MockAltIMU imu = new MockAltIMU();
+        final MockPressureSensor pressureSensor = new MockPressureSensor();
+        final MockBluetooth bluetooth = new MockBluetooth();
+        final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
+        final TestSubscriber<DepthStateValue> states = new TestSubscriber<>();
+        eventPublisher.valuesOfType(DepthStateValue.class).subscribe(states);
+        // At rest, reading 1 g upwards
+        imu.setAcceleration(new AccelerationValue(0, 0, 1 / 0.000061f));
+
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        states.assertNoValues();
+
+        pressureSensor.setPressure(new InternalPressureValue(121.0f));
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        final DepthStateValue state = states.getOnNextEvents().get(states.getOnNextEvents().size() - 1);
+        Assert.assertEquals(2, state.getDepth(), 0.05);
+    }
+
     @Test
     public final void doesSoftShutdownAfterFalseHeartbeatFromTopside() {
         final TestScheduler scheduler = new TestScheduler();
@@ -71,7 +108,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(false));
         scheduler.advanceTimeBy(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS);
 
@@ -93,7 +133,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         scheduler.advanceTimeBy(ROV_CONFIG.maxHeartbeatGap(), TimeUnit.SECONDS);
 
         Mockito.verify(maestro.get(ROV_CONFIG.starboardForeChannel()), Mockito.times(2)).writeZero();
@@ -114,7 +157,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(false));
         scheduler.advanceTimeBy(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS);
 
@@ -136,7 +182,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(true));
         eventPublisher.emit(new GlobalPowerValue(1));
         eventPublisher.emit(new HeavePowerValue(1));
@@ -158,24 +207,24 @@ public class RovTest {
         Mockito.verify(maestro.get(ROV_CONFIG.vertAftChannel())).writeZero();
         Mockito.verify(maestro.get(ROV_CONFIG.portAftChannel())).writeZero();
 
-        Mockito.verify(maestro.get(ROV_CONFIG.starboardForeChannel())).write(0);
-        Mockito.verify(maestro.get(ROV_CONFIG.starboardForeChannel())).write(
+        Mockito.verify(maestro.get(ROV_CONFIG.starboardForeChannel()), Mockito.never()).write(0);
+        Mockito.verify(maestro.get(ROV_CONFIG.starboardForeChannel()), Mockito.times(2)).write(
             MockitoHamcrest.floatThat(CoreMatchers.not(0f)));
 
         Mockito.verify(maestro.get(ROV_CONFIG.vertForeChannel()), Mockito.times(2)).write(0);
 
-        Mockito.verify(maestro.get(ROV_CONFIG.starboardAftChannel())).write(0);
-        Mockito.verify(maestro.get(ROV_CONFIG.starboardAftChannel())).write(
+        Mockito.verify(maestro.get(ROV_CONFIG.starboardAftChannel()), Mockito.never()).write(0);
+        Mockito.verify(maestro.get(ROV_CONFIG.starboardAftChannel()), Mockito.times(2)).write(
             MockitoHamcrest.floatThat(CoreMatchers.not(0f)));
 
-        Mockito.verify(maestro.get(ROV_CONFIG.portForeChannel())).write(0);
-        Mockito.verify(maestro.get(ROV_CONFIG.portForeChannel())).write(
+        Mockito.verify(maestro.get(ROV_CONFIG.portForeChannel()), Mockito.never()).write(0);
+        Mockito.verify(maestro.get(ROV_CONFIG.portForeChannel()), Mockito.times(2)).write(
             MockitoHamcrest.floatThat(CoreMatchers.not(0f)));
 
         Mockito.verify(maestro.get(ROV_CONFIG.vertAftChannel()), Mockito.times(2)).write(0);
 
-        Mockito.verify(maestro.get(ROV_CONFIG.portAftChannel())).write(0);
-        Mockito.verify(maestro.get(ROV_CONFIG.portAftChannel())).write(
+        Mockito.verify(maestro.get(ROV_CONFIG.portAftChannel()), Mockito.never()).write(0);
+        Mockito.verify(maestro.get(ROV_CONFIG.portAftChannel()), Mockito.times(2)).write(
             MockitoHamcrest.floatThat(CoreMatchers.not(0f)));
     }
 
@@ -189,7 +238,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(true));
         eventPublisher.emit(new CameraSpeedValueA(1));
         scheduler.advanceTimeBy(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS);
@@ -207,7 +259,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(true));
         eventPublisher.emit(new CameraSpeedValueB(1));
         scheduler.advanceTimeBy(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS);
@@ -225,7 +280,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(true));
         eventPublisher.emit(new ToolingASpeedValue(1));
         scheduler.advanceTimeBy(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS);
@@ -243,7 +301,10 @@ public class RovTest {
         final MockBluetooth bluetooth = new MockBluetooth();
         final Rov rov = new Rov(eventPublisher, maestro, imu, pressureSensor, bluetooth, ROV_CONFIG);
 
-        rov.init(scheduler, scheduler, scheduler);
+        rov.init(
+            new ControlLoop(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS, scheduler),
+            new SensorPollScheduler(ROV_CONFIG.sensorPollInterval(), TimeUnit.MILLISECONDS, scheduler),
+            scheduler);
         eventPublisher.emit(new TopsideHeartbeatValue(true));
         eventPublisher.emit(new LightASpeedValue(1));
         scheduler.advanceTimeBy(ROV_CONFIG.sleepDuration(), TimeUnit.MILLISECONDS);
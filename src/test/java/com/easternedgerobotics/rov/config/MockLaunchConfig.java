@@ -32,4 +32,19 @@ public final class MockLaunchConfig implements LaunchConfig {
     public int fileReceiverSocketBacklog() {
         return 100;
     }
+
+    @Override
+    public int emitQueueCapacity() {
+        return 256;
+    }
+
+    @Override
+    public int emitBatchSize() {
+        return 16;
+    }
+
+    @Override
+    public long emitFlushInterval() {
+        return 5;
+    }
 }
@@ -14,14 +14,73 @@ public final class MockRovConfig implements RovConfig {
         return 10;
     }
 
+    public float accelerometerPollRate() {
+        return 50;
+    }
+
+    public float gyroscopePollRate() {
+        return 100;
+    }
+
+    public float magnetometerPollRate() {
+        return 6.25f;
+    }
+
+    public float internalBarometerPollRate() {
+        return 12.5f;
+    }
+
+    public float internalThermometerPollRate() {
+        return 1;
+    }
+
+    public float externalBarometerPollRate() {
+        return 5;
+    }
+
+    public float externalThermometerPollRate() {
+        return 1;
+    }
+
     public long sleepDuration() {
         return 100;
     }
 
+    public int controlLoopPriority() {
+        return 0;
+    }
+
     public byte maestroDeviceNumber() {
         return 0x01;
     }
 
+    public long maestroKeepAliveInterval() {
+        return 1000;
+    }
+
+    public float[] thrusterGeometry() {
+        return new float[] {
+            -0.5f, -0.5f, 0, -1, 1, 0,
+            0.5f, -0.5f, 0, 1, 1, 0,
+            -0.5f, 0.5f, 0, -1, -1, 0,
+            0.5f, 0.5f, 0, 1, -1, 0,
+            0, -1, 0, 0, 0, 1,
+            0, 1, 0, 0, 0, 1,
+        };
+    }
+
+    public boolean[] thrusterCompensated() {
+        return new boolean[] {false, false, false, false, true, true};
+    }
+
+    public float[] thrusterOutputCurve() {
+        return new float[] {
+            1100.0f, 1123.0f, 1147.0f, 1172.2f, 1199.0f, 1227.6f, 1258.6f, 1292.9f, 1332.2f, 1380.8f,
+            1500.0f,
+            1619.2f, 1667.8f, 1707.1f, 1741.4f, 1772.4f, 1801.0f, 1827.8f, 1853.0f, 1877.0f, 1900.0f,
+        };
+    }
+
     public byte portAftChannel() {
         return 0x01;
     }
@@ -78,6 +137,34 @@ public final class MockRovConfig implements RovConfig {
         return false;
     }
 
+    public boolean imuFifoEnabled() {
+        return false;
+    }
+
+    public boolean imuRawPublished() {
+        return true;
+    }
+
+    public float ahrsGain() {
+        return 0.1f;
+    }
+
+    public long orientationPublishInterval() {
+        return 100;
+    }
+
+    public float[] depthHoldGains() {
+        return new float[] {0.8f, 0.1f, 0.6f};
+    }
+
+    public float[] headingHoldGains() {
+        return new float[] {0.02f, 0.002f, 0.01f};
+    }
+
+    public float holdOverrideDeadband() {
+        return 0.05f;
+    }
+
     public int i2cBus() {
         return 1;
     }
@@ -102,7 +189,19 @@ public final class MockRovConfig implements RovConfig {
         return 9600;
     }
 
-    public int pressureSensorConvertTime() {
-        return 9600;
+    public int pressureSensorOversampling() {
+        return 8192;
+    }
+
+    public int pressureSensorTemperatureInterval() {
+        return 10;
+    }
+
+    public float depthFilterAccelerationNoise() {
+        return 0.5f;
+    }
+
+    public float depthFilterDepthNoise() {
+        return 0.01f;
     }
 }
@@ -0,0 +1,81 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.value.ControlLoopStatsValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public final class ControlLoopTest {
+    @Test
+    public final void ticksDoEmitOncePerPeriod() {
+        final TestScheduler scheduler = new TestScheduler();
+        final ControlLoop loop = new ControlLoop(100, TimeUnit.MILLISECONDS, scheduler);
+        final TestSubscriber<Long> ticks = new TestSubscriber<>();
+        loop.ticks().subscribe(ticks);
+
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        ticks.assertNoValues();
+        scheduler.advanceTimeBy(201, TimeUnit.MILLISECONDS);
+
+        ticks.assertValues(0L, 1L, 2L);
+        Assert.assertEquals(new ControlLoopStatsValue(3, 0, 0, 0, 0, 0), loop.stats());
+    }
+
+    @Test
+    public final void ticksDoStopWhenUnsubscribed() {
+        final TestScheduler scheduler = new TestScheduler();
+        final ControlLoop loop = new ControlLoop(100, TimeUnit.MILLISECONDS, scheduler);
+        final TestSubscriber<Long> ticks = new TestSubscriber<>();
+        final Subscription subscription = loop.ticks().subscribe(ticks);
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        subscription.unsubscribe();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ticks.assertValues(0L);
+    }
+
+    @Test
+    public final void tickThatOverrunsDoesSkipMissedDeadlines() {
+        final TestScheduler scheduler = new TestScheduler();
+        final AtomicLong offset = new AtomicLong();
+        final ControlLoop loop = new ControlLoop(
+            100,
+            TimeUnit.MILLISECONDS,
+            scheduler,
+            () -> TimeUnit.MILLISECONDS.toNanos(scheduler.now()) + offset.get(),
+            ControlLoop.DEFAULT_PRIORITY);
+        final TestSubscriber<Long> ticks = new TestSubscriber<>();
+        loop.ticks().doOnNext(tick -> {
+            if (tick == 1) {
+                offset.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+            }
+        }).subscribe(ticks);
+
+        scheduler.advanceTimeBy(250, TimeUnit.MILLISECONDS);
+
+        ticks.assertValues(0L, 1L, 2L);
+        Assert.assertEquals(new ControlLoopStatsValue(3, 2, 0, 0, 83333, 250000), loop.stats());
+    }
+
+    @Test
+    public final void statsDoStartANewWindowButTotalsDoNot() {
+        final TestScheduler scheduler = new TestScheduler();
+        final ControlLoop loop = new ControlLoop(100, TimeUnit.MILLISECONDS, scheduler);
+        loop.ticks().subscribe();
+
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        loop.stats();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(1, loop.stats().getTicks());
+        Assert.assertEquals(3, loop.totalStats().getTicks());
+    }
+}
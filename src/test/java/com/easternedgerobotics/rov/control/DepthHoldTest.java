@@ -0,0 +1,142 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.math.DepthKalmanFilter;
+import com.easternedgerobotics.rov.test.TestEventPublisher;
+import com.easternedgerobotics.rov.value.DepthHoldValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class DepthHoldTest {
+    private static final float PERIOD = 0.1f;
+
+    private static final float[] GAINS = {0.8f, 0.1f, 0.6f};
+
+    @Test
+    public final void doesHoldDepthAgainstNegativeBuoyancy() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final VerticalPlant plant = new VerticalPlant(2);
+        final DepthHold hold = new DepthHold(eventPublisher, plant.filter, new PidController(GAINS, 1), PERIOD, 0.05f);
+
+        eventPublisher.emit(new DepthHoldValue(true));
+        scheduler.triggerActions();
+        plant.run(hold, 0, 60);
+
+        Assert.assertEquals(2, plant.depth, 0.02);
+        Assert.assertEquals(0, plant.velocity, 0.01);
+    }
+
+    @Test
+    public final void doesNothingUntilEngaged() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final VerticalPlant plant = new VerticalPlant(2);
+        final DepthHold hold = new DepthHold(eventPublisher, plant.filter, new PidController(GAINS, 1), PERIOD, 0.05f);
+
+        plant.run(hold, 0, 10);
+
+        Assert.assertTrue(plant.depth > 2.4);
+    }
+
+    @Test
+    public final void pilotDoesOverrideAndSetNewTarget() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final VerticalPlant plant = new VerticalPlant(2);
+        final DepthHold hold = new DepthHold(eventPublisher, plant.filter, new PidController(GAINS, 1), PERIOD, 0.05f);
+
+        eventPublisher.emit(new DepthHoldValue(true));
+        scheduler.triggerActions();
+        plant.run(hold, 0, 20);
+        plant.run(hold, -0.5f, 3);
+        final float released = plant.depth;
+        plant.run(hold, 0, 60);
+
+        Assert.assertTrue(released > 2.5);
+        Assert.assertEquals(released, plant.depth, 0.3);
+        Assert.assertEquals(0, plant.velocity, 0.01);
+    }
+
+    @Test
+    public final void releasingDoesStopHolding() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final VerticalPlant plant = new VerticalPlant(2);
+        final DepthHold hold = new DepthHold(eventPublisher, plant.filter, new PidController(GAINS, 1), PERIOD, 0.05f);
+
+        eventPublisher.emit(new DepthHoldValue(true));
+        scheduler.triggerActions();
+        plant.run(hold, 0, 20);
+        eventPublisher.emit(new DepthHoldValue(false));
+        scheduler.triggerActions();
+        final float[] motion = new float[ThrustAllocator.DEGREES_OF_FREEDOM];
+        motion[ThrustAllocator.HEAVE] = 0.3f;
+        hold.assist(motion);
+
+        Assert.assertEquals(0.3f, motion[ThrustAllocator.HEAVE], 0);
+    }
+
+    @Test
+    public final void doesNothingBeforeFirstDepthReading() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final DepthHold hold = new DepthHold(
+            eventPublisher, new DepthKalmanFilter(0.5f, 0.01f), new PidController(GAINS, 1), PERIOD, 0.05f);
+
+        eventPublisher.emit(new DepthHoldValue(true));
+        scheduler.triggerActions();
+        final float[] motion = new float[ThrustAllocator.DEGREES_OF_FREEDOM];
+        hold.assist(motion);
+
+        Assert.assertEquals(0, motion[ThrustAllocator.HEAVE], 0);
+    }
+
+    /**
+     * A slightly heavy ROV moving vertically in fresh water, with linear drag and a heave command that pushes up. Its
+     * depth estimate is corrected with the true depth once per control tick.
+     */
+    private static final class VerticalPlant {
+        private static final float THRUST = 0.5f;
+
+        private static final float DRAG = 1;
+
+        private static final float SINK = 0.05f;
+
+        private static final int STEPS_PER_PERIOD = 10;
+
+        private final DepthKalmanFilter filter = new DepthKalmanFilter(0.5f, 0.01f);
+
+        /**
+         * Depth in metres, positive down.
+         */
+        private float depth;
+
+        /**
+         * Velocity in metres per second, positive down.
+         */
+        private float velocity;
+
+        VerticalPlant(final float depth) {
+            this.depth = depth;
+        }
+
+        void run(final MotionAssist assist, final float pilotHeave, final float seconds) {
+            final float[] motion = new float[ThrustAllocator.DEGREES_OF_FREEDOM];
+            for (int tick = 0; tick < seconds / PERIOD; tick++) {
+                filter.correct(depth);
+                motion[ThrustAllocator.HEAVE] = pilotHeave;
+                assist.assist(motion);
+                final float dt = PERIOD / STEPS_PER_PERIOD;
+                for (int i = 0; i < STEPS_PER_PERIOD; i++) {
+                    final float acceleration = SINK - THRUST * motion[ThrustAllocator.HEAVE] - DRAG * velocity;
+                    velocity += acceleration * dt;
+                    depth += velocity * dt;
+                    filter.predict(acceleration, dt);
+                }
+            }
+        }
+    }
+}
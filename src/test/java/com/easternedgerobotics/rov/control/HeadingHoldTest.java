@@ -0,0 +1,123 @@
+package com.easternedgerobotics.rov.control;
+
+import com.easternedgerobotics.rov.math.MadgwickAhrs;
+import com.easternedgerobotics.rov.test.TestEventPublisher;
+import com.easternedgerobotics.rov.value.HeadingHoldValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class HeadingHoldTest {
+    private static final long PERIOD = 100;
+
+    private static final float[] GAINS = {0.02f, 0.002f, 0.01f};
+
+    @Test
+    public final void doesHoldHeadingAgainstDisturbance() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final RotationalPlant plant = new RotationalPlant(eventPublisher, scheduler, 0);
+
+        eventPublisher.emit(new HeadingHoldValue(true));
+        scheduler.advanceTimeBy(60, TimeUnit.SECONDS);
+
+        Assert.assertEquals(0, plant.ahrs.yaw(), 1);
+        Assert.assertEquals(0, plant.rate, 0.1);
+    }
+
+    @Test
+    public final void doesTurnTheShortWayAcrossSouth() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final RotationalPlant plant = new RotationalPlant(eventPublisher, scheduler, 178);
+
+        eventPublisher.emit(new HeadingHoldValue(true));
+        scheduler.advanceTimeBy(60, TimeUnit.SECONDS);
+
+        Assert.assertEquals(178, plant.angle, 2);
+        Assert.assertEquals(178, plant.ahrs.yaw(), 2);
+    }
+
+    @Test
+    public final void doesDriftUntilEngaged() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final RotationalPlant plant = new RotationalPlant(eventPublisher, scheduler, 0);
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        Assert.assertTrue(plant.angle > 20);
+    }
+
+    @Test
+    public final void pilotDoesOverrideAndSetNewTarget() {
+        final TestScheduler scheduler = new TestScheduler();
+        final TestEventPublisher eventPublisher = new TestEventPublisher(scheduler);
+        final RotationalPlant plant = new RotationalPlant(eventPublisher, scheduler, 0);
+
+        eventPublisher.emit(new HeadingHoldValue(true));
+        scheduler.advanceTimeBy(20, TimeUnit.SECONDS);
+        plant.pilotYaw = 0.5f;
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        plant.pilotYaw = 0;
+        final float released = plant.ahrs.yaw();
+        scheduler.advanceTimeBy(60, TimeUnit.SECONDS);
+
+        Assert.assertTrue(released > 20);
+        Assert.assertEquals(released, plant.ahrs.yaw(), 10);
+        Assert.assertEquals(0, plant.rate, 0.1);
+    }
+
+    /**
+     * A ROV turning about its vertical axis with linear drag and a steady disturbing torque. Each control tick it
+     * integrates ten gyroscope samples into the orientation estimate.
+     */
+    private static final class RotationalPlant {
+        private static final float TORQUE = 60;
+
+        private static final float DRAG = 1;
+
+        private static final float DISTURBANCE = 3;
+
+        private static final int SAMPLES_PER_TICK = 10;
+
+        private final MadgwickAhrs ahrs = new MadgwickAhrs(0.1f);
+
+        private final float[] motion = new float[ThrustAllocator.DEGREES_OF_FREEDOM];
+
+        /**
+         * The heading in degrees, not wrapped.
+         */
+        private float angle;
+
+        /**
+         * The yaw rate in degrees per second.
+         */
+        private float rate;
+
+        private float pilotYaw;
+
+        RotationalPlant(final TestEventPublisher eventPublisher, final TestScheduler scheduler, final float start) {
+            final HeadingHold hold = new HeadingHold(
+                eventPublisher, ahrs, new PidController(GAINS, 1), PERIOD / 1000f, 0.05f);
+            this.angle = start;
+            for (int i = 0; i < 100; i++) {
+                ahrs.update(0, 0, (float) Math.toRadians(start), 0.01f);
+            }
+            new ControlLoop(PERIOD, TimeUnit.MILLISECONDS, scheduler).ticks().subscribe(tick -> {
+                motion[ThrustAllocator.YAW] = pilotYaw;
+                hold.assist(motion);
+                final float dt = PERIOD / 1000f / SAMPLES_PER_TICK;
+                for (int i = 0; i < SAMPLES_PER_TICK; i++) {
+                    rate += (TORQUE * motion[ThrustAllocator.YAW] + DISTURBANCE - DRAG * rate) * dt;
+                    angle += rate * dt;
+                    ahrs.update(0, 0, (float) Math.toRadians(rate), dt);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.easternedgerobotics.rov.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class PidControllerTest {
+    @Test
+    public final void outputIsProportionalToError() {
+        final PidController pid = new PidController(0.5f, 0, 0, 1);
+        Assert.assertEquals(0.25f, pid.update(0.5f, 0, 0.1f), 1e-6);
+        Assert.assertEquals(-0.1f, pid.update(-0.2f, 0, 0.1f), 1e-6);
+    }
+
+    @Test
+    public final void outputIsClampedToTheLimit() {
+        final PidController pid = new PidController(1, 0, 0, 0.5f);
+        Assert.assertEquals(0.5f, pid.update(3, 0, 0.1f), 0);
+        Assert.assertEquals(-0.5f, pid.update(-3, 0, 0.1f), 0);
+    }
+
+    @Test
+    public final void integralDoesAccumulateError() {
+        final PidController pid = new PidController(0, 1, 0, 1);
+        for (int i = 0; i < 5; i++) {
+            pid.update(0.2f, 0, 0.1f);
+        }
+        Assert.assertEquals(0.12f, pid.update(0.2f, 0, 0.1f), 1e-6);
+    }
+
+    @Test
+    public final void derivativeDoesDampTheMeasuredRate() {
+        final PidController pid = new PidController(0, 0, 0.5f, 1);
+        Assert.assertEquals(-0.25f, pid.update(0, 0.5f, 0.1f), 1e-6);
+    }
+
+    @Test
+    public final void integralDoesNotWindUpWhileSaturated() {
+        final PidController pid = new PidController(0.5f, 1, 0, 1);
+        for (int i = 0; i < 1000; i++) {
+            pid.update(10, 0, 0.1f);
+        }
+        Assert.assertTrue(pid.update(-0.1f, 0, 0.1f) < 0);
+    }
+
+    @Test
+    public final void resetDoesForgetTheIntegral() {
+        final PidController pid = new PidController(0, 1, 0, 1);
+        pid.update(1, 0, 0.5f);
+        pid.reset();
+        Assert.assertEquals(0.1f, pid.update(1, 0, 0.1f), 1e-6);
+    }
+}
@@ -16,16 +16,19 @@ import com.easternedgerobotics.rov.value.StarboardAftSpeedValue;
 import com.easternedgerobotics.rov.value.StarboardForeSpeedValue;
 import com.easternedgerobotics.rov.value.SurgePowerValue;
 import com.easternedgerobotics.rov.value.SwayPowerValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 import com.easternedgerobotics.rov.value.VertAftSpeedValue;
 import com.easternedgerobotics.rov.value.VertForeSpeedValue;
 import com.easternedgerobotics.rov.value.YawPowerValue;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import rx.Observable;
 import rx.schedulers.TestScheduler;
 import rx.subjects.TestSubject;
 
@@ -164,6 +167,7 @@ public class SixThrusterConfigTest {
         final TestSubject<AftPowerValue> aftPowerValues = TestSubject.create(testScheduler);
         final TestSubject<ForePowerValue> forePowerValues = TestSubject.create(testScheduler);
 
+        Mockito.when(eventPublisher.valuesOfType(Mockito.any())).thenReturn(Observable.never());
         Mockito.when(eventPublisher.valuesOfType(MotionValue.class)).thenReturn(motionValues);
         Mockito.when(eventPublisher.valuesOfType(GlobalPowerValue.class)).thenReturn(globalPowerValues);
         Mockito.when(eventPublisher.valuesOfType(HeavePowerValue.class)).thenReturn(heavePowerValues);
@@ -190,12 +194,13 @@ public class SixThrusterConfigTest {
         motionValues.onNext(motionValue);
         testScheduler.triggerActions();
 
-        sixThrusterConfig.update();
+        final ThrusterFrameValue frame = sixThrusterConfig.update();
 
-        final ArgumentCaptor<SpeedValue> captor = ArgumentCaptor.forClass(SpeedValue.class);
-        Mockito.verify(eventPublisher, Mockito.times(6)).emit(captor.capture());
+        final ArgumentCaptor<ThrusterFrameValue> captor = ArgumentCaptor.forClass(ThrusterFrameValue.class);
+        Mockito.verify(eventPublisher).emit(captor.capture());
+        Assert.assertEquals(frame, captor.getValue());
         CollectionAssert.assertItemsMatchPredicateInOrder(
-            captor.getAllValues(), expectedThrusterValues, (a, b) ->
+            frame.thrusterSpeedValues(), expectedThrusterValues, (a, b) ->
                 a.getClass().equals(b.getClass()) && Math.abs(a.getSpeed() - b.getSpeed()) <= 0.0001);
     }
 }
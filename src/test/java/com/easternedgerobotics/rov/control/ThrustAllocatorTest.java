@@ -0,0 +1,66 @@
+package com.easternedgerobotics.rov.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class ThrustAllocatorTest {
+    /**
+     * Two forward facing thrusters side by side, port then starboard.
+     */
+    private static final float[] TWIN_GEOMETRY = {
+        -1, 0, 0, 0, 1, 0,
+        1, 0, 0, 0, 1, 0,
+    };
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void geometryOfTheWrongLengthIsRejected() {
+        new ThrustAllocator(new float[] {0, 0, 0, 0, 1}, new boolean[] {false});
+    }
+
+    @Test
+    public final void surgeDoesDriveTwinThrustersEqually() {
+        final ThrustAllocator allocator = new ThrustAllocator(TWIN_GEOMETRY, new boolean[] {false, false});
+        final float[] outputs = new float[2];
+
+        allocator.allocate(motion(ThrustAllocator.SURGE, 0.5f), outputs);
+
+        Assert.assertArrayEquals(new float[] {0.5f, 0.5f}, outputs, 1e-4f);
+    }
+
+    @Test
+    public final void yawDoesDriveTwinThrustersOpposite() {
+        final ThrustAllocator allocator = new ThrustAllocator(TWIN_GEOMETRY, new boolean[] {false, false});
+        final float[] outputs = new float[2];
+
+        allocator.allocate(motion(ThrustAllocator.YAW, 1), outputs);
+
+        Assert.assertArrayEquals(new float[] {-1, 1}, outputs, 1e-4f);
+    }
+
+    @Test
+    public final void mixedDirectionsDoReduceCompensatedForwardOutput() {
+        final ThrustAllocator allocator = new ThrustAllocator(TWIN_GEOMETRY, new boolean[] {true, true});
+        final float[] outputs = new float[2];
+
+        allocator.allocate(motion(ThrustAllocator.YAW, 1), outputs);
+
+        Assert.assertArrayEquals(new float[] {-1, 1 / ThrustAllocator.T200_FORWARD_THRUST_RATIO}, outputs, 1e-4f);
+    }
+
+    @Test
+    public final void unreachableMotionDoesNotDriveThrusters() {
+        final ThrustAllocator allocator = ThrustAllocator.sixThrusters();
+        final float[] outputs = new float[allocator.thrusters()];
+
+        allocator.allocate(motion(ThrustAllocator.ROLL, 1), outputs);
+
+        Assert.assertArrayEquals(new float[6], outputs, 1e-4f);
+    }
+
+    private static float[] motion(final int degree, final float value) {
+        final float[] motion = new float[ThrustAllocator.DEGREES_OF_FREEDOM];
+        motion[degree] = value;
+        return motion;
+    }
+}
@@ -0,0 +1,109 @@
+package com.easternedgerobotics.rov.event;
+
+import com.easternedgerobotics.rov.value.AxisValue;
+import com.easternedgerobotics.rov.value.BluetoothValue;
+import com.easternedgerobotics.rov.value.CameraCalibrationValue;
+import com.easternedgerobotics.rov.value.CameraCaptureValueA;
+import com.easternedgerobotics.rov.value.EventBatchValue;
+import com.easternedgerobotics.rov.value.MotionValue;
+import com.easternedgerobotics.rov.value.PicameraACpuValue;
+import com.easternedgerobotics.rov.value.PointValue;
+import com.easternedgerobotics.rov.value.PortAftSpeedValue;
+import com.easternedgerobotics.rov.value.RasprimeCpuValue;
+import com.easternedgerobotics.rov.value.TopsideHeartbeatValue;
+import com.easternedgerobotics.rov.value.VideoValueA;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class BinaryValueCodecTest {
+    private final BinaryValueCodec codec = new BinaryValueCodec();
+
+    @Test
+    public final void decodeDoesReturnEncodedValues() {
+        final List<Object> values = Arrays.asList(
+            new MotionValue(0.1f, -0.2f, 0.3f, -0.4f, 0.5f, -0.6f),
+            new PortAftSpeedValue(-1),
+            new TopsideHeartbeatValue(true),
+            new RasprimeCpuValue(1200000000L, 52.5f, 1.2f),
+            new PicameraACpuValue(700000000L, 48f, 1.3f),
+            new BluetoothValue("23.4 °C"),
+            new VideoValueA("192.168.88.6", 12345),
+            new AxisValue(new PointValue(1, 2), new PointValue(3, 4), new PointValue(5, 6), new PointValue(7, 8)),
+            new CameraCalibrationValue(
+                Arrays.asList("a.png", "b.png"), 0.25, 640, 480, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+
+        Assert.assertEquals(values, codec.decode(codec.encode(values)));
+    }
+
+    @Test
+    public final void encodeDoesWriteFieldsWithoutNames() {
+        final byte[] packet = codec.encode(Collections.singletonList(new MotionValue()));
+
+        Assert.assertEquals(1 + 2 + 6 * 4, packet.length);
+    }
+
+    @Test
+    public final void encodeDoesWritePropertiesInConstructorOrder() {
+        final ByteBuffer packet = ByteBuffer.wrap(codec.encode(Collections.singletonList(
+            new MotionValue(1, 2, 3, 4, 5, 6)))).order(ByteOrder.LITTLE_ENDIAN);
+
+        packet.position(1 + 2);
+        for (int i = 1; i <= 6; i++) {
+            Assert.assertEquals(i, packet.getFloat(), 0);
+        }
+    }
+
+    @Test
+    public final void supportsDoesRejectClassesThatAreNotDataClasses() {
+        Assert.assertFalse(codec.supports(CameraCaptureValueA.class));
+    }
+
+    @Test
+    public final void supportsDoesRejectValuesWithUnsupportedFields() {
+        Assert.assertTrue(codec.supports(MotionValue.class));
+        Assert.assertTrue(codec.supports(CameraCalibrationValue.class));
+        Assert.assertFalse(codec.supports(EventBatchValue.class));
+        Assert.assertFalse(codec.supports(String.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void encodeDoesRejectListTooLongForItsLength() {
+        codec.encode(Collections.singletonList(new CameraCalibrationValue(
+            Collections.nCopies(0x10000, "a.png"), 0.25, 640, 480, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+    }
+
+    @Test
+    public final void decodeDoesStopAtUnknownType() {
+        final byte[] known = codec.encode(Collections.singletonList(new PortAftSpeedValue(1)));
+        final byte[] packet = Arrays.copyOf(known, known.length + 6);
+
+        Assert.assertEquals(Collections.singletonList(new PortAftSpeedValue(1)), codec.decode(packet));
+    }
+
+    @Test
+    public final void decodeDoesStopAtValueItCannotConstruct() {
+        final byte[] packet = codec.encode(Arrays.asList(new PortAftSpeedValue(1), new BluetoothValue("")));
+        packet[packet.length - 2] = (byte) 0xFF;
+        packet[packet.length - 1] = (byte) 0xFF;
+
+        Assert.assertEquals(Collections.singletonList(new PortAftSpeedValue(1)), codec.decode(packet));
+    }
+
+    @Test
+    public final void decodeDoesIgnorePacketWithoutMarker() {
+        Assert.assertEquals(Collections.emptyList(), codec.decode(new byte[] {1, 2, 3}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void constructorDoesRejectDuplicateTypeIds() {
+        new BinaryValueCodec(new Class<?>[] {MotionValue.class, PortAftSpeedValue.class}, new int[] {1, 1});
+    }
+}
@@ -0,0 +1,272 @@
+package com.easternedgerobotics.rov.event;
+
+import com.easternedgerobotics.rov.value.BluetoothValue;
+import com.easternedgerobotics.rov.value.EventBatchValue;
+import com.easternedgerobotics.rov.value.LightASpeedValue;
+import com.easternedgerobotics.rov.value.LightBSpeedValue;
+import com.easternedgerobotics.rov.value.PortAftSpeedValue;
+import com.easternedgerobotics.rov.value.SpeedValue;
+import com.easternedgerobotics.rov.value.TopsideHeartbeatValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import rx.Observable;
+import rx.broadcast.Broadcast;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class BroadcastEventPublisherTest {
+    @Test
+    public final void emitDoesSendValuesImmediatelyWithoutQueue() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast);
+
+        eventPublisher.emit(new TopsideHeartbeatValue(true));
+
+        Mockito.verify(broadcast).send(new TopsideHeartbeatValue(true));
+    }
+
+    @Test
+    public final void emitDoesPackQueuedValuesIntoOneBatch() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, 16, 3, 1, TimeUnit.MINUTES);
+
+        eventPublisher.emit(new TopsideHeartbeatValue(true));
+        eventPublisher.emit(new LightASpeedValue(1));
+        eventPublisher.emit(new LightBSpeedValue(0));
+
+        final ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(sent.capture());
+        Assert.assertEquals(
+            new EventBatchValue(Arrays.asList(
+                new TopsideHeartbeatValue(true), new LightASpeedValue(1), new LightBSpeedValue(0))),
+            sent.getValue());
+        eventPublisher.stop();
+        Assert.assertEquals(1, eventPublisher.datagramCount());
+    }
+
+    @Test
+    public final void flushDoesSendPartialBatch() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, 16, 8, 1, TimeUnit.MINUTES);
+
+        eventPublisher.emit(new TopsideHeartbeatValue(true));
+        eventPublisher.flush();
+
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(new TopsideHeartbeatValue(true));
+        eventPublisher.stop();
+    }
+
+    @Test
+    public final void emitDoesDropOldestValueWhenQueueIsFull() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Void> blocked = PublishSubject.create();
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(blocked);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, 2, 1, 1, TimeUnit.MINUTES);
+
+        eventPublisher.emit(new BluetoothValue("0"));
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(new BluetoothValue("0"));
+        eventPublisher.emit(new BluetoothValue("1"));
+        eventPublisher.emit(new BluetoothValue("2"));
+        eventPublisher.emit(new BluetoothValue("3"));
+
+        Assert.assertEquals(1, eventPublisher.droppedCount());
+        Assert.assertEquals(2, eventPublisher.queueDepth());
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        blocked.onCompleted();
+        eventPublisher.stop();
+        Mockito.verify(broadcast, Mockito.never()).send(new BluetoothValue("1"));
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(new BluetoothValue("3"));
+    }
+
+    @Test
+    public final void emitDoesNotCountDroppedFlushAsDroppedValue() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Void> blocked = PublishSubject.create();
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(blocked);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, 2, 1, 1, TimeUnit.MINUTES);
+
+        eventPublisher.emit(new BluetoothValue("0"));
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(new BluetoothValue("0"));
+        eventPublisher.flush();
+        eventPublisher.emit(new BluetoothValue("1"));
+        eventPublisher.emit(new BluetoothValue("2"));
+
+        Assert.assertEquals(0, eventPublisher.droppedCount());
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        blocked.onCompleted();
+        eventPublisher.stop();
+    }
+
+    @Test
+    public final void stopDoesSendBatchWaitingToFill() throws InterruptedException {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, 16, 8, 1, TimeUnit.MINUTES);
+
+        eventPublisher.emit(new BluetoothValue("0"));
+        while (eventPublisher.queueDepth() > 0) {
+            Thread.sleep(1);
+        }
+        eventPublisher.stop();
+
+        Mockito.verify(broadcast).send(new BluetoothValue("0"));
+        Assert.assertEquals(1, eventPublisher.datagramCount());
+    }
+
+    @Test
+    public final void emitDoesReplaceWaitingValueOfConflatedType() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, 16, 8, 1, TimeUnit.MINUTES);
+
+        eventPublisher.emit(new LightASpeedValue(0));
+        eventPublisher.emit(new TopsideHeartbeatValue(true));
+        eventPublisher.emit(new LightASpeedValue(0.5f));
+        eventPublisher.emit(new LightASpeedValue(1));
+        eventPublisher.flush();
+
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(new EventBatchValue(Arrays.asList(
+            new LightASpeedValue(1), new TopsideHeartbeatValue(true))));
+        eventPublisher.stop();
+        Assert.assertEquals(2, eventPublisher.supersededBeforeSend(LightASpeedValue.class));
+        Assert.assertEquals(0, eventPublisher.supersededBeforeSend(TopsideHeartbeatValue.class));
+    }
+
+    @Test
+    public final void valuesOfTypeDoesDeliverOnlyNewestValueOfConflatedTypeToSlowSubscriber() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Object> values = PublishSubject.create();
+        Mockito.when(broadcast.valuesOfType(Object.class)).thenReturn(values);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast);
+        final TestSubscriber<LightASpeedValue> subscriber = new TestSubscriber<>(1);
+
+        eventPublisher.valuesOfType(LightASpeedValue.class).subscribe(subscriber);
+        values.onNext(new LightASpeedValue(0));
+        values.onNext(new LightASpeedValue(0.25f));
+        values.onNext(new LightASpeedValue(0.5f));
+        values.onNext(new LightASpeedValue(1));
+        subscriber.requestMore(1);
+
+        subscriber.assertValues(new LightASpeedValue(0), new LightASpeedValue(1));
+        Assert.assertEquals(2, eventPublisher.supersededBeforeDelivery(LightASpeedValue.class));
+    }
+
+    @Test
+    public final void emitDoesEncodeValuesSupportedByCodec() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final ValueCodec codec = new BinaryValueCodec();
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast, codec);
+
+        eventPublisher.emit(new LightASpeedValue(1));
+        eventPublisher.emit(new EventBatchValue());
+
+        final ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(broadcast, Mockito.times(2)).send(sent.capture());
+        Assert.assertEquals(
+            Collections.singletonList(new LightASpeedValue(1)),
+            codec.decode((byte[]) sent.getAllValues().get(0)));
+        Assert.assertEquals(new EventBatchValue(), sent.getAllValues().get(1));
+    }
+
+    @Test
+    public final void emitDoesSendValuesTheCodecCannotEncodeWithoutIt() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        Mockito.when(broadcast.send(Mockito.any())).thenReturn(Observable.empty());
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(
+            broadcast, new BinaryValueCodec(), 16, 2, 1, TimeUnit.MINUTES);
+        final BluetoothValue tooLong = new BluetoothValue(String.join("", Collections.nCopies(0x10000, "a")));
+
+        eventPublisher.emit(tooLong);
+        eventPublisher.emit(new LightASpeedValue(1));
+
+        Mockito.verify(broadcast, Mockito.timeout(1000)).send(
+            new EventBatchValue(Arrays.asList(tooLong, new LightASpeedValue(1))));
+        eventPublisher.stop();
+    }
+
+    @Test
+    public final void valuesOfTypeDoesDecodePackets() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Object> packets = PublishSubject.create();
+        final ValueCodec codec = new BinaryValueCodec();
+        Mockito.when(broadcast.valuesOfType(Object.class)).thenReturn(packets);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast, codec);
+        final TestSubscriber<LightASpeedValue> subscriber = new TestSubscriber<>();
+
+        eventPublisher.valuesOfType(LightASpeedValue.class).subscribe(subscriber);
+        packets.onNext(codec.encode(Arrays.asList(new LightASpeedValue(1), new TopsideHeartbeatValue(true))));
+
+        subscriber.assertValues(new LightASpeedValue(1));
+    }
+
+    @Test
+    public final void valuesOfTypeDoesKeepReceivingAfterPacketFailsToDecode() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Object> packets = PublishSubject.create();
+        final ValueCodec codec = Mockito.mock(ValueCodec.class);
+        Mockito.when(codec.decode(Mockito.any())).thenThrow(new IllegalStateException("bad layout"));
+        Mockito.when(broadcast.valuesOfType(Object.class)).thenReturn(packets);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast, codec);
+        final TestSubscriber<LightASpeedValue> subscriber = new TestSubscriber<>();
+
+        eventPublisher.valuesOfType(LightASpeedValue.class).subscribe(subscriber);
+        packets.onNext(new byte[] {1});
+        packets.onNext(new LightASpeedValue(1));
+        packets.onNext(new EventBatchValue(Arrays.asList(new byte[] {2}, new LightASpeedValue(0))));
+
+        subscriber.assertValues(new LightASpeedValue(1), new LightASpeedValue(0));
+        subscriber.assertNoErrors();
+    }
+
+    @Test
+    public final void valuesOfTypeDoesUnpackBatches() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Object> batches = PublishSubject.create();
+        Mockito.when(broadcast.valuesOfType(Object.class)).thenReturn(batches);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast);
+        final TestSubscriber<LightASpeedValue> subscriber = new TestSubscriber<>();
+
+        eventPublisher.valuesOfType(LightASpeedValue.class).subscribe(subscriber);
+        batches.onNext(new EventBatchValue(Arrays.asList(
+            new LightASpeedValue(1), new TopsideHeartbeatValue(true), new LightASpeedValue(0))));
+
+        subscriber.assertValues(new LightASpeedValue(1), new LightASpeedValue(0));
+    }
+
+    @Test
+    public final void valuesOfTypeDoesShareOneSubscription() {
+        final Broadcast broadcast = Mockito.mock(Broadcast.class);
+        final PublishSubject<Object> values = PublishSubject.create();
+        Mockito.when(broadcast.valuesOfType(Object.class)).thenReturn(values);
+        final BroadcastEventPublisher eventPublisher = new BroadcastEventPublisher(broadcast);
+        final TestSubscriber<LightASpeedValue> lights = new TestSubscriber<>();
+        final TestSubscriber<SpeedValue> speeds = new TestSubscriber<>();
+
+        eventPublisher.valuesOfType(LightASpeedValue.class).subscribe(lights);
+        eventPublisher.valuesOfType(SpeedValue.class).subscribe(speeds);
+        values.onNext(new LightASpeedValue(1));
+        values.onNext(new PortAftSpeedValue(0));
+
+        Mockito.verify(broadcast, Mockito.times(1)).valuesOfType(Mockito.any());
+        lights.assertValues(new LightASpeedValue(1));
+        speeds.assertValues(new LightASpeedValue(1), new PortAftSpeedValue(0));
+    }
+}
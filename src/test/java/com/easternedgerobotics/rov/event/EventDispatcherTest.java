@@ -0,0 +1,60 @@
+package com.easternedgerobotics.rov.event;
+
+import com.easternedgerobotics.rov.value.CpuValue;
+import com.easternedgerobotics.rov.value.PicameraACpuValue;
+import com.easternedgerobotics.rov.value.PortAftSpeedValue;
+import com.easternedgerobotics.rov.value.RasprimeCpuValue;
+import com.easternedgerobotics.rov.value.SpeedValue;
+
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class EventDispatcherTest {
+    @Test
+    public final void dispatchDoesRouteToExactTypeAndInterfaces() {
+        final EventDispatcher dispatcher = new EventDispatcher();
+        final TestSubscriber<RasprimeCpuValue> rasprime = new TestSubscriber<>();
+        final TestSubscriber<CpuValue> cpus = new TestSubscriber<>();
+        final TestSubscriber<SpeedValue> speeds = new TestSubscriber<>();
+        dispatcher.valuesOfType(RasprimeCpuValue.class).subscribe(rasprime);
+        dispatcher.valuesOfType(CpuValue.class).subscribe(cpus);
+        dispatcher.valuesOfType(SpeedValue.class).subscribe(speeds);
+
+        dispatcher.dispatch(new RasprimeCpuValue(1, 2, 3));
+        dispatcher.dispatch(new PicameraACpuValue(4, 5, 6));
+
+        rasprime.assertValues(new RasprimeCpuValue(1, 2, 3));
+        cpus.assertValues(new RasprimeCpuValue(1, 2, 3), new PicameraACpuValue(4, 5, 6));
+        speeds.assertNoValues();
+    }
+
+    @Test
+    public final void dispatchDoesRouteToTypesRequestedAfterFirstValue() {
+        final EventDispatcher dispatcher = new EventDispatcher();
+        final TestSubscriber<PortAftSpeedValue> portAft = new TestSubscriber<>();
+        final TestSubscriber<SpeedValue> speeds = new TestSubscriber<>();
+        dispatcher.valuesOfType(PortAftSpeedValue.class).subscribe(portAft);
+
+        dispatcher.dispatch(new PortAftSpeedValue(1));
+        dispatcher.valuesOfType(SpeedValue.class).subscribe(speeds);
+        dispatcher.dispatch(new PortAftSpeedValue(0));
+
+        portAft.assertValues(new PortAftSpeedValue(1), new PortAftSpeedValue(0));
+        speeds.assertValues(new PortAftSpeedValue(0));
+    }
+
+    @Test
+    public final void dispatchDoesContinueWhenSubscriberThrows() {
+        final EventDispatcher dispatcher = new EventDispatcher();
+        final TestSubscriber<SpeedValue> speeds = new TestSubscriber<>();
+        dispatcher.valuesOfType(PortAftSpeedValue.class).subscribe(value -> {
+            throw new IllegalStateException();
+        });
+        dispatcher.valuesOfType(SpeedValue.class).subscribe(speeds);
+
+        dispatcher.dispatch(new PortAftSpeedValue(1));
+
+        speeds.assertValues(new PortAftSpeedValue(1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.easternedgerobotics.rov.fx;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class FrameCoalescerTest {
+    private final TestScheduler scheduler = new TestScheduler();
+
+    private final List<Runnable> fxQueue = new ArrayList<>();
+
+    private final Map<String, String> labels = new HashMap<>();
+
+    private final FrameCoalescer<String> coalescer = new FrameCoalescer<>(scheduler, fxQueue::add, labels::put);
+
+    private void runFx() {
+        final List<Runnable> tasks = new ArrayList<>(fxQueue);
+        fxQueue.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public final void updatesWithinAFrameArePostedAsOneTask() {
+        coalescer.set("pressure", "1");
+        coalescer.set("temperature", "2");
+        coalescer.set("pressure", "3");
+        scheduler.triggerActions();
+
+        Assert.assertEquals(1, fxQueue.size());
+        runFx();
+        Assert.assertEquals("3", labels.get("pressure"));
+        Assert.assertEquals("2", labels.get("temperature"));
+    }
+
+    @Test
+    public final void framesAreNotPostedFasterThanTheFramePeriod() {
+        coalescer.set("pressure", "1");
+        scheduler.triggerActions();
+        runFx();
+
+        coalescer.set("pressure", "2");
+        scheduler.triggerActions();
+        Assert.assertTrue(fxQueue.isEmpty());
+
+        scheduler.advanceTimeBy(FrameCoalescer.FRAME_PERIOD, TimeUnit.NANOSECONDS);
+        Assert.assertEquals(1, fxQueue.size());
+        runFx();
+        Assert.assertEquals("2", labels.get("pressure"));
+    }
+
+    @Test
+    public final void nothingIsPostedWithoutUpdates() {
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assert.assertTrue(fxQueue.isEmpty());
+    }
+
+    @Test
+    public final void updatesArrivingBeforeTheFlushAreApplied() {
+        coalescer.set("pressure", "1");
+        scheduler.triggerActions();
+        coalescer.set("pressure", "2");
+        runFx();
+
+        Assert.assertEquals("2", labels.get("pressure"));
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assert.assertTrue(fxQueue.isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package com.easternedgerobotics.rov.fx;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class LatestFrameMailboxTest {
+    private final List<String> discarded = new ArrayList<>();
+
+    private final LatestFrameMailbox<String> mailbox = new LatestFrameMailbox<>(discarded::add);
+
+    @Test
+    public final void emptyMailboxDoesReturnNull() {
+        Assert.assertNull(mailbox.poll());
+    }
+
+    @Test
+    public final void frameIsTakenOnce() {
+        mailbox.offer("a");
+
+        Assert.assertEquals("a", mailbox.poll());
+        Assert.assertNull(mailbox.poll());
+        Assert.assertEquals(0, mailbox.dropped());
+    }
+
+    @Test
+    public final void staleFramesAreDroppedAndDiscarded() {
+        mailbox.offer("a");
+        mailbox.offer("b");
+        mailbox.offer("c");
+
+        Assert.assertEquals("c", mailbox.poll());
+        Assert.assertEquals(Arrays.asList("a", "b"), discarded);
+        Assert.assertEquals(3, mailbox.received());
+        Assert.assertEquals(2, mailbox.dropped());
+    }
+
+    @Test
+    public final void takenFramesAreNotDiscarded() {
+        mailbox.offer("a");
+        mailbox.poll();
+        mailbox.offer("b");
+
+        Assert.assertEquals("b", mailbox.poll());
+        Assert.assertEquals(Collections.emptyList(), discarded);
+    }
+}
@@ -2,6 +2,7 @@ package com.easternedgerobotics.rov.integration;
 
 import com.easternedgerobotics.rov.config.LaunchConfig;
 import com.easternedgerobotics.rov.config.MockLaunchConfig;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.io.pololu.AltIMU10v3;
@@ -31,8 +32,10 @@ public final class AltIMU10v3Test {
         final LaunchConfig launchConfig = new MockLaunchConfig();
         final InetAddress broadcastAddress = InetAddress.getByName(launchConfig.broadcast());
         final int broadcastPort = launchConfig.defaultBroadcastPort();
-        final EventPublisher eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-                new DatagramSocket(broadcastPort), broadcastAddress, broadcastPort, new BasicOrder<>()));
+        final EventPublisher eventPublisher = new BroadcastEventPublisher(
+                new UdpBroadcast<>(
+                    new DatagramSocket(broadcastPort), broadcastAddress, broadcastPort, new BasicOrder<>()),
+                new BinaryValueCodec());
 
         // We want to ground SA0 because its easier than putting power to it
         // Therefore the last address bit will be low
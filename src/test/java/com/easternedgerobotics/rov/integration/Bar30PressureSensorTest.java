@@ -2,6 +2,7 @@ package com.easternedgerobotics.rov.integration;
 
 import com.easternedgerobotics.rov.config.LaunchConfig;
 import com.easternedgerobotics.rov.config.MockLaunchConfig;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.io.Bar30PressureSensor;
@@ -28,12 +29,15 @@ public final class Bar30PressureSensorTest {
         final LaunchConfig launchConfig = new MockLaunchConfig();
         final InetAddress broadcastAddress = InetAddress.getByName(launchConfig.broadcast());
         final int broadcastPort = launchConfig.defaultBroadcastPort();
-        final EventPublisher eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-            new DatagramSocket(broadcastPort), broadcastAddress, broadcastPort, new BasicOrder<>()));
+        final EventPublisher eventPublisher = new BroadcastEventPublisher(
+            new UdpBroadcast<>(new DatagramSocket(broadcastPort), broadcastAddress, broadcastPort, new BasicOrder<>()),
+            new BinaryValueCodec());
 
         final int duration = 500;
         final Bar30PressureSensor bar30PressureSensor = new Bar30PressureSensor(
-            new RaspberryI2CBus(I2CBus.BUS_1).get(Bar30PressureSensor.ADDRESS), Schedulers.newThread(), duration);
+            new RaspberryI2CBus(I2CBus.BUS_1).get(Bar30PressureSensor.ADDRESS),
+            Schedulers.newThread(),
+            Bar30PressureSensor.Oversampling.OSR_8192);
 
         final int sleepTime = 1000;
         Thread.sleep(sleepTime);
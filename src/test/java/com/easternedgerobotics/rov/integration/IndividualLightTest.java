@@ -2,13 +2,14 @@ package com.easternedgerobotics.rov.integration;
 
 import com.easternedgerobotics.rov.config.LaunchConfig;
 import com.easternedgerobotics.rov.config.MockLaunchConfig;
+import com.easternedgerobotics.rov.event.BinaryValueCodec;
 import com.easternedgerobotics.rov.event.BroadcastEventPublisher;
 import com.easternedgerobotics.rov.event.EventPublisher;
 import com.easternedgerobotics.rov.io.Light;
+import com.easternedgerobotics.rov.io.ThrusterFrameSlot;
 import com.easternedgerobotics.rov.io.pololu.Maestro;
 import com.easternedgerobotics.rov.math.Range;
-import com.easternedgerobotics.rov.value.SpeedValue;
-import com.easternedgerobotics.rov.value.TestSpeedValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 
 import com.pi4j.io.serial.Serial;
 import com.pi4j.io.serial.SerialFactory;
@@ -37,31 +38,31 @@ public final class IndividualLightTest {
 
         final InetAddress broadcastAddress = InetAddress.getByName(launchConfig.broadcast());
         final int broadcastPort = launchConfig.defaultBroadcastPort();
-        final EventPublisher eventPublisher = new BroadcastEventPublisher(new UdpBroadcast<>(
-            new DatagramSocket(broadcastPort), broadcastAddress, broadcastPort, new BasicOrder<>()));
+        final EventPublisher eventPublisher = new BroadcastEventPublisher(
+            new UdpBroadcast<>(new DatagramSocket(broadcastPort), broadcastAddress, broadcastPort, new BasicOrder<>()),
+            new BinaryValueCodec());
 
         final Light light = new Light(
-            eventPublisher.valuesOfType(TestSpeedValue.class).cast(SpeedValue.class),
+            ThrusterFrameSlot.LIGHT_A,
             new Maestro<>(serial, deviceNumber).get(channel).setOutputRange(new Range(Light.MAX_REV, Light.MAX_FWD)));
 
+        eventPublisher.valuesOfType(ThrusterFrameValue.class).subscribe(light::write);
+
         System.out.println("Test Started");
         System.out.println("Light is off");
         Thread.sleep(1000);
 
-        eventPublisher.emit(new TestSpeedValue(.5f));
+        eventPublisher.emit(new ThrusterFrameValue(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, .5f, 0));
         Thread.sleep(1000);
         System.out.println("Light is at half brightness");
-        light.write();
 
-        eventPublisher.emit(new TestSpeedValue(0f));
+        eventPublisher.emit(new ThrusterFrameValue(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0f, 0));
         Thread.sleep(1000);
         System.out.println("Light is off");
-        light.write();
 
-        eventPublisher.emit(new TestSpeedValue(1f));
+        eventPublisher.emit(new ThrusterFrameValue(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1f, 0));
         Thread.sleep(1000);
         System.out.println("Light is at full brightness");
-        light.write();
 
         Thread.sleep(1000);
         System.out.println("Light is off");
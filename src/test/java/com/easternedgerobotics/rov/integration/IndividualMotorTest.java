@@ -1,14 +1,13 @@
 package com.easternedgerobotics.rov.integration;
 
 import com.easternedgerobotics.rov.io.Motor;
+import com.easternedgerobotics.rov.io.ThrusterFrameSlot;
 import com.easternedgerobotics.rov.io.pololu.Maestro;
 import com.easternedgerobotics.rov.math.Range;
-import com.easternedgerobotics.rov.value.SpeedValue;
-import com.easternedgerobotics.rov.value.TestSpeedValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 
 import com.pi4j.io.serial.Serial;
 import com.pi4j.io.serial.SerialFactory;
-import rx.subjects.PublishSubject;
 
 import java.net.SocketException;
 import java.net.UnknownHostException;
@@ -26,14 +25,12 @@ public final class IndividualMotorTest {
         serial.open("/dev/ttyACM0", baud);
         final int channel = Integer.valueOf(args[0]);
 
-        final PublishSubject<SpeedValue> speed = PublishSubject.create();
         final Motor motor = new Motor(
-            speed,
+            ThrusterFrameSlot.CAMERA_A,
             new Maestro<>(serial, maestroAddress).get(channel).setOutputRange(new Range(Motor.MAX_REV, Motor.MAX_FWD)));
 
-        speed.onNext(new TestSpeedValue(1f));
         Thread.sleep(1000);
-        motor.write();
+        motor.write(new ThrusterFrameValue(0, 0, 0, 0, 0, 0, 0, 1f, 0, 0, 0, 0, 0, 0));
         Thread.sleep(200);
         motor.writeZero();
     }
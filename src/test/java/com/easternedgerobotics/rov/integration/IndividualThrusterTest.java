@@ -1,14 +1,13 @@
 package com.easternedgerobotics.rov.integration;
 
 import com.easternedgerobotics.rov.io.Thruster;
+import com.easternedgerobotics.rov.io.ThrusterFrameSlot;
 import com.easternedgerobotics.rov.io.pololu.Maestro;
 import com.easternedgerobotics.rov.math.Range;
-import com.easternedgerobotics.rov.value.SpeedValue;
-import com.easternedgerobotics.rov.value.TestSpeedValue;
+import com.easternedgerobotics.rov.value.ThrusterFrameValue;
 
 import com.pi4j.io.serial.Serial;
 import com.pi4j.io.serial.SerialFactory;
-import rx.subjects.PublishSubject;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -42,14 +41,14 @@ public final class IndividualThrusterTest {
         final Maestro<?> maestro = new Maestro<>(serial, maestroDeviceNumber);
 
         for (final byte address : ADDRESSES) {
-            final PublishSubject<SpeedValue> speed = PublishSubject.create();
             final Thruster thruster = new Thruster(
-                speed, maestro.get(address).setOutputRange(new Range(Thruster.MAX_REV, Thruster.MAX_FWD)));
+                ThrusterFrameSlot.PORT_AFT,
+                maestro.get(address).setOutputRange(new Range(Thruster.MAX_REV, Thruster.MAX_FWD)));
 
-            speed.onNext(new TestSpeedValue(1 * SAFE_FOR_AIR_THRUSTER_POWER_RATIO));
+            final float speed = 1 * SAFE_FOR_AIR_THRUSTER_POWER_RATIO;
             System.out.println("Spinning thruster " + address);
             Thread.sleep(VALUE_WAIT);
-            thruster.write();
+            thruster.write(new ThrusterFrameValue(0, speed, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0));
             Thread.sleep(DURATION);
             System.out.println("Stopped thruster " + address);
             thruster.writeZero();
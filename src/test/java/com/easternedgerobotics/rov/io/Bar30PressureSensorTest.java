@@ -0,0 +1,140 @@
+package com.easternedgerobotics.rov.io;
+
+import com.easternedgerobotics.rov.io.devices.I2C;
+import com.easternedgerobotics.rov.value.ExternalPressureStatsValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class Bar30PressureSensorTest {
+    @Test
+    public final void doesReadCompensatedPressureAndTemperature() {
+        final TestScheduler scheduler = new TestScheduler();
+        final Bar30PressureSensor sensor = new Bar30PressureSensor(
+            new FakeMs5837(), scheduler, Bar30PressureSensor.Oversampling.OSR_8192);
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(399.98, sensor.pressure().getPressure(), 0.01);
+        Assert.assertEquals(19.82, sensor.temperature().getTemperature(), 0.01);
+    }
+
+    @Test
+    public final void doesConvertTemperatureOnceEveryInterval() {
+        final TestScheduler scheduler = new TestScheduler();
+        final FakeMs5837 device = new FakeMs5837();
+        new Bar30PressureSensor(device, scheduler, Bar30PressureSensor.Oversampling.OSR_1024, 4);
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(0x54, (int) device.commands.get(1));
+        for (int i = 1; i < device.commands.size(); i++) {
+            if ((i - 1) % 5 == 0) {
+                Assert.assertEquals(0x54, (int) device.commands.get(i));
+            } else {
+                Assert.assertEquals(0x44, (int) device.commands.get(i));
+            }
+        }
+    }
+
+    @Test
+    public final void statsDoReportPressureRate() {
+        final TestScheduler scheduler = new TestScheduler();
+        final Bar30PressureSensor sensor = new Bar30PressureSensor(
+            new FakeMs5837(), scheduler, Bar30PressureSensor.Oversampling.OSR_8192, 10);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        final ExternalPressureStatsValue stats = sensor.stats();
+
+        // Alternating conversions would give one pressure sample every two conversion times
+        final float alternating = 1e6f / (2 * Bar30PressureSensor.Oversampling.OSR_8192.getConversionTime());
+        Assert.assertTrue(stats.getPressureRate() > 1.75f * alternating);
+        Assert.assertEquals(5, stats.getTemperatureRate(), 1);
+        Assert.assertEquals(0, stats.getErrors());
+    }
+
+    @Test
+    public final void doesBackOffAfterFailedReadsAndRecover() {
+        final TestScheduler scheduler = new TestScheduler();
+        final FakeMs5837 device = new FakeMs5837();
+        device.failing = true;
+        final Bar30PressureSensor sensor = new Bar30PressureSensor(
+            device, scheduler, Bar30PressureSensor.Oversampling.OSR_8192);
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        final long errors = sensor.stats().getErrors();
+        Assert.assertTrue(errors > 5);
+        Assert.assertTrue(errors < 20);
+
+        device.failing = false;
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        Assert.assertEquals(399.98, sensor.pressure().getPressure(), 0.01);
+    }
+
+    @Test
+    public final void pressureReadingsDoNotChangeWhileFailing() {
+        final TestScheduler scheduler = new TestScheduler();
+        final FakeMs5837 device = new FakeMs5837();
+        final Bar30PressureSensor sensor = new Bar30PressureSensor(
+            device, scheduler, Bar30PressureSensor.Oversampling.OSR_8192);
+        Assert.assertEquals(0, sensor.pressureReadings());
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        final long readings = sensor.pressureReadings();
+        Assert.assertTrue(readings > 0);
+
+        device.failing = true;
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assert.assertEquals(readings, sensor.pressureReadings());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void unknownOversamplingIsRejected() {
+        Bar30PressureSensor.Oversampling.of(3000);
+    }
+
+    /**
+     * An MS5837 with the calibration and readings of the datasheet example.
+     */
+    private static final class FakeMs5837 implements I2C {
+        private static final int[] PROM = {0x2000, 34982, 36352, 20328, 22354, 26646, 26146};
+
+        private static final int D1 = 4958179;
+
+        private static final int D2 = 6815414;
+
+        private final List<Integer> commands = new ArrayList<>();
+
+        private boolean failing;
+
+        @Override
+        public void write(final byte value) {
+            commands.add(value & 0xFF);
+        }
+
+        @Override
+        public byte[] read(final byte readAddress, final int readLength) {
+            final int word = PROM[((readAddress & 0xFF) - 0xA0) / 2];
+            return new byte[] {(byte) (word >> 8), (byte) word};
+        }
+
+        @Override
+        public byte[] readUnsafe(final byte readAddress, final int readLength) throws IOException {
+            if (failing) {
+                throw new IOException("No acknowledgement");
+            }
+            int value = D2;
+            if ((commands.get(commands.size() - 1) & 0xF0) == 0x40) {
+                value = D1;
+            }
+            return new byte[] {(byte) (value >> 16), (byte) (value >> 8), (byte) value};
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package com.easternedgerobotics.rov.io;
 
-import com.easternedgerobotics.rov.io.devices.Barometer;
+import com.easternedgerobotics.rov.io.devices.CountingBarometer;
 import com.easternedgerobotics.rov.io.devices.Thermometer;
 import com.easternedgerobotics.rov.value.InternalPressureValue;
 import com.easternedgerobotics.rov.value.InternalTemperatureValue;
 import com.easternedgerobotics.rov.value.PressureValue;
 import com.easternedgerobotics.rov.value.TemperatureValue;
 
-public final class MockPressureSensor implements Barometer, Thermometer {
+public final class MockPressureSensor implements CountingBarometer, Thermometer {
     private InternalPressureValue pressure = new InternalPressureValue();
 
     private InternalTemperatureValue temperature = new InternalTemperatureValue();
 
+    private long pressureReadings;
+
     public void setPressure(final InternalPressureValue pressure) {
         this.pressure = pressure;
+        pressureReadings++;
     }
 
     public void setTemperature(final InternalTemperatureValue temperature) {
@@ -25,6 +28,11 @@ public final class MockPressureSensor implements Barometer, Thermometer {
         return pressure;
     }
 
+    @Override
+    public long pressureReadings() {
+        return pressureReadings;
+    }
+
     @Override
     public TemperatureValue temperature() {
         return temperature;
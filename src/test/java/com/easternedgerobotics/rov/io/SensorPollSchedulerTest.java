@@ -0,0 +1,94 @@
+package com.easternedgerobotics.rov.io;
+
+import com.easternedgerobotics.rov.value.I2CBusStatsValue;
+import com.easternedgerobotics.rov.value.SensorPollStatsValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class SensorPollSchedulerTest {
+    @Test
+    public final void sensorsAreReadAtTheirOwnRates() {
+        final TestScheduler scheduler = new TestScheduler();
+        final SensorPollScheduler sensors = new SensorPollScheduler(10, TimeUnit.MILLISECONDS, scheduler)
+            .add("fast", 100, () -> "fast")
+            .add("slow", 25, () -> "slow");
+        final TestSubscriber<List<Object>> readings = new TestSubscriber<>();
+        sensors.readings().subscribe(readings);
+
+        scheduler.advanceTimeBy(80, TimeUnit.MILLISECONDS);
+
+        final long slow = readings.getOnNextEvents().stream().filter(values -> values.contains("slow")).count();
+        final long fast = readings.getOnNextEvents().stream().filter(values -> values.contains("fast")).count();
+        Assert.assertEquals(8, fast);
+        Assert.assertEquals(2, slow);
+    }
+
+    @Test
+    public final void sensorsAtTheSameRateAreReadOnDifferentTicks() {
+        final TestScheduler scheduler = new TestScheduler();
+        final SensorPollScheduler sensors = new SensorPollScheduler(10, TimeUnit.MILLISECONDS, scheduler)
+            .add("a", 50, () -> "a")
+            .add("b", 50, () -> "b");
+        final TestSubscriber<List<Object>> readings = new TestSubscriber<>();
+        sensors.readings().subscribe(readings);
+
+        scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+
+        readings.assertValues(
+            Collections.singletonList("a"),
+            Collections.singletonList("b"),
+            Collections.singletonList("a"),
+            Collections.singletonList("b"));
+    }
+
+    @Test
+    public final void sensorsAtDifferentRatesAreSpreadAcrossTicks() {
+        final TestScheduler scheduler = new TestScheduler();
+        final SensorPollScheduler sensors = new SensorPollScheduler(10, TimeUnit.MILLISECONDS, scheduler)
+            .add("a", 50, () -> "a")
+            .add("b", 25, () -> "b")
+            .add("c", 25, () -> "c");
+        final TestSubscriber<List<Object>> readings = new TestSubscriber<>();
+        sensors.readings().subscribe(readings);
+
+        scheduler.advanceTimeBy(80, TimeUnit.MILLISECONDS);
+
+        readings.getOnNextEvents().forEach(values -> Assert.assertEquals(1, values.size()));
+        Assert.assertEquals(8, readings.getOnNextEvents().size());
+    }
+
+    @Test
+    public final void statsDoReportAchievedRateAndBusUtilization() {
+        final TestScheduler scheduler = new TestScheduler();
+        final AtomicLong readTime = new AtomicLong();
+        final SensorPollScheduler sensors = new SensorPollScheduler(
+            10,
+            TimeUnit.MILLISECONDS,
+            scheduler,
+            () -> TimeUnit.MILLISECONDS.toNanos(scheduler.now()) + readTime.get());
+        sensors.add("sensor", 50, () -> readTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(2)));
+        sensors.readings().subscribe();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        readTime.set(0);
+
+        Assert.assertEquals(
+            Arrays.asList(new SensorPollStatsValue("sensor", 50, 50, 2000)), sensors.stats());
+        Assert.assertEquals(new I2CBusStatsValue(0.1f, 50), sensors.busStats());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void sensorWithoutARateIsRejected() {
+        new SensorPollScheduler(10, TimeUnit.MILLISECONDS, new TestScheduler()).add("sensor", 0, () -> 0);
+    }
+}
@@ -31,4 +31,11 @@ public final class MockI2C implements I2C {
         }
         return result;
     }
+
+    @Override
+    public void read(final byte readAddress, final byte[] buffer, final int offset, final int readLength) {
+        for (int i = 0; i < readLength; i++) {
+            buffer[offset + i] = read((byte) (readAddress + i));
+        }
+    }
 }
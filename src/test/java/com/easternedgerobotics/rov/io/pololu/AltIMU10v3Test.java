@@ -2,11 +2,16 @@ package com.easternedgerobotics.rov.io.pololu;
 
 import com.easternedgerobotics.rov.io.devices.I2C;
 import com.easternedgerobotics.rov.io.devices.MockI2CBus;
+import com.easternedgerobotics.rov.value.AccelerationValue;
+import com.easternedgerobotics.rov.value.AngularVelocityBatchValue;
+import com.easternedgerobotics.rov.value.AngularVelocityValue;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 @SuppressWarnings({"checkstyle:MagicNumber"})
@@ -180,4 +185,90 @@ public final class AltIMU10v3Test {
         Assert.assertEquals(0, imu.acceleration().getY(), 0.001);
         Assert.assertEquals(0, imu.acceleration().getZ(), 0.001);
     }
+
+    @Test
+    public void doesEnableFifoInStreamMode() {
+        final List<I2C> bus = new MockI2CBus();
+        final I2C l3g = bus.get(AltIMU10v3.L3GD20H_SA0_LOW_ADDRESS);
+        final I2C lsm = bus.get(AltIMU10v3.LSM303D_SA0_LOW_ADDRESS);
+
+        new AltIMU10v3(bus, false, true);
+
+        Assert.assertEquals(L3GD20H.CTRL5_FIFO_ENABLE, l3g.read(L3GD20H.CTRL5));
+        Assert.assertEquals(StFifo.FIFO_CTRL_STREAM, l3g.read(StFifo.FIFO_CTRL));
+        Assert.assertEquals(LSM303D.CTRL0_FIFO_ENABLE, lsm.read(LSM303D.CTRL0));
+        Assert.assertEquals(LSM303D.CTRL1_FIFO_VAL, lsm.read(LSM303D.CTRL1));
+        Assert.assertEquals(StFifo.FIFO_CTRL_STREAM, lsm.read(StFifo.FIFO_CTRL));
+    }
+
+    @Test
+    public void doesDrainGyroFifoInOneRead() {
+        final I2C device = fifo(3, new short[] {1, 2, 3, 4, 5, 6, -7, -8, -9});
+        final L3GD20H l3g = new L3GD20H(device, true);
+
+        final List<AngularVelocityValue> samples = l3g.drainAngularVelocity();
+
+        Assert.assertEquals(
+            Arrays.asList(
+                new AngularVelocityValue(1, 2, 3),
+                new AngularVelocityValue(4, 5, 6),
+                new AngularVelocityValue(-7, -8, -9)),
+            samples);
+        Mockito.verify(device).read(
+            Mockito.eq(L3GD20H.OUT_X_L), Mockito.any(byte[].class), Mockito.eq(0), Mockito.eq(18));
+        Assert.assertEquals(new AngularVelocityValue(-7, -8, -9), l3g.pollAngularVelocity());
+    }
+
+    @Test
+    public void doesDrainFullAccelerometerFifoOnOverrun() {
+        final short[] axes = new short[StFifo.SIZE * 3];
+        axes[axes.length - 1] = 42;
+        final I2C device = fifo(StFifo.FIFO_SRC_OVERRUN | StFifo.FIFO_SRC_LEVEL, axes);
+        final LSM303D lsm = new LSM303D(device, true);
+
+        final List<AccelerationValue> samples = lsm.drainAccelerometer();
+
+        Assert.assertEquals(StFifo.SIZE, samples.size());
+        Assert.assertEquals(new AccelerationValue(0, 0, 42), samples.get(StFifo.SIZE - 1));
+    }
+
+    @Test
+    public void doesNotReadEmptyFifo() {
+        final I2C device = fifo(0, new short[0]);
+        final L3GD20H l3g = new L3GD20H(device, true);
+
+        Assert.assertTrue(l3g.drainAngularVelocity().isEmpty());
+        Mockito.verify(device, Mockito.never()).read(
+            Mockito.anyByte(), Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void batchWithoutFifoIsTheCurrentSample() {
+        final List<I2C> bus = new MockI2CBus();
+        final AltIMU10v3 imu = new AltIMU10v3(bus, false);
+
+        Assert.assertEquals(
+            new AngularVelocityBatchValue(5, 0, Arrays.asList(new AngularVelocityValue())),
+            imu.angularVelocityBatch(5));
+    }
+
+    /**
+     * Returns a device whose FIFO status is the given value and whose output registers hold the given axes, each
+     * low byte first.
+     */
+    private static I2C fifo(final int status, final short[] axes) {
+        final I2C device = Mockito.mock(I2C.class);
+        Mockito.when(device.read(StFifo.FIFO_SRC)).thenReturn((byte) status);
+        Mockito.doAnswer(invocation -> {
+            final byte[] buffer = invocation.getArgument(1);
+            final int offset = invocation.getArgument(2);
+            final int length = invocation.getArgument(3);
+            for (int i = 0; i < length / 2 && i < axes.length; i++) {
+                buffer[offset + i * 2] = (byte) axes[i];
+                buffer[offset + i * 2 + 1] = (byte) (axes[i] >> 8);
+            }
+            return null;
+        }).when(device).read(Mockito.anyByte(), Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+        return device;
+    }
 }
@@ -1,11 +1,38 @@
 package com.easternedgerobotics.rov.io.pololu;
 
+import com.easternedgerobotics.rov.io.Thruster;
+import com.easternedgerobotics.rov.io.devices.PWM;
+import com.easternedgerobotics.rov.math.OutputCurve;
+import com.easternedgerobotics.rov.math.Range;
+import com.easternedgerobotics.rov.value.MaestroChannelStatsValue;
+
+import com.pi4j.io.serial.Serial;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import rx.schedulers.TestScheduler;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+@SuppressWarnings({"checkstyle:magicnumber"})
 public class MaestroTest {
+    /**
+     * The thruster, motor and light channels in playbooks/files/defaultConfig.yml.
+     */
+    private static final List<Integer> DEFAULT_CHANNELS = Arrays.asList(
+        17, 2, 15, 1, 0, 16, 23, 22, 7, 10, 11, 5, 22);
+
+    /**
+     * The Set Target bytes for a neutral 1500 μs pulse.
+     */
+    private static final byte NEUTRAL_LSB = 0x70;
+
+    private static final byte NEUTRAL_MSB = 0x2E;
+
     @Test
     public final void hashCodeIsConsistentAcrossMultipleCallsWithoutAnyChangesToTheObject() {
         final List<?> maestro = new Maestro<>(null /* this shouldn't matter */, (byte) 1);
@@ -13,4 +40,184 @@ public class MaestroTest {
         final int b = maestro.hashCode();
         Assert.assertTrue("List#hashCode() should be consistent across calls", a == b);
     }
+
+    @Test
+    public final void writeOutsideFrameDoesSendSetTarget() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1);
+
+        neutral(maestro, 4).writeZero();
+
+        Assert.assertEquals(Arrays.asList(frame(0xAA, 1, 0x04, 4, NEUTRAL_LSB, NEUTRAL_MSB)), writes(serial));
+    }
+
+    @Test
+    public final void writeOutsideRangeDoesClampToCurveEnd() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1);
+
+        maestro.get(4).setOutputCurve(new OutputCurve(1100, 1500, 1900)).write(1.0001f);
+
+        Assert.assertEquals(Arrays.asList(frame(0xAA, 1, 0x04, 4, 0x30, 0x3B)), writes(serial));
+    }
+
+    @Test
+    public final void endFrameDoesSendSetMultipleTargetsForConsecutiveChannels() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1);
+
+        maestro.beginFrame();
+        neutral(maestro, 5).writeZero();
+        neutral(maestro, 3).writeZero();
+        neutral(maestro, 4).writeZero();
+        Mockito.verify(serial, Mockito.never()).write(Mockito.any(byte[].class));
+        maestro.endFrame();
+
+        Assert.assertEquals(
+            Arrays.asList(frame(
+                0xAA, 1, 0x1F, 3, 3, NEUTRAL_LSB, NEUTRAL_MSB, NEUTRAL_LSB, NEUTRAL_MSB, NEUTRAL_LSB, NEUTRAL_MSB)),
+            writes(serial));
+    }
+
+    @Test
+    public final void endFrameDoesSendSetTargetForLoneChannels() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1);
+
+        maestro.beginFrame();
+        neutral(maestro, 9).writeZero();
+        neutral(maestro, 2).writeZero();
+        maestro.endFrame();
+
+        Assert.assertEquals(
+            Arrays.asList(frame(
+                0xAA, 1, 0x04, 2, NEUTRAL_LSB, NEUTRAL_MSB, 0xAA, 1, 0x04, 9, NEUTRAL_LSB, NEUTRAL_MSB)),
+            writes(serial));
+    }
+
+    @Test
+    public final void endFrameDoesSendOnlyTheLastTargetOfAChannel() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1);
+
+        maestro.beginFrame();
+        neutral(maestro, 6).write(1);
+        neutral(maestro, 6).writeZero();
+        maestro.endFrame();
+
+        Assert.assertEquals(Arrays.asList(frame(0xAA, 1, 0x04, 6, NEUTRAL_LSB, NEUTRAL_MSB)), writes(serial));
+    }
+
+    @Test
+    public final void endFrameWithoutWritesDoesNotSend() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1);
+
+        maestro.beginFrame();
+        maestro.endFrame();
+
+        Mockito.verifyZeroInteractions(serial);
+    }
+
+    @Test
+    public final void frameForDefaultChannelsDoesSendFewerBytesInOneWrite() {
+        final Serial separateSerial = Mockito.mock(Serial.class);
+        final Maestro<?> separate = new Maestro<>(separateSerial, (byte) 1);
+        DEFAULT_CHANNELS.forEach(channel -> neutral(separate, channel).writeZero());
+
+        final Serial framedSerial = Mockito.mock(Serial.class);
+        final Maestro<?> framed = new Maestro<>(framedSerial, (byte) 1);
+        framed.beginFrame();
+        DEFAULT_CHANNELS.forEach(channel -> neutral(framed, channel).writeZero());
+        framed.endFrame();
+
+        final List<List<Byte>> separateWrites = writes(separateSerial);
+        final List<List<Byte>> framedWrites = writes(framedSerial);
+        Assert.assertEquals(13, separateWrites.size());
+        Assert.assertEquals(78, separateWrites.stream().mapToInt(List::size).sum());
+        Assert.assertEquals(1, framedWrites.size());
+        Assert.assertEquals(52, framedWrites.get(0).size());
+    }
+
+    @Test
+    public final void writeDoesSkipUnchangedTargetUntilKeepAlive() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final TestScheduler scheduler = new TestScheduler();
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1, 1, TimeUnit.SECONDS, scheduler);
+
+        neutral(maestro, 4).writeZero();
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        neutral(maestro, 4).writeZero();
+        Assert.assertEquals(1, writes(serial).size());
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        neutral(maestro, 4).writeZero();
+        Assert.assertEquals(2, writes(serial).size());
+    }
+
+    @Test
+    public final void writeDoesSendChangedTarget() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1, 1, TimeUnit.SECONDS, new TestScheduler());
+
+        neutral(maestro, 4).writeZero();
+        neutral(maestro, 4).write(1);
+        neutral(maestro, 4).writeZero();
+
+        Assert.assertEquals(3, writes(serial).size());
+    }
+
+    @Test
+    public final void endFrameDoesSkipUnchangedChannels() {
+        final Serial serial = Mockito.mock(Serial.class);
+        final Maestro<?> maestro = new Maestro<>(serial, (byte) 1, 1, TimeUnit.SECONDS, new TestScheduler());
+
+        maestro.beginFrame();
+        neutral(maestro, 3).writeZero();
+        neutral(maestro, 4).writeZero();
+        maestro.endFrame();
+        maestro.beginFrame();
+        neutral(maestro, 3).writeZero();
+        neutral(maestro, 4).write(1);
+        maestro.endFrame();
+        maestro.beginFrame();
+        neutral(maestro, 3).writeZero();
+        neutral(maestro, 4).write(1);
+        maestro.endFrame();
+
+        final List<List<Byte>> writes = writes(serial);
+        Assert.assertEquals(2, writes.size());
+        Assert.assertEquals(
+            frame(0xAA, 1, 0x1F, 2, 3, NEUTRAL_LSB, NEUTRAL_MSB, NEUTRAL_LSB, NEUTRAL_MSB), writes.get(0));
+        Assert.assertEquals(6, writes.get(1).size());
+        Assert.assertEquals(
+            Arrays.asList(new MaestroChannelStatsValue(3, 1, 2), new MaestroChannelStatsValue(4, 2, 1)),
+            maestro.stats());
+    }
+
+    private static PWM neutral(final Maestro<?> maestro, final int channel) {
+        return maestro.get(channel).setOutputRange(new Range(Thruster.MAX_REV, Thruster.MAX_FWD));
+    }
+
+    private static List<Byte> frame(final int... bytes) {
+        final Byte[] frame = new Byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            frame[i] = (byte) bytes[i];
+        }
+        return Arrays.asList(frame);
+    }
+
+    private static List<List<Byte>> writes(final Serial serial) {
+        final ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(serial, Mockito.atLeast(0)).write(captor.capture());
+        final List<List<Byte>> writes = new ArrayList<>();
+        for (final byte[] write : captor.getAllValues()) {
+            final int[] values = new int[write.length];
+            for (int i = 0; i < write.length; i++) {
+                values[i] = write[i];
+            }
+            writes.add(frame(values));
+        }
+        return writes;
+    }
 }
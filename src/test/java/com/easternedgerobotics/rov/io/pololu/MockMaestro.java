@@ -1,6 +1,7 @@
 package com.easternedgerobotics.rov.io.pololu;
 
 import com.easternedgerobotics.rov.io.devices.MockChannel;
+import com.easternedgerobotics.rov.io.devices.PWMFrameWriter;
 
 import org.mockito.Mockito;
 
@@ -8,16 +9,32 @@ import java.util.AbstractList;
 import java.util.HashMap;
 import java.util.Map;
 
-public final class MockMaestro extends AbstractList<MockChannel> {
+public final class MockMaestro extends AbstractList<MockChannel> implements PWMFrameWriter {
     private static final byte NUMBER_OF_CHANNELS = 24;
 
     private final Map<Byte, MockChannel> channels = new HashMap<>();
 
+    private int frames;
+
     @Override
     public final MockChannel get(final int index) {
         return channels.computeIfAbsent((byte) index, k -> Mockito.mock(MockChannel.class, Mockito.RETURNS_SELF));
     }
 
+    @Override
+    public final void beginFrame() {
+        // ???
+    }
+
+    @Override
+    public final void endFrame() {
+        frames++;
+    }
+
+    public final int frames() {
+        return frames;
+    }
+
     @Override
     public final int size() {
         return NUMBER_OF_CHANNELS;
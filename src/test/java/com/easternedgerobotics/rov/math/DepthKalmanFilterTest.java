@@ -0,0 +1,170 @@
+package com.easternedgerobotics.rov.math;
+
+import com.easternedgerobotics.rov.value.DepthStateValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class DepthKalmanFilterTest {
+    private static final float ACCELERATION_NOISE = 0.3f;
+
+    private static final float ACCELERATION_BIAS = 0.05f;
+
+    private static final float DEPTH_NOISE = 0.02f;
+
+    /**
+     * The accelerometer rate, in Hz.
+     */
+    private static final int ACCELERATION_RATE = 50;
+
+    /**
+     * The number of accelerometer samples for each depth reading.
+     */
+    private static final int DEPTH_DIVIDER = 2;
+
+    private static final int SAMPLES = 60 * ACCELERATION_RATE;
+
+    /**
+     * The first samples, while the filter settles, are left out of the errors.
+     */
+    private static final int SETTLE = 5 * ACCELERATION_RATE;
+
+    /**
+     * The errors of a replay of the synthetic dive through a filter.
+     */
+    private static final class Replay {
+        private double depthSquares;
+
+        private double velocitySquares;
+
+        private double differenceSquares;
+
+        private int count;
+
+        double depthError() {
+            return Math.sqrt(depthSquares / count);
+        }
+
+        double velocityError() {
+            return Math.sqrt(velocitySquares / count);
+        }
+
+        double differenceError() {
+            return Math.sqrt(differenceSquares / count);
+        }
+    }
+
+    /**
+     * The true depth of a synthetic dive: a descent to two metres, then a slow swell on top of a hold.
+     */
+    private static double depth(final double t) {
+        return 2 * smooth(t / 10) + 0.3 * Math.sin(0.8 * t) * smooth((t - 10) / 5);
+    }
+
+    /**
+     * A smooth step from zero to one as x goes from zero to one.
+     */
+    private static double smooth(final double x) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        return x * x * x * (10 - 15 * x + 6 * x * x);
+    }
+
+    private static double derivative(final double t) {
+        final double h = 1e-3;
+        return (depth(t + h) - depth(t - h)) / (2 * h);
+    }
+
+    private static double secondDerivative(final double t) {
+        final double h = 1e-3;
+        return (depth(t + h) - 2 * depth(t) + depth(t - h)) / (h * h);
+    }
+
+    /**
+     * Replay a noisy accelerometer and depth sensor following the synthetic dive through the filter, comparing the
+     * estimate with the truth and with differencing the depth readings.
+     */
+    private static Replay replay(final DepthKalmanFilter filter, final long seed) {
+        final Random random = new Random(seed);
+        final float dt = 1f / ACCELERATION_RATE;
+        final Replay replay = new Replay();
+        double previousReading = Double.NaN;
+        for (int i = 0; i < SAMPLES; i++) {
+            final double t = i * dt;
+            final double acceleration = secondDerivative(t) + ACCELERATION_BIAS
+                + random.nextGaussian() * ACCELERATION_NOISE;
+            filter.predict((float) acceleration, dt);
+            if (i % DEPTH_DIVIDER != 0) {
+                continue;
+            }
+            final double reading = depth(t) + random.nextGaussian() * DEPTH_NOISE;
+            filter.correct((float) reading);
+            if (i >= SETTLE) {
+                final double difference = (reading - previousReading) / (dt * DEPTH_DIVIDER);
+                replay.depthSquares += Math.pow(filter.depth() - depth(t), 2);
+                replay.velocitySquares += Math.pow(filter.velocity() - derivative(t), 2);
+                replay.differenceSquares += Math.pow(difference - derivative(t), 2);
+                replay.count++;
+            }
+            previousReading = reading;
+        }
+        return replay;
+    }
+
+    @Test
+    public final void firstReadingDoesSetTheDepth() {
+        final DepthKalmanFilter filter = new DepthKalmanFilter(ACCELERATION_NOISE, DEPTH_NOISE);
+        filter.predict(1, 1);
+        filter.correct(3);
+
+        Assert.assertEquals(new DepthStateValue(3, 0, DEPTH_NOISE * DEPTH_NOISE), filter.state());
+    }
+
+    @Test
+    public final void predictionDoesIntegrateAcceleration() {
+        final DepthKalmanFilter filter = new DepthKalmanFilter(ACCELERATION_NOISE, DEPTH_NOISE);
+        filter.correct(1);
+        filter.predict(2, 0.5f);
+
+        Assert.assertEquals(1.25, filter.depth(), 1e-6);
+        Assert.assertEquals(1, filter.velocity(), 1e-6);
+        Assert.assertTrue(filter.variance() > DEPTH_NOISE * DEPTH_NOISE);
+    }
+
+    @Test
+    public final void varianceDoesSettleBelowTheReadingVariance() {
+        final DepthKalmanFilter filter = new DepthKalmanFilter(ACCELERATION_NOISE, DEPTH_NOISE);
+        for (int i = 0; i < 1000; i++) {
+            filter.predict(0, 0.04f);
+            filter.correct(5);
+        }
+
+        Assert.assertEquals(5, filter.depth(), 1e-6);
+        Assert.assertEquals(0, filter.velocity(), 1e-6);
+        Assert.assertTrue(filter.variance() < DEPTH_NOISE * DEPTH_NOISE);
+    }
+
+    @Test
+    public final void replayDoesTrackDepthBetterThanTheReadings() {
+        for (long seed = 0; seed < 5; seed++) {
+            final Replay replay = replay(new DepthKalmanFilter(ACCELERATION_NOISE, DEPTH_NOISE), seed);
+            Assert.assertTrue("depth error " + replay.depthError(), replay.depthError() < 0.75 * DEPTH_NOISE);
+        }
+    }
+
+    @Test
+    public final void replayDoesTrackVelocityBetterThanDifferencing() {
+        for (long seed = 0; seed < 5; seed++) {
+            final Replay replay = replay(new DepthKalmanFilter(ACCELERATION_NOISE, DEPTH_NOISE), seed);
+            Assert.assertTrue("velocity error " + replay.velocityError(), replay.velocityError() < 0.05);
+            Assert.assertTrue(replay.velocityError() < replay.differenceError() / 5);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.easternedgerobotics.rov.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class EwmaTest {
+    @Test
+    public final void firstSampleStartsTheAverage() {
+        final Ewma ewma = new Ewma(0.5);
+        Assert.assertEquals(0, ewma.average(), 0);
+        Assert.assertEquals(4, ewma.add(4), 0);
+    }
+
+    @Test
+    public final void samplesMoveTheAverageByAlpha() {
+        final Ewma ewma = new Ewma(0.25);
+        ewma.add(4);
+        Assert.assertEquals(5, ewma.add(8), 0);
+        Assert.assertEquals(4.75, ewma.add(4), 0);
+    }
+
+    @Test
+    public final void transformerGivesEachSubscriptionItsOwnAverage() {
+        final Observable<Double> averages = Observable.just(2, 4).compose(new EwmaTransformer<>(0.5));
+        final TestSubscriber<Double> first = new TestSubscriber<>();
+        final TestSubscriber<Double> second = new TestSubscriber<>();
+
+        averages.subscribe(first);
+        averages.subscribe(second);
+
+        first.assertValues(2.0, 3.0);
+        second.assertValues(2.0, 3.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void alphaOutsideRangeIsRejected() {
+        new Ewma(0);
+    }
+
+    @Test
+    public final void alphaForWindowMatchesMeanAge() {
+        Assert.assertEquals(0.2, Ewma.alphaForWindow(9), 1e-12);
+    }
+}
@@ -0,0 +1,102 @@
+package com.easternedgerobotics.rov.math;
+
+import com.easternedgerobotics.rov.value.OrientationValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class MadgwickAhrsTest {
+    private static final float DT = 0.01f;
+
+    @Test
+    public final void startsLevelAndFacingNorth() {
+        Assert.assertEquals(new OrientationValue(), new MadgwickAhrs(0.1f).orientation());
+    }
+
+    @Test
+    public final void gyroscopeAloneDoesIntegrateYaw() {
+        final MadgwickAhrs ahrs = new MadgwickAhrs(0.1f);
+        for (int i = 0; i < 100; i++) {
+            ahrs.update(0, 0, (float) Math.PI / 2, DT);
+        }
+
+        final OrientationValue orientation = ahrs.orientation();
+        Assert.assertEquals(90, orientation.getYaw(), 0.1);
+        Assert.assertEquals(0, orientation.getRoll(), 0.1);
+        Assert.assertEquals(0, orientation.getPitch(), 0.1);
+    }
+
+    @Test
+    public final void verticalDoesFollowTheEstimatedTilt() {
+        final MadgwickAhrs ahrs = new MadgwickAhrs(0.5f);
+        final float y = (float) Math.sin(Math.toRadians(30));
+        final float z = (float) Math.cos(Math.toRadians(30));
+        Assert.assertEquals(z, ahrs.vertical(0, y, z), 1e-6);
+
+        ahrs.setAcceleration(0, y, z);
+        for (int i = 0; i < 2000; i++) {
+            ahrs.update(0, 0, 0, DT);
+        }
+
+        Assert.assertEquals(1, ahrs.vertical(0, y, z), 0.01);
+        Assert.assertEquals(0, ahrs.vertical(1, 0, 0), 0.01);
+    }
+
+    @Test
+    public final void accelerationDoesCorrectRoll() {
+        final MadgwickAhrs ahrs = new MadgwickAhrs(0.5f);
+        ahrs.setAcceleration(0, (float) Math.sin(Math.toRadians(30)), (float) Math.cos(Math.toRadians(30)));
+        for (int i = 0; i < 2000; i++) {
+            ahrs.update(0, 0, 0, DT);
+        }
+
+        final OrientationValue orientation = ahrs.orientation();
+        Assert.assertEquals(30, orientation.getRoll(), 0.5);
+        Assert.assertEquals(0, orientation.getPitch(), 0.5);
+    }
+
+    @Test
+    public final void accelerationUnitsDoNotMatter() {
+        final MadgwickAhrs counts = new MadgwickAhrs(0.5f);
+        final MadgwickAhrs normal = new MadgwickAhrs(0.5f);
+        counts.setAcceleration(-8000, 0, 8000);
+        normal.setAcceleration(-1, 0, 1);
+        for (int i = 0; i < 100; i++) {
+            counts.update(0, 0, 0, DT);
+            normal.update(0, 0, 0, DT);
+        }
+
+        Assert.assertEquals(normal.orientation(), counts.orientation());
+    }
+
+    @Test
+    public final void magneticFieldDoesCorrectYaw() {
+        final MadgwickAhrs ahrs = new MadgwickAhrs(0.5f);
+        ahrs.setAcceleration(0, 0, 1);
+        ahrs.setMagneticField((float) Math.cos(Math.toRadians(45)), (float) -Math.sin(Math.toRadians(45)), 0.5f);
+        for (int i = 0; i < 2000; i++) {
+            ahrs.update(0, 0, 0, DT);
+        }
+
+        final OrientationValue orientation = ahrs.orientation();
+        Assert.assertEquals(45, orientation.getYaw(), 0.5);
+        Assert.assertEquals(0, orientation.getRoll(), 0.5);
+        Assert.assertEquals(0, orientation.getPitch(), 0.5);
+    }
+
+    @Test
+    public final void magneticInclinationDoesNotTilt() {
+        final MadgwickAhrs ahrs = new MadgwickAhrs(0.5f);
+        ahrs.setAcceleration(0, 0, 1);
+        ahrs.setMagneticField(1, 0, -2);
+        for (int i = 0; i < 2000; i++) {
+            ahrs.update(0, 0, 0, DT);
+        }
+
+        final OrientationValue orientation = ahrs.orientation();
+        Assert.assertEquals(0, orientation.getRoll(), 0.1);
+        Assert.assertEquals(0, orientation.getPitch(), 0.1);
+        Assert.assertEquals(0, orientation.getYaw(), 0.1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.easternedgerobotics.rov.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class OutputCurveTest {
+    @Test
+    public final void mapEndsReturnFirstAndLastPoints() {
+        final OutputCurve curve = new OutputCurve(1100, 1400, 1500, 1600, 1900);
+        Assert.assertEquals(1100, curve.map(-1), 0);
+        Assert.assertEquals(1900, curve.map(1), 0);
+    }
+
+    @Test
+    public final void mapBetweenPointsDoesInterpolate() {
+        final OutputCurve curve = new OutputCurve(1100, 1400, 1500, 1600, 1900);
+        Assert.assertEquals(1500, curve.map(0), 1e-3);
+        Assert.assertEquals(1750, curve.map(0.75f), 1e-3);
+        Assert.assertEquals(1250, curve.map(-0.75f), 1e-3);
+    }
+
+    @Test
+    public final void mapOutsideRangeDoesClamp() {
+        final OutputCurve curve = new OutputCurve(-10, 10);
+        Assert.assertEquals(10, curve.map(1.0001f), 0);
+        Assert.assertEquals(-10, curve.map(-3), 0);
+    }
+
+    @Test
+    public final void linearMatchesRangeMap() {
+        final OutputCurve curve = OutputCurve.linear(new Range(-10, 10));
+        Assert.assertEquals(Range.map(new Range(-1, 1), new Range(-10, 10)).apply(0.3), curve.map(0.3f), 1e-5);
+    }
+
+    @Test
+    public final void reversedDoesMirrorAroundZero() {
+        final OutputCurve curve = new OutputCurve(1100, 1400, 1500, 1600, 1900).reversed();
+        Assert.assertEquals(1900, curve.map(-1), 0);
+        Assert.assertEquals(1250, curve.map(0.75f), 1e-3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void curveWithOnePointIsRejected() {
+        new OutputCurve(1500);
+    }
+}
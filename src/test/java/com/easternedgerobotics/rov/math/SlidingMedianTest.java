@@ -0,0 +1,57 @@
+package com.easternedgerobotics.rov.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class SlidingMedianTest {
+    @Test
+    public final void medianOfPartialWindowUsesSamplesSoFar() {
+        final SlidingMedian median = new SlidingMedian(5);
+        Assert.assertEquals(3, median.add(3), 0);
+        Assert.assertEquals(2, median.add(1), 0);
+        Assert.assertEquals(3, median.add(9), 0);
+        Assert.assertEquals(3, median.count());
+    }
+
+    @Test
+    public final void medianDoesDropOldestSample() {
+        final SlidingMedian median = new SlidingMedian(3);
+        median.add(1);
+        median.add(7);
+        median.add(5);
+        Assert.assertEquals(6, median.add(6), 0);
+        Assert.assertEquals(6, median.add(100), 0);
+        Assert.assertEquals(100, median.add(200), 0);
+    }
+
+    @Test
+    public final void medianDoesMatchSortedWindow() {
+        final Random random = new Random(42);
+        for (final int window : new int[] {1, 2, 3, 12, 32, 64}) {
+            final SlidingMedian median = new SlidingMedian(window);
+            final double[] samples = new double[2000];
+            for (int i = 0; i < samples.length; i++) {
+                // Few distinct values, so there are plenty of ties
+                samples[i] = random.nextInt(20) - 10;
+                final double[] sorted = Arrays.copyOfRange(samples, Math.max(0, i + 1 - window), i + 1);
+                Arrays.sort(sorted);
+                final double expected;
+                if (sorted.length % 2 == 0) {
+                    expected = (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2;
+                } else {
+                    expected = sorted[sorted.length / 2];
+                }
+                Assert.assertEquals(expected, median.add(samples[i]), 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void emptyWindowIsRejected() {
+        new SlidingMedian(0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.easternedgerobotics.rov.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.Random;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class WindowStatisticsTest {
+    @Test
+    public final void emptyWindowReportsZero() {
+        final WindowStatistics statistics = new WindowStatistics(4);
+        Assert.assertEquals(0, statistics.mean(), 0);
+        Assert.assertEquals(0, statistics.variance(), 0);
+        Assert.assertEquals(0, statistics.min(), 0);
+        Assert.assertEquals(0, statistics.max(), 0);
+    }
+
+    @Test
+    public final void statisticsDoDropOldestSample() {
+        final WindowStatistics statistics = new WindowStatistics(3);
+        statistics.add(9);
+        statistics.add(1);
+        statistics.add(5);
+        Assert.assertEquals(5, statistics.mean(), 1e-12);
+        Assert.assertEquals(1, statistics.min(), 0);
+        Assert.assertEquals(9, statistics.max(), 0);
+
+        statistics.add(3);
+        Assert.assertEquals(3, statistics.mean(), 1e-12);
+        Assert.assertEquals(8.0 / 3, statistics.variance(), 1e-12);
+        Assert.assertEquals(1, statistics.min(), 0);
+        Assert.assertEquals(5, statistics.max(), 0);
+    }
+
+    @Test
+    public final void statisticsDoMatchWindow() {
+        final Random random = new Random(7);
+        for (final int window : new int[] {1, 2, 12, 64}) {
+            final WindowStatistics statistics = new WindowStatistics(window);
+            final double[] samples = new double[5000];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = 1000 + random.nextGaussian();
+                statistics.add(samples[i]);
+                final double[] current = Arrays.copyOfRange(samples, Math.max(0, i + 1 - window), i + 1);
+                final DoubleSummaryStatistics expected = Arrays.stream(current).summaryStatistics();
+                final double variance = Arrays.stream(current)
+                    .map(x -> (x - expected.getAverage()) * (x - expected.getAverage()))
+                    .sum() / current.length;
+                Assert.assertEquals(expected.getAverage(), statistics.mean(), 1e-9);
+                Assert.assertEquals(variance, statistics.variance(), 1e-9);
+                Assert.assertEquals(expected.getMin(), statistics.min(), 0);
+                Assert.assertEquals(expected.getMax(), statistics.max(), 0);
+            }
+        }
+    }
+}
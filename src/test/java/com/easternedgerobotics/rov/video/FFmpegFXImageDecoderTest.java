@@ -0,0 +1,57 @@
+package com.easternedgerobotics.rov.video;
+
+import com.easternedgerobotics.rov.config.VideoDecoderConfig;
+import com.easternedgerobotics.rov.value.VideoStatsValueA;
+
+import javafx.scene.image.Image;
+import org.bytedeco.javacv.Frame;
+import org.junit.Test;
+import org.mockito.Mockito;
+import rx.observers.TestSubscriber;
+
+import java.net.Socket;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class FFmpegFXImageDecoderTest {
+    private final Frame frame = new Frame(4, 2, Frame.DEPTH_UBYTE, 4);
+
+    private final Socket socket = new Socket();
+
+    private final FFmpegFXImageDecoder decoder = new FFmpegFXImageDecoder(
+        0,
+        Mockito.mock(VideoDecoderConfig.class),
+        new VideoStats(VideoStatsValueA::new),
+        new StreamRecorder("camera", "", 0, 1));
+
+    @Test
+    public final void framesDecodedWithoutSubscriberDoNotUseUpImages() {
+        final TestSubscriber<Image> connection = new TestSubscriber<>();
+        decoder.connect(socket);
+        for (int i = 0; i < 10; i++) {
+            decoder.deliver(frame, socket, connection, System.nanoTime());
+        }
+        connection.assertNoValues();
+
+        decoder.getImages().subscribe(new TestSubscriber<>());
+        decoder.deliver(frame, socket, connection, System.nanoTime());
+
+        connection.assertValueCount(1);
+    }
+
+    @Test
+    public final void framesOfReplacedConnectionDoNotUseUpImages() {
+        final TestSubscriber<Image> replaced = new TestSubscriber<>();
+        final Socket next = new Socket();
+        decoder.getImages().subscribe(new TestSubscriber<>());
+        decoder.connect(next);
+        for (int i = 0; i < 10; i++) {
+            decoder.deliver(frame, socket, replaced, System.nanoTime());
+        }
+        replaced.assertNoValues();
+
+        final TestSubscriber<Image> current = new TestSubscriber<>();
+        decoder.deliver(frame, next, current, System.nanoTime());
+
+        current.assertValueCount(1);
+    }
+}
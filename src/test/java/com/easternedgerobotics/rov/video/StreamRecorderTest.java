@@ -0,0 +1,130 @@
+package com.easternedgerobotics.rov.video;
+
+import com.easternedgerobotics.rov.value.RecordingStatsValue;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class StreamRecorderTest {
+    private static final byte[] SPS = {0, 0, 0, 1, 0x67, 0x42, 0x00, 0x1F};
+
+    private static final byte[] SLICE = {0, 0, 1, 0x41, 0x11, 0x22, 0x33, 0x00, 0x44};
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] stream(final byte[]... parts) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (final byte[] part : parts) {
+            stream.write(part);
+        }
+        return stream.toByteArray();
+    }
+
+    /**
+     * Read the whole stream through the tee in small reads, as the decoder would.
+     */
+    private static void readAll(final InputStream in) throws IOException {
+        final byte[] buffer = new byte[5];
+        while (in.read(buffer, 0, buffer.length) >= 0) {
+            continue;
+        }
+    }
+
+    private File[] awaitSegments(final int bytes) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            final File[] files = folder.getRoot().listFiles();
+            final long total = Arrays.stream(files).mapToLong(File::length).sum();
+            if (total == bytes) {
+                Arrays.sort(files);
+                return files;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("The segments were not written");
+    }
+
+    @Test
+    public final void segmentsDoStartAtSequenceParameterSets() throws Exception {
+        final StreamRecorder recorder = new StreamRecorder("camera", folder.getRoot().getPath(), 0, 1024);
+        final byte[] first = stream(SPS, SLICE, SLICE);
+        final byte[] second = stream(SPS, SLICE);
+        recorder.start();
+        readAll(recorder.tee(new ByteArrayInputStream(stream(SLICE, first, second))));
+        recorder.stop();
+
+        final File[] segments = awaitSegments(first.length + second.length);
+        Assert.assertEquals(2, segments.length);
+        Assert.assertArrayEquals(first, Files.readAllBytes(segments[0].toPath()));
+        Assert.assertArrayEquals(second, Files.readAllBytes(segments[1].toPath()));
+    }
+
+    @Test
+    public final void segmentDoesContinueUntilItsDurationIsUp() throws Exception {
+        final StreamRecorder recorder = new StreamRecorder("camera", folder.getRoot().getPath(), 60_000, 1024);
+        final byte[] bytes = stream(SPS, SLICE, SPS, SLICE);
+        recorder.start();
+        readAll(recorder.tee(new ByteArrayInputStream(bytes)));
+        recorder.stop();
+
+        final File[] segments = awaitSegments(bytes.length);
+        Assert.assertEquals(1, segments.length);
+        Assert.assertArrayEquals(bytes, Files.readAllBytes(segments[0].toPath()));
+    }
+
+    @Test
+    public final void bytesAreDroppedWhenTheBufferIsFull() throws Exception {
+        final StreamRecorder recorder = new StreamRecorder("camera", folder.getRoot().getPath(), 0, 4);
+        recorder.start();
+        final InputStream in = recorder.tee(new ByteArrayInputStream(SPS));
+        Assert.assertEquals(SPS.length, in.read(new byte[SPS.length], 0, SPS.length));
+        recorder.stop();
+
+        final RecordingStatsValue stats = recorder.stats();
+        Assert.assertEquals(SPS.length, stats.getDropped());
+        Assert.assertFalse(stats.getRecording());
+    }
+
+    @Test
+    public final void onlyTheNewestConnectionIsRecorded() throws Exception {
+        final StreamRecorder recorder = new StreamRecorder("camera", folder.getRoot().getPath(), 60_000, 1024);
+        final byte[] first = stream(SPS, SLICE);
+        final byte[] second = stream(SPS, SLICE, SLICE);
+        recorder.start();
+        final InputStream old = recorder.tee(new ByteArrayInputStream(stream(first, SLICE)));
+        Assert.assertEquals(first.length, old.read(new byte[first.length], 0, first.length));
+        final InputStream next = recorder.tee(new ByteArrayInputStream(second));
+        readAll(old);
+        readAll(next);
+        recorder.stop();
+
+        final File[] segments = awaitSegments(first.length + second.length);
+        Assert.assertEquals(2, segments.length);
+        Assert.assertArrayEquals(first, Files.readAllBytes(segments[0].toPath()));
+        Assert.assertArrayEquals(second, Files.readAllBytes(segments[1].toPath()));
+    }
+
+    @Test
+    public final void nothingIsRecordedWhileStopped() throws Exception {
+        final StreamRecorder recorder = new StreamRecorder("camera", folder.getRoot().getPath(), 0, 1024);
+        final byte[] bytes = stream(SPS, SLICE);
+        final byte[] read = new byte[bytes.length];
+        Assert.assertEquals(bytes.length, recorder.tee(new ByteArrayInputStream(bytes)).read(read, 0, read.length));
+
+        Assert.assertArrayEquals(bytes, read);
+        Assert.assertEquals(new RecordingStatsValue("camera", false, "", 0, 0), recorder.stats());
+        Assert.assertEquals(0, folder.getRoot().listFiles().length);
+    }
+}
@@ -0,0 +1,59 @@
+package com.easternedgerobotics.rov.video;
+
+import com.easternedgerobotics.rov.value.VideoStatsValueA;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings({"checkstyle:magicnumber"})
+public class VideoStatsTest {
+    private final VideoStats stats = new VideoStats(VideoStatsValueA::new);
+
+    @Test
+    public final void framesAreCountedSinceTheLastReport() {
+        stats.received(0, 0);
+        stats.received(0, 0);
+        stats.decoded(2_000_000);
+        stats.decoded(4_000_000);
+        stats.displayed();
+        stats.dropped();
+
+        Assert.assertEquals(new VideoStatsValueA(2, 2, 1, 1, 3000, 4000, -1), stats.stats());
+        Assert.assertEquals(new VideoStatsValueA(0, 0, 0, 0, 0, 0, -1), stats.stats());
+    }
+
+    @Test
+    public final void lagIsMeasuredFromTheEarliestFrame() {
+        stats.received(1_000_000, 5_000_000);
+        stats.received(1_025_000, 5_025_000);
+        stats.received(1_050_000, 5_090_000);
+
+        Assert.assertEquals(40_000, stats.stats().getTimestampLag());
+    }
+
+    @Test
+    public final void lagDoesFallWhenTheStreamCatchesUp() {
+        stats.received(1_000_000, 5_100_000);
+        stats.received(1_025_000, 5_025_000);
+
+        Assert.assertEquals(0, stats.stats().getTimestampLag());
+    }
+
+    @Test
+    public final void restartedTimestampsDoStartAgain() {
+        stats.received(9_000_000, 5_000_000);
+        stats.received(1_000, 8_000_000);
+        stats.received(26_000, 8_035_000);
+
+        Assert.assertEquals(10_000, stats.stats().getTimestampLag());
+    }
+
+    @Test
+    public final void newConnectionHasNoLagUntilItsFirstTimestamp() {
+        stats.received(1_000_000, 5_000_000);
+        stats.received(1_025_000, 5_075_000);
+        stats.connected();
+
+        Assert.assertEquals(-1, stats.stats().getTimestampLag());
+    }
+}